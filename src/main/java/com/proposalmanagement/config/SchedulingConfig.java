@@ -0,0 +1,13 @@
+package com.proposalmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs declared with {@code @Scheduled} in the service layer.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -2,6 +2,7 @@ package com.proposalmanagement.config;
 
 import com.proposalmanagement.security.CustomUserDetailsService;
 import com.proposalmanagement.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -61,6 +62,9 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authenticationProvider(authenticationProvider())
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches (SSE streams) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                
                 // Test endpoints - for debugging
                 .requestMatchers("/test", "/swagger-test").permitAll()
                 
@@ -86,6 +90,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/forgot-password", "/api/auth/reset-password", "/api/auth/verify-email").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/favicon.ico").permitAll()
                 
                 // ==== COMMON AUTHENTICATED ENDPOINTS (Must be before broad patterns) ====
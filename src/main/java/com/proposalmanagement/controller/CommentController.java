@@ -0,0 +1,98 @@
+package com.proposalmanagement.controller;
+
+import com.proposalmanagement.dto.CommentFeedPageDTO;
+import com.proposalmanagement.dto.CommentNodeDTO;
+import com.proposalmanagement.dto.CommentSearchResultDTO;
+import com.proposalmanagement.dto.CommentThreadPageDTO;
+import com.proposalmanagement.entity.Comment;
+import com.proposalmanagement.service.CommentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/comments")
+@CrossOrigin(origins = "*")
+public class CommentController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Roles that may read internal (staff-only) comments
+    private static final Set<String> STAFF_AUTHORITIES = Set.of(
+        "ROLE_ADMIN", "ROLE_PROJECT_MANAGER", "ROLE_REVIEWER", "ROLE_COMMITTEE_CHAIR",
+        "ROLE_DEPARTMENT_HEAD", "ROLE_FINANCIAL_OFFICER");
+
+    @Autowired
+    private CommentService commentService;
+
+    // Recent comments across all proposals and projects, newest first
+    @GetMapping("/recent")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('DEPARTMENT_HEAD') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<CommentFeedPageDTO> getRecentActivity(
+            @RequestParam(required = false) Comment.CommentType type,
+            @RequestParam(required = false) Boolean isInternal,
+            @RequestParam(required = false) Boolean isResolved,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CommentFeedPageDTO feed = commentService.getRecentActivity(type, isInternal, isResolved, cursor,
+            Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok(feed);
+    }
+
+    // Full-text search over comment contents, ranked by relevance; internal comments only for staff
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PRINCIPAL_INVESTIGATOR') or hasRole('PROJECT_MANAGER') or " +
+                  "hasRole('DEPARTMENT_HEAD') or hasRole('COMMITTEE_CHAIR') or hasRole('REVIEWER')")
+    public ResponseEntity<?> searchComments(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Boolean isResolved,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "Search query is required"));
+        }
+        Page<CommentSearchResultDTO> results = commentService.searchCommentContent(query, isResolved,
+            canSeeInternalComments(), Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok(results);
+    }
+
+    // Top-level comments of a proposal with their reply trees, newest thread first
+    @GetMapping("/proposal/{proposalId}/threads")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CommentThreadPageDTO> getCommentThreads(
+            @PathVariable Long proposalId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CommentThreadPageDTO threads = commentService.getCommentThreads(proposalId, cursor,
+            Math.min(Math.max(size, 1), MAX_PAGE_SIZE), canSeeInternalComments());
+        return ResponseEntity.ok(threads);
+    }
+
+    // A comment with all of its replies
+    @GetMapping("/{id}/thread")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CommentNodeDTO> getCommentSubtree(@PathVariable Long id) {
+        return ResponseEntity.ok(commentService.getCommentSubtree(id, canSeeInternalComments()));
+    }
+
+    private boolean canSeeInternalComments() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (STAFF_AUTHORITIES.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
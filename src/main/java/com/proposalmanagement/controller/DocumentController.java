@@ -0,0 +1,90 @@
+package com.proposalmanagement.controller;
+
+import com.proposalmanagement.dto.DocumentSearchResultDTO;
+import com.proposalmanagement.entity.Document;
+import com.proposalmanagement.service.DocumentService;
+import com.proposalmanagement.service.DocumentStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/documents")
+@CrossOrigin(origins = "*")
+public class DocumentController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    /**
+     * Full-text search over uploaded document contents, ranked by relevance
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PRINCIPAL_INVESTIGATOR') or hasRole('PROJECT_MANAGER') or " +
+                  "hasRole('DEPARTMENT_HEAD') or hasRole('COMMITTEE_CHAIR') or hasRole('REVIEWER')")
+    public ResponseEntity<?> searchDocuments(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (query == null || query.isBlank()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Search query is required");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Page<DocumentSearchResultDTO> results = documentService.searchDocumentContent(query, Math.max(page, 0), pageSize);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Download a document; compressed documents are decompressed on the fly
+     */
+    @GetMapping("/download/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('PROJECT_MANAGER') or " +
+                  "@documentSecurity.canRead(#id)")
+    public ResponseEntity<?> downloadDocument(@PathVariable Long id) {
+        Optional<Document> documentOpt = documentService.getDocumentById(id);
+        if (documentOpt.isEmpty() || !Boolean.TRUE.equals(documentOpt.get().getIsActive())) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Document not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        Document document = documentOpt.get();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentDisposition(ContentDisposition.attachment()
+                    .filename(document.getFileName(), StandardCharsets.UTF_8).build());
+            headers.setContentType(document.getFileType() != null
+                    ? MediaType.parseMediaType(document.getFileType()) : MediaType.APPLICATION_OCTET_STREAM);
+            if (document.getFileSize() != null) {
+                headers.setContentLength(document.getFileSize());
+            }
+            return new ResponseEntity<>(new InputStreamResource(documentStorageService.openStream(document)),
+                    headers, HttpStatus.OK);
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to read file: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
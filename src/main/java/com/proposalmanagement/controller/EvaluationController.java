@@ -1,13 +1,19 @@
 package com.proposalmanagement.controller;
 
 import com.proposalmanagement.dto.EvaluationDTO;
+import com.proposalmanagement.dto.NormalizedScoreDTO;
+import com.proposalmanagement.dto.ProposalScoreSummaryDTO;
+import com.proposalmanagement.dto.ReviewerCalibrationDTO;
 import com.proposalmanagement.entity.Evaluation;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
+import com.proposalmanagement.exception.InvalidOperationException;
 import com.proposalmanagement.service.EvaluationService;
 import com.proposalmanagement.service.ProposalService;
+import com.proposalmanagement.service.ReviewerCalibrationService;
 import com.proposalmanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +30,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class EvaluationController {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private EvaluationService evaluationService;
     
@@ -32,11 +41,16 @@ public class EvaluationController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ReviewerCalibrationService reviewerCalibrationService;
+    
     // Get all evaluations (Admin, Committee Chair, Department Head can see all evaluations)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('DEPARTMENT_HEAD')")
-    public ResponseEntity<List<Evaluation>> getAllEvaluations() {
-        List<Evaluation> evaluations = evaluationService.getAllEvaluations();
+    public ResponseEntity<Page<EvaluationDTO>> getAllEvaluations(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationDTO> evaluations = evaluationService.getAllEvaluations(Math.max(page, 0), pageSize(size));
         return ResponseEntity.ok(evaluations);
     }
     
@@ -155,8 +169,12 @@ public class EvaluationController {
     }
     
     @GetMapping("/reviewer/{reviewerId}")
-    public ResponseEntity<List<Evaluation>> getEvaluationsByReviewerId(@PathVariable Long reviewerId) {
-        List<Evaluation> evaluations = evaluationService.getEvaluationsByReviewerId(reviewerId);
+    public ResponseEntity<Page<EvaluationDTO>> getEvaluationsByReviewerId(
+            @PathVariable Long reviewerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationDTO> evaluations = evaluationService.getEvaluationsByReviewerId(
+                reviewerId, Math.max(page, 0), pageSize(size));
         return ResponseEntity.ok(evaluations);
     }
     
@@ -169,20 +187,29 @@ public class EvaluationController {
     }
     
     @GetMapping("/recommendation/{recommendation}")
-    public ResponseEntity<List<Evaluation>> getEvaluationsByRecommendation(@PathVariable Evaluation.Recommendation recommendation) {
-        List<Evaluation> evaluations = evaluationService.getEvaluationsByRecommendation(recommendation);
+    public ResponseEntity<Page<EvaluationDTO>> getEvaluationsByRecommendation(
+            @PathVariable Evaluation.Recommendation recommendation,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationDTO> evaluations = evaluationService.getEvaluationsByRecommendation(
+                recommendation, Math.max(page, 0), pageSize(size));
         return ResponseEntity.ok(evaluations);
     }
     
     @GetMapping("/final")
-    public ResponseEntity<List<Evaluation>> getFinalEvaluations() {
-        List<Evaluation> evaluations = evaluationService.getFinalEvaluations();
+    public ResponseEntity<Page<EvaluationDTO>> getFinalEvaluations(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationDTO> evaluations = evaluationService.getFinalEvaluations(Math.max(page, 0), pageSize(size));
         return ResponseEntity.ok(evaluations);
     }
     
     @GetMapping("/conflict-of-interest")
-    public ResponseEntity<List<Evaluation>> getConflictOfInterestEvaluations() {
-        List<Evaluation> evaluations = evaluationService.getConflictOfInterestEvaluations();
+    public ResponseEntity<Page<EvaluationDTO>> getConflictOfInterestEvaluations(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationDTO> evaluations = evaluationService.getConflictOfInterestEvaluations(
+                Math.max(page, 0), pageSize(size));
         return ResponseEntity.ok(evaluations);
     }
     
@@ -228,6 +255,47 @@ public class EvaluationController {
         return ResponseEntity.ok(average);
     }
     
+    // Means, standard deviations and final/non-final splits for every criterion, read from the score summary
+    @GetMapping("/proposal/{proposalId}/score-summary")
+    public ResponseEntity<ProposalScoreSummaryDTO> getScoreSummary(@PathVariable Long proposalId) {
+        ProposalScoreSummaryDTO summary = evaluationService.getScoreSummary(proposalId);
+        return ResponseEntity.ok(summary);
+    }
+    
+    // Overall score normalized against each reviewer's scoring history
+    @GetMapping("/proposal/{proposalId}/normalized-score")
+    public ResponseEntity<NormalizedScoreDTO> getNormalizedScore(@PathVariable Long proposalId) {
+        NormalizedScoreDTO normalized = reviewerCalibrationService.getNormalizedScore(proposalId);
+        return ResponseEntity.ok(normalized);
+    }
+    
+    @GetMapping("/reviewer/{reviewerId}/calibration")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('DEPARTMENT_HEAD')")
+    public ResponseEntity<ReviewerCalibrationDTO> getReviewerCalibration(@PathVariable Long reviewerId) {
+        ReviewerCalibrationDTO calibration = reviewerCalibrationService.getReviewerCalibration(reviewerId);
+        return ResponseEntity.ok(calibration);
+    }
+    
+    // Recompute every reviewer's calibration statistics from the final evaluations
+    @PostMapping("/calibration/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> recomputeReviewerCalibration() {
+        try {
+            int reviewers = reviewerCalibrationService.recompute();
+            return ResponseEntity.ok(Collections.singletonMap("reviewers", reviewers));
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+    
+    // Recompute all score summaries from the evaluations table
+    @PostMapping("/score-summaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildScoreSummaries() {
+        evaluationService.rebuildScoreSummaries();
+        return ResponseEntity.ok().build();
+    }
+    
     @GetMapping("/proposal/{proposalId}/count")
     public ResponseEntity<Long> getEvaluationCountByProposal(@PathVariable Long proposalId) {
         Long count = evaluationService.getEvaluationCountByProposal(proposalId);
@@ -241,8 +309,12 @@ public class EvaluationController {
     }
     
     @GetMapping("/reviewer/{reviewerId}/pending")
-    public ResponseEntity<List<Evaluation>> getPendingEvaluationsByReviewer(@PathVariable Long reviewerId) {
-        List<Evaluation> evaluations = evaluationService.getPendingEvaluationsByReviewer(reviewerId);
+    public ResponseEntity<Page<EvaluationDTO>> getPendingEvaluationsByReviewer(
+            @PathVariable Long reviewerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<EvaluationDTO> evaluations = evaluationService.getPendingEvaluationsByReviewer(
+                reviewerId, Math.max(page, 0), pageSize(size));
         return ResponseEntity.ok(evaluations);
     }
     
@@ -265,4 +337,8 @@ public class EvaluationController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+    
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -1,19 +1,30 @@
 package com.proposalmanagement.controller;
 
+import com.proposalmanagement.dto.NotificationBroadcastRequest;
+import com.proposalmanagement.dto.NotificationSummaryDTO;
 import com.proposalmanagement.entity.Notification;
 import com.proposalmanagement.entity.User;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.service.NotificationFanoutService;
 import com.proposalmanagement.service.NotificationService;
+import com.proposalmanagement.service.NotificationStreamService;
 import com.proposalmanagement.service.UserService;
 import com.proposalmanagement.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -24,9 +35,15 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+    
     @Autowired
     private JwtUtil jwtUtil;
     
@@ -129,22 +146,40 @@ public class NotificationController {
     @GetMapping("/my-notifications")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<Notification>> getMyNotifications(HttpServletRequest request) {
-        System.out.println("====== GET MY NOTIFICATIONS ENDPOINT CALLED ======");
         try {
             Long userId = extractUserIdFromRequest(request);
-            System.out.println("User ID: " + userId);
             List<Notification> notifications = notificationService.getNotificationsByUserId(userId);
-            System.out.println("Found " + notifications.size() + " notifications for user " + userId);
+            return ResponseEntity.ok(notifications);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Current user's inbox as lightweight summaries, keyset-paged: pass nextCursor back as beforeId
+    @GetMapping("/inbox")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getMyInbox(
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            HttpServletRequest request) {
+        try {
+            Long userId = extractUserIdFromRequest(request);
+            int pageSize = Math.min(Math.max(size, 1), 100);
             
-            // Print notification details
-            for (Notification n : notifications) {
-                System.out.println("  - Notification ID: " + n.getId() + ", Title: " + n.getTitle() + ", Type: " + n.getType() + ", Read: " + n.getIsRead());
+            // Fetch one extra row to know whether another page exists
+            List<NotificationSummaryDTO> items = notificationService.getInboxPage(userId, beforeId, pageSize + 1, unreadOnly);
+            boolean hasMore = items.size() > pageSize;
+            if (hasMore) {
+                items = items.subList(0, pageSize);
             }
             
-            return ResponseEntity.ok(notifications);
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", items);
+            response.put("hasMore", hasMore);
+            response.put("nextCursor", hasMore ? items.get(items.size() - 1).getId() : null);
+            return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
-            System.err.println("Error getting notifications: " + e.getMessage());
-            e.printStackTrace();
             return ResponseEntity.badRequest().build();
         }
     }
@@ -162,6 +197,71 @@ public class NotificationController {
         }
     }
     
+    // Send one notification to a role, a department, the committee chairs or a list of users
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('DEPARTMENT_HEAD')")
+    public ResponseEntity<?> broadcastNotification(@Valid @RequestBody NotificationBroadcastRequest request) {
+        try {
+            int recipients = notificationFanoutService.broadcast(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(Collections.singletonMap("recipients", recipients));
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+    
+    // Admin maintenance: purge notifications older than the given number of days
+    @DeleteMapping("/admin/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> purgeOldNotifications(
+            @RequestParam int olderThanDays,
+            @RequestParam(defaultValue = "false") boolean includeUnread) {
+        try {
+            long deleted = notificationService.purgeNotificationsOlderThan(olderThanDays, includeUnread);
+            return ResponseEntity.ok(Collections.singletonMap("deleted", deleted));
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+    
+    // Short-lived token for opening the stream from an EventSource, which cannot send headers
+    @PostMapping("/stream-token")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> createStreamToken(HttpServletRequest request, Principal principal) {
+        Object userIdAttribute = request.getAttribute("userId");
+        if (!(userIdAttribute instanceof Long)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        String token = jwtUtil.generateStreamToken((Long) userIdAttribute, principal.getName(),
+                (String) request.getAttribute("userRole"));
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", token);
+        response.put("expiresIn", jwtUtil.getStreamExpiration());
+        return ResponseEntity.ok(response);
+    }
+    
+    // Push channel for the current user's notifications and unread count (Server-Sent Events).
+    // Opened with a stream token; a client reconnecting with a fresh token passes lastEventId to resume.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
+            HttpServletRequest request) {
+        Object userIdAttribute = request.getAttribute("userId");
+        if (!(userIdAttribute instanceof Long)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Long userId = (Long) userIdAttribute;
+        
+        Long unreadCount = notificationService.getUnreadNotificationCount(userId);
+        SseEmitter emitter = notificationStreamService.connect(userId, lastEventId != null ? lastEventId : lastEventIdParam,
+                unreadCount != null ? unreadCount : 0L);
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+    
     // Helper method to extract user ID from JWT token
     private Long extractUserIdFromRequest(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
@@ -1,6 +1,7 @@
 package com.proposalmanagement.controller;
 
 import com.proposalmanagement.dto.ProposalDTO;
+import com.proposalmanagement.dto.ProposalRankingDTO;
 import com.proposalmanagement.entity.Document;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
@@ -8,9 +9,11 @@ import com.proposalmanagement.service.DocumentService;
 import com.proposalmanagement.service.ProposalService;
 import com.proposalmanagement.service.UserService;
 import com.proposalmanagement.service.ProposalReviewerService;
+import com.proposalmanagement.service.ProposalRankingService;
 import com.proposalmanagement.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -64,6 +67,11 @@ public class ProposalController {
     @Autowired
     private DocumentService documentService;
     
+    @Autowired
+    private ProposalRankingService proposalRankingService;
+    
+    private static final int MAX_RANKING_PAGE_SIZE = 100;
+    
     @Value("${file.upload-dir:uploads/documents}")
     private String uploadDir;
     
@@ -340,6 +348,28 @@ public class ProposalController {
         return ResponseEntity.ok(count);
     }
     
+    // Top proposals by weighted final evaluation score; omitted filters match everything
+    @GetMapping("/rankings")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('DEPARTMENT_HEAD')")
+    public ResponseEntity<Page<ProposalRankingDTO>> getProposalRanking(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Proposal.ProjectType projectType,
+            @RequestParam(required = false) Proposal.Status status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_RANKING_PAGE_SIZE);
+        Page<ProposalRankingDTO> ranking = proposalRankingService.getRanking(
+                departmentId, projectType, status, Math.max(page, 0), pageSize);
+        return ResponseEntity.ok(ranking);
+    }
+    
+    @PostMapping("/rankings/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildProposalRanking() {
+        proposalRankingService.rebuild();
+        return ResponseEntity.ok().build();
+    }
+    
     @GetMapping("/upcoming-deadlines")
     public ResponseEntity<List<Proposal>> getUpcomingDeadlines(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
@@ -1,10 +1,15 @@
 package com.proposalmanagement.controller;
 
 import com.proposalmanagement.dto.AssignReviewerRequest;
+import com.proposalmanagement.dto.AutoAssignReviewerRequest;
+import com.proposalmanagement.dto.BulkAssignReviewerRequest;
 import com.proposalmanagement.dto.ProposalReviewerDTO;
+import com.proposalmanagement.dto.ReviewerAssignmentPlanDTO;
+import com.proposalmanagement.dto.ReviewerWorkloadDTO;
 import com.proposalmanagement.entity.ProposalReviewer;
 import com.proposalmanagement.entity.User;
 import com.proposalmanagement.service.ProposalReviewerService;
+import com.proposalmanagement.service.ReviewerAssignmentEngine;
 import com.proposalmanagement.service.UserService;
 import com.proposalmanagement.security.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +34,9 @@ public class ProposalReviewerController {
     @Autowired
     private ProposalReviewerService proposalReviewerService;
     
+    @Autowired
+    private ReviewerAssignmentEngine reviewerAssignmentEngine;
+    
     @Autowired
     private UserService userService;
     
@@ -46,15 +54,9 @@ public class ProposalReviewerController {
             @Valid @RequestBody AssignReviewerRequest request,
             HttpServletRequest httpRequest) {
         
-        System.out.println("====== ASSIGN REVIEWERS ENDPOINT CALLED ======");
-        System.out.println("Proposal ID: " + request.getProposalId());
-        System.out.println("Reviewer IDs: " + request.getReviewerIds());
-        System.out.println("Due Date: " + request.getDueDate());
-        
         try {
             // Extract user ID from JWT
             Long assignedById = extractUserIdFromRequest(httpRequest);
-            System.out.println("Assigned By ID: " + assignedById);
             
             // Assign reviewers
             List<ProposalReviewer> assignments = proposalReviewerService.assignReviewersToProposal(
@@ -76,6 +78,71 @@ public class ProposalReviewerController {
         }
     }
     
+    /**
+     * Assign the same reviewers to several proposals (COMMITTEE_CHAIR and ADMIN only)
+     */
+    @PostMapping("/assign-bulk")
+    @PreAuthorize("hasRole('COMMITTEE_CHAIR') or hasRole('ADMIN')")
+    @Operation(summary = "Assign reviewers to several proposals", 
+               description = "Committee Chair or Admin assigns reviewers to many proposals at once; existing assignments are skipped")
+    public ResponseEntity<List<ProposalReviewerDTO>> assignReviewersBulk(
+            @Valid @RequestBody BulkAssignReviewerRequest request,
+            HttpServletRequest httpRequest) {
+        try {
+            Long assignedById = extractUserIdFromRequest(httpRequest);
+            
+            List<ProposalReviewer> assignments = proposalReviewerService.assignReviewersToProposals(
+                    request.getProposalIds(),
+                    request.getReviewerIds(),
+                    assignedById,
+                    request.getDueDate(),
+                    request.getNotes()
+            );
+            
+            List<ProposalReviewerDTO> dtos = assignments.stream()
+                    .map(ProposalReviewerDTO::new)
+                    .collect(Collectors.toList());
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(dtos);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Preview automatic reviewer assignment without saving anything (COMMITTEE_CHAIR and ADMIN only)
+     */
+    @PostMapping("/auto-assign/preview")
+    @PreAuthorize("hasRole('COMMITTEE_CHAIR') or hasRole('ADMIN')")
+    @Operation(summary = "Preview automatic reviewer assignment", 
+               description = "Matches reviewers to proposals by expertise, excluding conflicts and balancing workload")
+    public ResponseEntity<ReviewerAssignmentPlanDTO> previewAutoAssignment(
+            @Valid @RequestBody AutoAssignReviewerRequest request) {
+        try {
+            return ResponseEntity.ok(reviewerAssignmentEngine.preview(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Compute and save automatic reviewer assignments (COMMITTEE_CHAIR and ADMIN only)
+     */
+    @PostMapping("/auto-assign")
+    @PreAuthorize("hasRole('COMMITTEE_CHAIR') or hasRole('ADMIN')")
+    @Operation(summary = "Automatically assign reviewers", 
+               description = "Computes the same plan as the preview and creates the assignments")
+    public ResponseEntity<ReviewerAssignmentPlanDTO> autoAssignReviewers(
+            @Valid @RequestBody AutoAssignReviewerRequest request,
+            HttpServletRequest httpRequest) {
+        try {
+            Long assignedById = extractUserIdFromRequest(httpRequest);
+            return ResponseEntity.status(HttpStatus.CREATED).body(reviewerAssignmentEngine.commit(request, assignedById));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get all assignments for a specific reviewer (REVIEWER role)
      */
@@ -240,6 +307,23 @@ public class ProposalReviewerController {
         }
     }
     
+    /**
+     * Reviewer workload leaderboard (COMMITTEE_CHAIR and ADMIN only)
+     */
+    @GetMapping("/leaderboard")
+    @PreAuthorize("hasRole('COMMITTEE_CHAIR') or hasRole('ADMIN')")
+    @Operation(summary = "Get reviewer workload leaderboard", 
+               description = "Assignment counts for every reviewer, sorted by open, completed, overdue or total assignments")
+    public ResponseEntity<List<ReviewerWorkloadDTO>> getReviewerLeaderboard(
+            @RequestParam(defaultValue = "open") String sortBy,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(proposalReviewerService.getReviewerWorkloadLeaderboard(sortBy, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get current reviewer's statistics
      */
@@ -0,0 +1,83 @@
+package com.proposalmanagement.controller;
+
+import com.proposalmanagement.dto.StageDurationDTO;
+import com.proposalmanagement.dto.UnknownWorkflowStageDTO;
+import com.proposalmanagement.dto.WorkflowTaskDTO;
+import com.proposalmanagement.entity.WorkflowState;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.service.StageDurationService;
+import com.proposalmanagement.service.WorkflowStateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/workflow")
+@CrossOrigin(origins = "*")
+public class WorkflowStateController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private WorkflowStateService workflowStateService;
+
+    @Autowired
+    private StageDurationService stageDurationService;
+
+    // Pending tasks assigned to the user, earliest due date first; only the user and workflow staff may read them
+    @GetMapping("/user/{userId}/inbox")
+    @PreAuthorize("#userId == authentication.principal.userId or hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or " +
+                  "hasRole('DEPARTMENT_HEAD') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<Page<WorkflowTaskDTO>> getTaskInbox(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<WorkflowTaskDTO> tasks = workflowStateService.getTaskInbox(userId, Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping("/user/{userId}/inbox/count")
+    @PreAuthorize("#userId == authentication.principal.userId or hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or " +
+                  "hasRole('DEPARTMENT_HEAD') or hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<Long> getPendingTaskCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(workflowStateService.getTaskCountByUserAndStatus(userId, WorkflowState.Status.PENDING));
+    }
+
+    // Time spent per stage; windowHours limits it to a recent sliding window
+    @GetMapping("/stage-durations")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('COMMITTEE_CHAIR') or hasRole('DEPARTMENT_HEAD')")
+    public ResponseEntity<List<StageDurationDTO>> getStageDurations(
+            @RequestParam(required = false) String stage,
+            @RequestParam(required = false) Integer windowHours) {
+        if (stage != null) {
+            return ResponseEntity.ok(Collections.singletonList(stageDurationService.getStageDuration(stage, windowHours)));
+        }
+        return ResponseEntity.ok(stageDurationService.getStageDurations(windowHours));
+    }
+
+    // Stored stages the transition table does not declare; their proposals cannot move
+    @GetMapping("/unknown-stages")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<UnknownWorkflowStageDTO>> getUnknownStages() {
+        return ResponseEntity.ok(workflowStateService.getUnknownStages());
+    }
+
+    // Rebuild the stage duration histograms from the workflow history
+    @PostMapping("/stage-durations/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildStageDurations() {
+        try {
+            long states = stageDurationService.rebuild();
+            return ResponseEntity.ok(Collections.singletonMap("workflowStates", states));
+        } catch (InvalidOperationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+}
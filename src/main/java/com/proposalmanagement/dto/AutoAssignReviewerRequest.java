@@ -0,0 +1,70 @@
+package com.proposalmanagement.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for automatic reviewer assignment. When no proposal IDs are given, all SUBMITTED
+ * proposals are planned.
+ */
+public class AutoAssignReviewerRequest {
+
+    private List<Long> proposalIds;
+
+    @Min(value = 1, message = "At least one reviewer per proposal is required")
+    @Max(value = 10, message = "At most 10 reviewers per proposal can be assigned")
+    private Integer reviewersPerProposal = 3;
+
+    // Optional cap on open assignments per reviewer, including the ones being planned
+    private Integer maxLoadPerReviewer;
+
+    private LocalDateTime dueDate;
+
+    private String notes;
+
+    // Constructors
+    public AutoAssignReviewerRequest() {}
+
+    // Getters and Setters
+    public List<Long> getProposalIds() {
+        return proposalIds;
+    }
+
+    public void setProposalIds(List<Long> proposalIds) {
+        this.proposalIds = proposalIds;
+    }
+
+    public Integer getReviewersPerProposal() {
+        return reviewersPerProposal;
+    }
+
+    public void setReviewersPerProposal(Integer reviewersPerProposal) {
+        this.reviewersPerProposal = reviewersPerProposal;
+    }
+
+    public Integer getMaxLoadPerReviewer() {
+        return maxLoadPerReviewer;
+    }
+
+    public void setMaxLoadPerReviewer(Integer maxLoadPerReviewer) {
+        this.maxLoadPerReviewer = maxLoadPerReviewer;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
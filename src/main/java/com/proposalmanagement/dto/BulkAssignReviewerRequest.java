@@ -0,0 +1,62 @@
+package com.proposalmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for assigning the same reviewers to several proposals in one request
+ */
+public class BulkAssignReviewerRequest {
+
+    @NotEmpty(message = "At least one proposal ID is required")
+    private List<Long> proposalIds;
+
+    @NotEmpty(message = "At least one reviewer ID is required")
+    private List<Long> reviewerIds;
+
+    private LocalDateTime dueDate;
+
+    private String notes;
+
+    // Constructors
+    public BulkAssignReviewerRequest() {}
+
+    public BulkAssignReviewerRequest(List<Long> proposalIds, List<Long> reviewerIds) {
+        this.proposalIds = proposalIds;
+        this.reviewerIds = reviewerIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getProposalIds() {
+        return proposalIds;
+    }
+
+    public void setProposalIds(List<Long> proposalIds) {
+        this.proposalIds = proposalIds;
+    }
+
+    public List<Long> getReviewerIds() {
+        return reviewerIds;
+    }
+
+    public void setReviewerIds(List<Long> reviewerIds) {
+        this.reviewerIds = reviewerIds;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,143 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment as it appears in the recent activity feed, with the entity it was made on
+ */
+public class CommentActivityDTO {
+
+    private Long id;
+    private Long proposalId;
+    private Long projectId;
+    private Long evaluationId;
+    private Long parentCommentId;
+    private Long authorId;
+    private String authorName;
+    private String content;
+    private Comment.CommentType commentType;
+    private Boolean isInternal;
+    private Boolean isResolved;
+    private LocalDateTime createdDate;
+
+    // Constructors
+    public CommentActivityDTO() {}
+
+    // Projection constructor used by CommentRepository
+    public CommentActivityDTO(Long id, Long proposalId, Long projectId, Long evaluationId, Long parentCommentId,
+                              Long authorId, String authorFirstName, String authorLastName, String content,
+                              Comment.CommentType commentType, Boolean isInternal, Boolean isResolved,
+                              LocalDateTime createdDate) {
+        this.id = id;
+        this.proposalId = proposalId;
+        this.projectId = projectId;
+        this.evaluationId = evaluationId;
+        this.parentCommentId = parentCommentId;
+        this.authorId = authorId;
+        this.authorName = authorFirstName + " " + authorLastName;
+        this.content = content;
+        this.commentType = commentType;
+        this.isInternal = isInternal;
+        this.isResolved = isResolved;
+        this.createdDate = createdDate;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getEvaluationId() {
+        return evaluationId;
+    }
+
+    public void setEvaluationId(Long evaluationId) {
+        this.evaluationId = evaluationId;
+    }
+
+    public Long getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(Long parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Comment.CommentType getCommentType() {
+        return commentType;
+    }
+
+    public void setCommentType(Comment.CommentType commentType) {
+        this.commentType = commentType;
+    }
+
+    public Boolean getIsInternal() {
+        return isInternal;
+    }
+
+    public void setIsInternal(Boolean isInternal) {
+        this.isInternal = isInternal;
+    }
+
+    public Boolean getIsResolved() {
+        return isResolved;
+    }
+
+    public void setIsResolved(Boolean isResolved) {
+        this.isResolved = isResolved;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -0,0 +1,43 @@
+package com.proposalmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of the recent comment feed, newest first. Pass {@code nextCursor} back to get the
+ * following page; it is null on the last page.
+ */
+public class CommentFeedPageDTO {
+
+    private List<CommentActivityDTO> comments = new ArrayList<>();
+    private String nextCursor;
+
+    // Constructors
+    public CommentFeedPageDTO() {}
+
+    public CommentFeedPageDTO(List<CommentActivityDTO> comments, String nextCursor) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<CommentActivityDTO> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentActivityDTO> comments) {
+        this.comments = comments;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.proposalmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proposalmanagement.entity.Comment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One comment of a loaded thread with its replies, oldest reply first
+ */
+public class CommentNodeDTO {
+
+    private Long id;
+    private Long parentCommentId;
+    private Long authorId;
+    private String authorName;
+    private String content;
+    private Comment.CommentType commentType;
+    private Boolean isInternal;
+    private Boolean isResolved;
+    private LocalDateTime createdDate;
+    private LocalDateTime updatedDate;
+    // 0 for a top-level comment
+    private int depth;
+    @JsonIgnore
+    private String threadPath;
+    private List<CommentNodeDTO> replies = new ArrayList<>();
+
+    // Constructors
+    public CommentNodeDTO() {}
+
+    // Projection constructor used by CommentRepository
+    public CommentNodeDTO(Long id, Long parentCommentId, String threadPath, Long authorId, String authorFirstName,
+                          String authorLastName, String content, Comment.CommentType commentType, Boolean isInternal,
+                          Boolean isResolved, LocalDateTime createdDate, LocalDateTime updatedDate) {
+        this.id = id;
+        this.parentCommentId = parentCommentId;
+        this.threadPath = threadPath;
+        this.authorId = authorId;
+        this.authorName = authorFirstName + " " + authorLastName;
+        this.content = content;
+        this.commentType = commentType;
+        this.isInternal = isInternal;
+        this.isResolved = isResolved;
+        this.createdDate = createdDate;
+        this.updatedDate = updatedDate;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(Long parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Comment.CommentType getCommentType() {
+        return commentType;
+    }
+
+    public void setCommentType(Comment.CommentType commentType) {
+        this.commentType = commentType;
+    }
+
+    public Boolean getIsInternal() {
+        return isInternal;
+    }
+
+    public void setIsInternal(Boolean isInternal) {
+        this.isInternal = isInternal;
+    }
+
+    public Boolean getIsResolved() {
+        return isResolved;
+    }
+
+    public void setIsResolved(Boolean isResolved) {
+        this.isResolved = isResolved;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public String getThreadPath() {
+        return threadPath;
+    }
+
+    public void setThreadPath(String threadPath) {
+        this.threadPath = threadPath;
+    }
+
+    public List<CommentNodeDTO> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentNodeDTO> replies) {
+        this.replies = replies;
+    }
+}
@@ -0,0 +1,185 @@
+package com.proposalmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proposalmanagement.entity.Comment;
+import com.proposalmanagement.entity.Proposal;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a full-text comment search hit, with the proposal it was made on
+ */
+public class CommentSearchResultDTO {
+
+    private Long commentId;
+    private Long proposalId;
+    private String proposalTitle;
+    private Proposal.Status proposalStatus;
+    private Long projectId;
+    private Long evaluationId;
+    private Long parentCommentId;
+    private Long authorId;
+    private String authorName;
+    private Comment.CommentType commentType;
+    private Boolean isInternal;
+    private Boolean isResolved;
+    private LocalDateTime createdDate;
+    @JsonIgnore
+    private String content;
+    private double score;
+    private String snippet;
+
+    // Constructors
+    public CommentSearchResultDTO() {}
+
+    // Projection constructor used by CommentRepository
+    public CommentSearchResultDTO(Long commentId, Long proposalId, String proposalTitle, Proposal.Status proposalStatus,
+                                  Long projectId, Long evaluationId, Long parentCommentId, Long authorId,
+                                  String authorFirstName, String authorLastName, String content,
+                                  Comment.CommentType commentType, Boolean isInternal, Boolean isResolved,
+                                  LocalDateTime createdDate) {
+        this.commentId = commentId;
+        this.proposalId = proposalId;
+        this.proposalTitle = proposalTitle;
+        this.proposalStatus = proposalStatus;
+        this.projectId = projectId;
+        this.evaluationId = evaluationId;
+        this.parentCommentId = parentCommentId;
+        this.authorId = authorId;
+        this.authorName = authorFirstName + " " + authorLastName;
+        this.content = content;
+        this.commentType = commentType;
+        this.isInternal = isInternal;
+        this.isResolved = isResolved;
+        this.createdDate = createdDate;
+    }
+
+    // Getters and Setters
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public String getProposalTitle() {
+        return proposalTitle;
+    }
+
+    public void setProposalTitle(String proposalTitle) {
+        this.proposalTitle = proposalTitle;
+    }
+
+    public Proposal.Status getProposalStatus() {
+        return proposalStatus;
+    }
+
+    public void setProposalStatus(Proposal.Status proposalStatus) {
+        this.proposalStatus = proposalStatus;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getEvaluationId() {
+        return evaluationId;
+    }
+
+    public void setEvaluationId(Long evaluationId) {
+        this.evaluationId = evaluationId;
+    }
+
+    public Long getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(Long parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public Comment.CommentType getCommentType() {
+        return commentType;
+    }
+
+    public void setCommentType(Comment.CommentType commentType) {
+        this.commentType = commentType;
+    }
+
+    public Boolean getIsInternal() {
+        return isInternal;
+    }
+
+    public void setIsInternal(Boolean isInternal) {
+        this.isInternal = isInternal;
+    }
+
+    public Boolean getIsResolved() {
+        return isResolved;
+    }
+
+    public void setIsResolved(Boolean isResolved) {
+        this.isResolved = isResolved;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -0,0 +1,43 @@
+package com.proposalmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of top-level comments, newest first, each with its full reply tree. Pass
+ * {@code nextCursor} back to get the following page; it is null on the last page.
+ */
+public class CommentThreadPageDTO {
+
+    private List<CommentNodeDTO> threads = new ArrayList<>();
+    private String nextCursor;
+
+    // Constructors
+    public CommentThreadPageDTO() {}
+
+    public CommentThreadPageDTO(List<CommentNodeDTO> threads, String nextCursor) {
+        this.threads = threads;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<CommentNodeDTO> getThreads() {
+        return threads;
+    }
+
+    public void setThreads(List<CommentNodeDTO> threads) {
+        this.threads = threads;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
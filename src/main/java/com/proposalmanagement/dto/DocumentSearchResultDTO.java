@@ -0,0 +1,109 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a full-text document search hit
+ */
+public class DocumentSearchResultDTO {
+
+    private Long documentId;
+    private Long proposalId;
+    private Long projectId;
+    private String fileName;
+    private String fileType;
+    private String description;
+    private LocalDateTime uploadedDate;
+    private double score;
+    private String snippet;
+
+    // Constructors
+    public DocumentSearchResultDTO() {}
+
+    public DocumentSearchResultDTO(Document document, double score, String snippet) {
+        this.documentId = document.getId();
+        this.proposalId = document.getProposal() != null ? document.getProposal().getId() : null;
+        this.projectId = document.getProject() != null ? document.getProject().getId() : null;
+        this.fileName = document.getFileName();
+        this.fileType = document.getFileType();
+        this.description = document.getDescription();
+        this.uploadedDate = document.getUploadedDate();
+        this.score = score;
+        this.snippet = snippet;
+    }
+
+    // Getters and Setters
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getUploadedDate() {
+        return uploadedDate;
+    }
+
+    public void setUploadedDate(LocalDateTime uploadedDate) {
+        this.uploadedDate = uploadedDate;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -3,11 +3,15 @@ package com.proposalmanagement.dto;
 import com.proposalmanagement.entity.Evaluation;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class EvaluationDTO {
     
+    private Long id;
     private Long proposalId;
+    private String proposalTitle;
     private Long reviewerId;
+    private String reviewerName;
     
     private String evaluationStage;
     private BigDecimal overallScore;
@@ -20,11 +24,46 @@ public class EvaluationDTO {
     private Evaluation.Recommendation recommendation;
     private Boolean isFinal = false;
     private Boolean conflictOfInterest = false;
+    private LocalDateTime evaluationDate;
     
     // Constructors
     public EvaluationDTO() {}
     
+    // Projection used by the evaluation list queries, so lists never load proposal or user entities
+    public EvaluationDTO(Long id, Long proposalId, String proposalTitle, Long reviewerId,
+                         String reviewerFirstName, String reviewerLastName, String evaluationStage,
+                         BigDecimal overallScore, BigDecimal technicalScore, BigDecimal innovationScore,
+                         BigDecimal feasibilityScore, BigDecimal budgetScore, BigDecimal impactScore,
+                         String comments, Evaluation.Recommendation recommendation, Boolean isFinal,
+                         Boolean conflictOfInterest, LocalDateTime evaluationDate) {
+        this.id = id;
+        this.proposalId = proposalId;
+        this.proposalTitle = proposalTitle;
+        this.reviewerId = reviewerId;
+        this.reviewerName = reviewerFirstName + " " + reviewerLastName;
+        this.evaluationStage = evaluationStage;
+        this.overallScore = overallScore;
+        this.technicalScore = technicalScore;
+        this.innovationScore = innovationScore;
+        this.feasibilityScore = feasibilityScore;
+        this.budgetScore = budgetScore;
+        this.impactScore = impactScore;
+        this.comments = comments;
+        this.recommendation = recommendation;
+        this.isFinal = isFinal;
+        this.conflictOfInterest = conflictOfInterest;
+        this.evaluationDate = evaluationDate;
+    }
+    
     // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
     public Long getProposalId() {
         return proposalId;
     }
@@ -33,6 +72,14 @@ public class EvaluationDTO {
         this.proposalId = proposalId;
     }
     
+    public String getProposalTitle() {
+        return proposalTitle;
+    }
+    
+    public void setProposalTitle(String proposalTitle) {
+        this.proposalTitle = proposalTitle;
+    }
+    
     public Long getReviewerId() {
         return reviewerId;
     }
@@ -41,6 +88,14 @@ public class EvaluationDTO {
         this.reviewerId = reviewerId;
     }
     
+    public String getReviewerName() {
+        return reviewerName;
+    }
+    
+    public void setReviewerName(String reviewerName) {
+        this.reviewerName = reviewerName;
+    }
+    
     public String getEvaluationStage() {
         return evaluationStage;
     }
@@ -128,4 +183,12 @@ public class EvaluationDTO {
     public void setConflictOfInterest(Boolean conflictOfInterest) {
         this.conflictOfInterest = conflictOfInterest;
     }
-}
\ No newline at end of file
+    
+    public LocalDateTime getEvaluationDate() {
+        return evaluationDate;
+    }
+    
+    public void setEvaluationDate(LocalDateTime evaluationDate) {
+        this.evaluationDate = evaluationDate;
+    }
+}
@@ -0,0 +1,132 @@
+package com.proposalmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A proposal's overall score corrected for reviewer leniency: each final overall score is
+ * turned into a z-score against its reviewer's own history and the z-scores are averaged
+ */
+public class NormalizedScoreDTO {
+
+    private Long proposalId;
+    // Plain mean of the final overall scores
+    private Double rawMean;
+    // Mean z-score over the reviewers with enough history; null when there are none
+    private Double normalizedScore;
+    private List<ReviewerScore> reviewerScores = new ArrayList<>();
+
+    // Constructors
+    public NormalizedScoreDTO() {}
+
+    public NormalizedScoreDTO(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    // Getters and Setters
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public Double getRawMean() {
+        return rawMean;
+    }
+
+    public void setRawMean(Double rawMean) {
+        this.rawMean = rawMean;
+    }
+
+    public Double getNormalizedScore() {
+        return normalizedScore;
+    }
+
+    public void setNormalizedScore(Double normalizedScore) {
+        this.normalizedScore = normalizedScore;
+    }
+
+    public List<ReviewerScore> getReviewerScores() {
+        return reviewerScores;
+    }
+
+    public void setReviewerScores(List<ReviewerScore> reviewerScores) {
+        this.reviewerScores = reviewerScores;
+    }
+
+    public static class ReviewerScore {
+        private Long reviewerId;
+        private Double score;
+        private long reviewerSampleCount;
+        private Double reviewerMean;
+        private Double reviewerStandardDeviation;
+        // Null when the reviewer has too few scores or no spread
+        private Double zScore;
+
+        public ReviewerScore() {}
+
+        public ReviewerScore(Long reviewerId, Double score, long reviewerSampleCount, Double reviewerMean,
+                             Double reviewerStandardDeviation, Double zScore) {
+            this.reviewerId = reviewerId;
+            this.score = score;
+            this.reviewerSampleCount = reviewerSampleCount;
+            this.reviewerMean = reviewerMean;
+            this.reviewerStandardDeviation = reviewerStandardDeviation;
+            this.zScore = zScore;
+        }
+
+        public Long getReviewerId() {
+            return reviewerId;
+        }
+
+        public void setReviewerId(Long reviewerId) {
+            this.reviewerId = reviewerId;
+        }
+
+        public Double getScore() {
+            return score;
+        }
+
+        public void setScore(Double score) {
+            this.score = score;
+        }
+
+        public long getReviewerSampleCount() {
+            return reviewerSampleCount;
+        }
+
+        public void setReviewerSampleCount(long reviewerSampleCount) {
+            this.reviewerSampleCount = reviewerSampleCount;
+        }
+
+        public Double getReviewerMean() {
+            return reviewerMean;
+        }
+
+        public void setReviewerMean(Double reviewerMean) {
+            this.reviewerMean = reviewerMean;
+        }
+
+        public Double getReviewerStandardDeviation() {
+            return reviewerStandardDeviation;
+        }
+
+        public void setReviewerStandardDeviation(Double reviewerStandardDeviation) {
+            this.reviewerStandardDeviation = reviewerStandardDeviation;
+        }
+
+        @JsonProperty("zScore")
+        public Double getZScore() {
+            return zScore;
+        }
+
+        @JsonProperty("zScore")
+        public void setZScore(Double zScore) {
+            this.zScore = zScore;
+        }
+    }
+}
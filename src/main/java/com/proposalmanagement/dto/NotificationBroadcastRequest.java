@@ -0,0 +1,127 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.User;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for sending one notification to a whole audience (role, department, committee chairs
+ * or an explicit list of users)
+ */
+public class NotificationBroadcastRequest {
+
+    public enum Target {
+        USERS, ROLE, DEPARTMENT, COMMITTEE_CHAIRS
+    }
+
+    @NotNull(message = "Target is required")
+    private Target target;
+
+    // Required for ROLE
+    private User.Role role;
+
+    // Required for DEPARTMENT
+    private Long departmentId;
+
+    // Required for USERS
+    private List<Long> userIds;
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    @NotBlank(message = "Message is required")
+    private String message;
+
+    private Notification.Type type = Notification.Type.GENERAL;
+
+    private Notification.Priority priority = Notification.Priority.MEDIUM;
+
+    @Size(max = 500, message = "Action URL must not exceed 500 characters")
+    private String actionUrl;
+
+    // Constructors
+    public NotificationBroadcastRequest() {}
+
+    public NotificationBroadcastRequest(Target target, String title, String message) {
+        this.target = target;
+        this.title = title;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Target getTarget() {
+        return target;
+    }
+
+    public void setTarget(Target target) {
+        this.target = target;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+
+    public void setRole(User.Role role) {
+        this.role = role;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Notification.Type getType() {
+        return type;
+    }
+
+    public void setType(Notification.Type type) {
+        this.type = type;
+    }
+
+    public Notification.Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Notification.Priority priority) {
+        this.priority = priority;
+    }
+
+    public String getActionUrl() {
+        return actionUrl;
+    }
+
+    public void setActionUrl(String actionUrl) {
+        this.actionUrl = actionUrl;
+    }
+}
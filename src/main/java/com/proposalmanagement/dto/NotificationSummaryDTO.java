@@ -0,0 +1,164 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.Project;
+import com.proposalmanagement.entity.Proposal;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight notification view used for inbox listings and push events
+ */
+public class NotificationSummaryDTO {
+
+    private Long id;
+    private String title;
+    private String message;
+    private Notification.Type type;
+    private Notification.Priority priority;
+    private Boolean isRead;
+    private Long relatedProposalId;
+    private String relatedProposalTitle;
+    private Long relatedProjectId;
+    private String relatedProjectNumber;
+    private String actionUrl;
+    private LocalDateTime createdDate;
+
+    // Constructors
+    public NotificationSummaryDTO() {}
+
+    // Used by the JPQL constructor projection in NotificationRepository
+    public NotificationSummaryDTO(Long id, String title, String message, Notification.Type type,
+                                  Notification.Priority priority, Boolean isRead,
+                                  Long relatedProposalId, String relatedProposalTitle,
+                                  Long relatedProjectId, String relatedProjectNumber,
+                                  String actionUrl, LocalDateTime createdDate) {
+        this.id = id;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.priority = priority;
+        this.isRead = isRead;
+        this.relatedProposalId = relatedProposalId;
+        this.relatedProposalTitle = relatedProposalTitle;
+        this.relatedProjectId = relatedProjectId;
+        this.relatedProjectNumber = relatedProjectNumber;
+        this.actionUrl = actionUrl;
+        this.createdDate = createdDate;
+    }
+
+    public static NotificationSummaryDTO from(Notification notification) {
+        Proposal proposal = notification.getRelatedProposal();
+        Project project = notification.getRelatedProject();
+        return new NotificationSummaryDTO(
+                notification.getId(),
+                notification.getTitle(),
+                notification.getMessage(),
+                notification.getType(),
+                notification.getPriority(),
+                notification.getIsRead(),
+                proposal != null ? proposal.getId() : null,
+                proposal != null ? proposal.getTitle() : null,
+                project != null ? project.getId() : null,
+                project != null ? project.getProjectNumber() : null,
+                notification.getActionUrl(),
+                notification.getCreatedDate());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Notification.Type getType() {
+        return type;
+    }
+
+    public void setType(Notification.Type type) {
+        this.type = type;
+    }
+
+    public Notification.Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Notification.Priority priority) {
+        this.priority = priority;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public void setIsRead(Boolean isRead) {
+        this.isRead = isRead;
+    }
+
+    public Long getRelatedProposalId() {
+        return relatedProposalId;
+    }
+
+    public void setRelatedProposalId(Long relatedProposalId) {
+        this.relatedProposalId = relatedProposalId;
+    }
+
+    public String getRelatedProposalTitle() {
+        return relatedProposalTitle;
+    }
+
+    public void setRelatedProposalTitle(String relatedProposalTitle) {
+        this.relatedProposalTitle = relatedProposalTitle;
+    }
+
+    public Long getRelatedProjectId() {
+        return relatedProjectId;
+    }
+
+    public void setRelatedProjectId(Long relatedProjectId) {
+        this.relatedProjectId = relatedProjectId;
+    }
+
+    public String getRelatedProjectNumber() {
+        return relatedProjectNumber;
+    }
+
+    public void setRelatedProjectNumber(String relatedProjectNumber) {
+        this.relatedProjectNumber = relatedProjectNumber;
+    }
+
+    public String getActionUrl() {
+        return actionUrl;
+    }
+
+    public void setActionUrl(String actionUrl) {
+        this.actionUrl = actionUrl;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+}
@@ -0,0 +1,97 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Proposal;
+
+/**
+ * One row of a proposal ranking: the proposal's weighted score over its final evaluations
+ */
+public class ProposalRankingDTO {
+
+    private int rank;
+    private Long proposalId;
+    private String title;
+    private Long departmentId;
+    private Proposal.ProjectType projectType;
+    private Proposal.Status status;
+    private double weightedScore;
+    private long finalEvaluationCount;
+
+    // Constructors
+    public ProposalRankingDTO() {}
+
+    public ProposalRankingDTO(int rank, Long proposalId, Long departmentId, Proposal.ProjectType projectType,
+                              Proposal.Status status, double weightedScore, long finalEvaluationCount) {
+        this.rank = rank;
+        this.proposalId = proposalId;
+        this.departmentId = departmentId;
+        this.projectType = projectType;
+        this.status = status;
+        this.weightedScore = weightedScore;
+        this.finalEvaluationCount = finalEvaluationCount;
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Proposal.ProjectType getProjectType() {
+        return projectType;
+    }
+
+    public void setProjectType(Proposal.ProjectType projectType) {
+        this.projectType = projectType;
+    }
+
+    public Proposal.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Proposal.Status status) {
+        this.status = status;
+    }
+
+    public double getWeightedScore() {
+        return weightedScore;
+    }
+
+    public void setWeightedScore(double weightedScore) {
+        this.weightedScore = weightedScore;
+    }
+
+    public long getFinalEvaluationCount() {
+        return finalEvaluationCount;
+    }
+
+    public void setFinalEvaluationCount(long finalEvaluationCount) {
+        this.finalEvaluationCount = finalEvaluationCount;
+    }
+}
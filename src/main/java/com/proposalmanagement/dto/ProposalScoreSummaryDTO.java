@@ -0,0 +1,146 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Score statistics for one proposal: per criterion, the count, mean and sample standard
+ * deviation over final evaluations, non-final evaluations and all evaluations
+ */
+public class ProposalScoreSummaryDTO {
+
+    private Long proposalId;
+    private long evaluationCount;
+    private long finalEvaluationCount;
+    private List<CriterionSummary> criteria = new ArrayList<>();
+
+    // Constructors
+    public ProposalScoreSummaryDTO() {}
+
+    public ProposalScoreSummaryDTO(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    // Getters and Setters
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    public void setEvaluationCount(long evaluationCount) {
+        this.evaluationCount = evaluationCount;
+    }
+
+    public long getFinalEvaluationCount() {
+        return finalEvaluationCount;
+    }
+
+    public void setFinalEvaluationCount(long finalEvaluationCount) {
+        this.finalEvaluationCount = finalEvaluationCount;
+    }
+
+    public List<CriterionSummary> getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(List<CriterionSummary> criteria) {
+        this.criteria = criteria;
+    }
+
+    public static class CriterionSummary {
+        private Evaluation.Criterion criterion;
+        private ScoreStatistics finalScores;
+        private ScoreStatistics nonFinalScores;
+        private ScoreStatistics allScores;
+
+        public CriterionSummary() {}
+
+        public CriterionSummary(Evaluation.Criterion criterion, ScoreStatistics finalScores,
+                                ScoreStatistics nonFinalScores, ScoreStatistics allScores) {
+            this.criterion = criterion;
+            this.finalScores = finalScores;
+            this.nonFinalScores = nonFinalScores;
+            this.allScores = allScores;
+        }
+
+        public Evaluation.Criterion getCriterion() {
+            return criterion;
+        }
+
+        public void setCriterion(Evaluation.Criterion criterion) {
+            this.criterion = criterion;
+        }
+
+        public ScoreStatistics getFinalScores() {
+            return finalScores;
+        }
+
+        public void setFinalScores(ScoreStatistics finalScores) {
+            this.finalScores = finalScores;
+        }
+
+        public ScoreStatistics getNonFinalScores() {
+            return nonFinalScores;
+        }
+
+        public void setNonFinalScores(ScoreStatistics nonFinalScores) {
+            this.nonFinalScores = nonFinalScores;
+        }
+
+        public ScoreStatistics getAllScores() {
+            return allScores;
+        }
+
+        public void setAllScores(ScoreStatistics allScores) {
+            this.allScores = allScores;
+        }
+    }
+
+    public static class ScoreStatistics {
+        private long count;
+        // Null when there are no scores
+        private Double mean;
+        private Double standardDeviation;
+
+        public ScoreStatistics() {}
+
+        public ScoreStatistics(long count, Double mean, Double standardDeviation) {
+            this.count = count;
+            this.mean = mean;
+            this.standardDeviation = standardDeviation;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public Double getMean() {
+            return mean;
+        }
+
+        public void setMean(Double mean) {
+            this.mean = mean;
+        }
+
+        public Double getStandardDeviation() {
+            return standardDeviation;
+        }
+
+        public void setStandardDeviation(Double standardDeviation) {
+            this.standardDeviation = standardDeviation;
+        }
+    }
+}
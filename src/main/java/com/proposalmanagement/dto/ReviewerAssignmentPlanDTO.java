@@ -0,0 +1,134 @@
+package com.proposalmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of the automatic reviewer assignment engine: the reviewers chosen for each proposal,
+ * with their expertise score and workload. Returned as-is in preview mode.
+ */
+public class ReviewerAssignmentPlanDTO {
+
+    private boolean committed;
+    private List<ProposalPlan> proposals = new ArrayList<>();
+
+    // Constructors
+    public ReviewerAssignmentPlanDTO() {}
+
+    public ReviewerAssignmentPlanDTO(List<ProposalPlan> proposals) {
+        this.proposals = proposals;
+    }
+
+    // Getters and Setters
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    public List<ProposalPlan> getProposals() {
+        return proposals;
+    }
+
+    public void setProposals(List<ProposalPlan> proposals) {
+        this.proposals = proposals;
+    }
+
+    public static class ProposalPlan {
+        private Long proposalId;
+        private String proposalTitle;
+        private List<ReviewerPick> reviewers = new ArrayList<>();
+        // Slots that could not be filled without a conflict or exceeding the load cap
+        private int unfilledSlots;
+
+        public ProposalPlan() {}
+
+        public ProposalPlan(Long proposalId, String proposalTitle) {
+            this.proposalId = proposalId;
+            this.proposalTitle = proposalTitle;
+        }
+
+        public Long getProposalId() {
+            return proposalId;
+        }
+
+        public void setProposalId(Long proposalId) {
+            this.proposalId = proposalId;
+        }
+
+        public String getProposalTitle() {
+            return proposalTitle;
+        }
+
+        public void setProposalTitle(String proposalTitle) {
+            this.proposalTitle = proposalTitle;
+        }
+
+        public List<ReviewerPick> getReviewers() {
+            return reviewers;
+        }
+
+        public void setReviewers(List<ReviewerPick> reviewers) {
+            this.reviewers = reviewers;
+        }
+
+        public int getUnfilledSlots() {
+            return unfilledSlots;
+        }
+
+        public void setUnfilledSlots(int unfilledSlots) {
+            this.unfilledSlots = unfilledSlots;
+        }
+    }
+
+    public static class ReviewerPick {
+        private Long reviewerId;
+        private String reviewerName;
+        private double score;
+        // Open assignments before this one was added
+        private int load;
+
+        public ReviewerPick() {}
+
+        public ReviewerPick(Long reviewerId, String reviewerName, double score, int load) {
+            this.reviewerId = reviewerId;
+            this.reviewerName = reviewerName;
+            this.score = score;
+            this.load = load;
+        }
+
+        public Long getReviewerId() {
+            return reviewerId;
+        }
+
+        public void setReviewerId(Long reviewerId) {
+            this.reviewerId = reviewerId;
+        }
+
+        public String getReviewerName() {
+            return reviewerName;
+        }
+
+        public void setReviewerName(String reviewerName) {
+            this.reviewerName = reviewerName;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public int getLoad() {
+            return load;
+        }
+
+        public void setLoad(int load) {
+            this.load = load;
+        }
+    }
+}
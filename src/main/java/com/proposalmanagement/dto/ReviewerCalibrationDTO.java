@@ -0,0 +1,89 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How one reviewer scores: the mean and sample standard deviation of their final scores per criterion
+ */
+public class ReviewerCalibrationDTO {
+
+    private Long reviewerId;
+    private List<CriterionStatistics> criteria = new ArrayList<>();
+
+    // Constructors
+    public ReviewerCalibrationDTO() {}
+
+    public ReviewerCalibrationDTO(Long reviewerId) {
+        this.reviewerId = reviewerId;
+    }
+
+    // Getters and Setters
+    public Long getReviewerId() {
+        return reviewerId;
+    }
+
+    public void setReviewerId(Long reviewerId) {
+        this.reviewerId = reviewerId;
+    }
+
+    public List<CriterionStatistics> getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(List<CriterionStatistics> criteria) {
+        this.criteria = criteria;
+    }
+
+    public static class CriterionStatistics {
+        private Evaluation.Criterion criterion;
+        private long count;
+        // Null when there are no scores
+        private Double mean;
+        // Null below two scores
+        private Double standardDeviation;
+
+        public CriterionStatistics() {}
+
+        public CriterionStatistics(Evaluation.Criterion criterion, long count, Double mean, Double standardDeviation) {
+            this.criterion = criterion;
+            this.count = count;
+            this.mean = mean;
+            this.standardDeviation = standardDeviation;
+        }
+
+        public Evaluation.Criterion getCriterion() {
+            return criterion;
+        }
+
+        public void setCriterion(Evaluation.Criterion criterion) {
+            this.criterion = criterion;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public Double getMean() {
+            return mean;
+        }
+
+        public void setMean(Double mean) {
+            this.mean = mean;
+        }
+
+        public Double getStandardDeviation() {
+            return standardDeviation;
+        }
+
+        public void setStandardDeviation(Double standardDeviation) {
+            this.standardDeviation = standardDeviation;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.proposalmanagement.dto;
+
+/**
+ * One row of the reviewer workload leaderboard
+ */
+public class ReviewerWorkloadDTO {
+
+    private Long reviewerId;
+    private String reviewerName;
+    private long totalAssignments;
+    private long pendingAssignments;
+    private long inProgressAssignments;
+    private long completedAssignments;
+    private long overdueAssignments;
+
+    // Constructors
+    public ReviewerWorkloadDTO() {}
+
+    public ReviewerWorkloadDTO(Long reviewerId, long pending, long inProgress, long completed, long overdue) {
+        this.reviewerId = reviewerId;
+        this.pendingAssignments = pending;
+        this.inProgressAssignments = inProgress;
+        this.completedAssignments = completed;
+        this.overdueAssignments = overdue;
+        this.totalAssignments = pending + inProgress + completed + overdue;
+    }
+
+    // Assignments not yet completed
+    public long getOpenAssignments() {
+        return pendingAssignments + inProgressAssignments + overdueAssignments;
+    }
+
+    // Getters and Setters
+    public Long getReviewerId() {
+        return reviewerId;
+    }
+
+    public void setReviewerId(Long reviewerId) {
+        this.reviewerId = reviewerId;
+    }
+
+    public String getReviewerName() {
+        return reviewerName;
+    }
+
+    public void setReviewerName(String reviewerName) {
+        this.reviewerName = reviewerName;
+    }
+
+    public long getTotalAssignments() {
+        return totalAssignments;
+    }
+
+    public void setTotalAssignments(long totalAssignments) {
+        this.totalAssignments = totalAssignments;
+    }
+
+    public long getPendingAssignments() {
+        return pendingAssignments;
+    }
+
+    public void setPendingAssignments(long pendingAssignments) {
+        this.pendingAssignments = pendingAssignments;
+    }
+
+    public long getInProgressAssignments() {
+        return inProgressAssignments;
+    }
+
+    public void setInProgressAssignments(long inProgressAssignments) {
+        this.inProgressAssignments = inProgressAssignments;
+    }
+
+    public long getCompletedAssignments() {
+        return completedAssignments;
+    }
+
+    public void setCompletedAssignments(long completedAssignments) {
+        this.completedAssignments = completedAssignments;
+    }
+
+    public long getOverdueAssignments() {
+        return overdueAssignments;
+    }
+
+    public void setOverdueAssignments(long overdueAssignments) {
+        this.overdueAssignments = overdueAssignments;
+    }
+}
@@ -0,0 +1,48 @@
+package com.proposalmanagement.dto;
+
+import com.proposalmanagement.entity.Proposal;
+
+/**
+ * A workflow stage stored on proposals that the transition table does not declare. Proposals
+ * in it have no allowed transitions until the table declares it or they are migrated.
+ */
+public class UnknownWorkflowStageDTO {
+
+    private Proposal.ProjectType projectType;
+    private String stage;
+    private long proposalCount;
+
+    // Constructors
+    public UnknownWorkflowStageDTO() {}
+
+    public UnknownWorkflowStageDTO(Proposal.ProjectType projectType, String stage, long proposalCount) {
+        this.projectType = projectType;
+        this.stage = stage;
+        this.proposalCount = proposalCount;
+    }
+
+    // Getters and Setters
+    public Proposal.ProjectType getProjectType() {
+        return projectType;
+    }
+
+    public void setProjectType(Proposal.ProjectType projectType) {
+        this.projectType = projectType;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public long getProposalCount() {
+        return proposalCount;
+    }
+
+    public void setProposalCount(long proposalCount) {
+        this.proposalCount = proposalCount;
+    }
+}
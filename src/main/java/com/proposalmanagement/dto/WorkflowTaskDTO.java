@@ -0,0 +1,78 @@
+package com.proposalmanagement.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending workflow state as it appears in its assignee's task inbox
+ */
+public class WorkflowTaskDTO {
+
+    private Long workflowStateId;
+    private Long proposalId;
+    private String proposalTitle;
+    private String stage;
+    private LocalDateTime dueDate;
+    private LocalDateTime entryDate;
+
+    // Constructors
+    public WorkflowTaskDTO() {}
+
+    public WorkflowTaskDTO(Long workflowStateId, Long proposalId, String proposalTitle, String stage,
+                           LocalDateTime dueDate, LocalDateTime entryDate) {
+        this.workflowStateId = workflowStateId;
+        this.proposalId = proposalId;
+        this.proposalTitle = proposalTitle;
+        this.stage = stage;
+        this.dueDate = dueDate;
+        this.entryDate = entryDate;
+    }
+
+    // Getters and Setters
+    public Long getWorkflowStateId() {
+        return workflowStateId;
+    }
+
+    public void setWorkflowStateId(Long workflowStateId) {
+        this.workflowStateId = workflowStateId;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public String getProposalTitle() {
+        return proposalTitle;
+    }
+
+    public void setProposalTitle(String proposalTitle) {
+        this.proposalTitle = proposalTitle;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public LocalDateTime getEntryDate() {
+        return entryDate;
+    }
+
+    public void setEntryDate(LocalDateTime entryDate) {
+        this.entryDate = entryDate;
+    }
+}
@@ -1,6 +1,7 @@
 package com.proposalmanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
@@ -11,7 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_proposal_roots", columnList = "proposal_id, parent_comment_id, created_date"),
+    @Index(name = "idx_comments_thread", columnList = "thread_root_id, thread_path"),
+    @Index(name = "idx_comments_recent", columnList = "is_active, created_date, id")
+})
 public class Comment {
     
     @Id
@@ -44,9 +49,20 @@ public class Comment {
     @JoinColumn(name = "parent_comment_id")
     private Comment parentComment;
     
+    // Threads are loaded through threadPath; serializing this would walk the tree one query per node
+    @JsonIgnore
     @OneToMany(mappedBy = "parentComment", cascade = CascadeType.ALL)
     private List<Comment> replies = new ArrayList<>();
     
+    // Id of the top-level comment of this comment's thread (its own id for a top-level comment)
+    @Column(name = "thread_root_id")
+    private Long threadRootId;
+    
+    // Ids from the thread root down to this comment, each zero-padded and followed by '/', so a
+    // subtree is a prefix range and sorting by path lists every comment right after its parent
+    @Column(name = "thread_path", length = 520)
+    private String threadPath;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "comment_type", nullable = false)
     private CommentType commentType = CommentType.GENERAL;
@@ -153,6 +169,22 @@ public class Comment {
         this.replies = replies;
     }
     
+    public Long getThreadRootId() {
+        return threadRootId;
+    }
+    
+    public void setThreadRootId(Long threadRootId) {
+        this.threadRootId = threadRootId;
+    }
+    
+    public String getThreadPath() {
+        return threadPath;
+    }
+    
+    public void setThreadPath(String threadPath) {
+        this.threadPath = threadPath;
+    }
+    
     public CommentType getCommentType() {
         return commentType;
     }
@@ -58,11 +58,26 @@ public class Document {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
     
+    // Null until the cold-storage job has looked at the file; fileSize always holds the logical size
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_compression", length = 20)
+    private StorageCompression storageCompression;
+    
+    @Column(name = "stored_size")
+    private Long storedSize;
+    
+    @Column(name = "compressed_date")
+    private LocalDateTime compressedDate;
+    
     public enum DocumentType {
         PROPOSAL_DOCUMENT, BUDGET_DOCUMENT, EVALUATION_REPORT, PROJECT_REPORT, 
         TECHNICAL_DOCUMENT, ADMINISTRATIVE_DOCUMENT, SUPPORTING_DOCUMENT
     }
     
+    public enum StorageCompression {
+        NONE, GZIP
+    }
+    
     // Constructors
     public Document() {}
     
@@ -169,4 +184,28 @@ public class Document {
     public void setIsActive(Boolean isActive) {
         this.isActive = isActive;
     }
+    
+    public StorageCompression getStorageCompression() {
+        return storageCompression;
+    }
+    
+    public void setStorageCompression(StorageCompression storageCompression) {
+        this.storageCompression = storageCompression;
+    }
+    
+    public Long getStoredSize() {
+        return storedSize;
+    }
+    
+    public void setStoredSize(Long storedSize) {
+        this.storedSize = storedSize;
+    }
+    
+    public LocalDateTime getCompressedDate() {
+        return compressedDate;
+    }
+    
+    public void setCompressedDate(LocalDateTime compressedDate) {
+        this.compressedDate = compressedDate;
+    }
 }
\ No newline at end of file
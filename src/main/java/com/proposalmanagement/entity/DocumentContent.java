@@ -0,0 +1,118 @@
+package com.proposalmanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Plain text extracted from an uploaded {@link Document}.
+ * Kept in its own table so document listings never pull the (potentially large) text.
+ */
+@Entity
+@Table(name = "document_contents")
+public class DocumentContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "document_id", nullable = false, unique = true)
+    private Long documentId;
+
+    @Column(name = "extracted_text", columnDefinition = "LONGTEXT")
+    private String extractedText;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExtractionStatus status = ExtractionStatus.PENDING;
+
+    @Column(name = "character_count")
+    private Integer characterCount;
+
+    @Column(name = "truncated", nullable = false)
+    private Boolean truncated = false;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "extracted_date")
+    private LocalDateTime extractedDate;
+
+    public enum ExtractionStatus {
+        PENDING, EXTRACTED, UNSUPPORTED, FAILED
+    }
+
+    // Constructors
+    public DocumentContent() {}
+
+    public DocumentContent(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public String getExtractedText() {
+        return extractedText;
+    }
+
+    public void setExtractedText(String extractedText) {
+        this.extractedText = extractedText;
+    }
+
+    public ExtractionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExtractionStatus status) {
+        this.status = status;
+    }
+
+    public Integer getCharacterCount() {
+        return characterCount;
+    }
+
+    public void setCharacterCount(Integer characterCount) {
+        this.characterCount = characterCount;
+    }
+
+    public Boolean getTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getExtractedDate() {
+        return extractedDate;
+    }
+
+    public void setExtractedDate(LocalDateTime extractedDate) {
+        this.extractedDate = extractedDate;
+    }
+}
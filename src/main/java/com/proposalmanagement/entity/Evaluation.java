@@ -17,15 +17,15 @@ public class Evaluation {
     private Long id;
     
     @NotNull
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "proposal_id", nullable = false)
-    @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"evaluations", "documents", "budgetItems", "comments", "workflowStates", "project", "principalInvestigator"})
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"evaluations", "documents", "budgetItems", "comments", "workflowStates", "project", "principalInvestigator", "hibernateLazyInitializer", "handler"})
     private Proposal proposal;
     
     @NotNull
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reviewer_id", nullable = false)
-    @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"evaluations", "proposals", "password", "refreshToken"})
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"evaluations", "proposals", "password", "refreshToken", "hibernateLazyInitializer", "handler"})
     private User reviewer;
     
     @Column(name = "evaluation_stage", length = 100)
@@ -69,6 +69,27 @@ public class Evaluation {
         APPROVE, REJECT, MINOR_REVISIONS, MAJOR_REVISIONS
     }
     
+    // Scored criteria, in the order they appear on the evaluation form
+    public enum Criterion {
+        OVERALL, TECHNICAL, INNOVATION, FEASIBILITY, BUDGET, IMPACT;
+        
+        public BigDecimal scoreOf(Evaluation evaluation) {
+            switch (this) {
+                case OVERALL: return evaluation.getOverallScore();
+                case TECHNICAL: return evaluation.getTechnicalScore();
+                case INNOVATION: return evaluation.getInnovationScore();
+                case FEASIBILITY: return evaluation.getFeasibilityScore();
+                case BUDGET: return evaluation.getBudgetScore();
+                case IMPACT: return evaluation.getImpactScore();
+                default: throw new IllegalStateException("Unknown criterion: " + this);
+            }
+        }
+        
+        public String columnName() {
+            return name().toLowerCase() + "_score";
+        }
+    }
+    
     // Constructors
     public Evaluation() {}
     
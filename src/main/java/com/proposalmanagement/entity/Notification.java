@@ -8,7 +8,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read"),
+    @Index(name = "idx_notifications_retention", columnList = "notification_type, is_read, created_date")
+})
 public class Notification {
     
     @Id
@@ -16,9 +20,10 @@ public class Notification {
     private Long id;
     
     @NotNull
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
-    @JsonIgnoreProperties({"password", "passwordHash", "passwordResetToken", "emailVerificationToken", "twoFactorSecret"})
+    @JsonIgnoreProperties({"password", "passwordHash", "passwordResetToken", "emailVerificationToken", "twoFactorSecret",
+                           "hibernateLazyInitializer", "handler"})
     private User user;
     
     @NotNull
@@ -43,14 +48,14 @@ public class Notification {
     @Column(name = "is_email_sent", nullable = false)
     private Boolean isEmailSent = false;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "related_proposal_id")
-    @JsonIgnoreProperties({"principalInvestigator", "department", "createdBy"})
+    @JsonIgnoreProperties({"principalInvestigator", "department", "createdBy", "hibernateLazyInitializer", "handler"})
     private Proposal relatedProposal;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "related_project_id")
-    @JsonIgnoreProperties({"proposal"})
+    @JsonIgnoreProperties({"proposal", "hibernateLazyInitializer", "handler"})
     private Project relatedProject;
     
     @Column(name = "related_entity_id")
@@ -78,6 +83,10 @@ public class Notification {
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
     
+    // Set when created from the notification outbox; guards against delivering an event twice
+    @Column(name = "idempotency_key", unique = true, length = 200)
+    private String idempotencyKey;
+    
     public enum Type {
         PROPOSAL_SUBMITTED, PROPOSAL_APPROVED, PROPOSAL_REJECTED, PROPOSAL_RETURNED,
         EVALUATION_ASSIGNED, EVALUATION_COMPLETED, EVALUATION_OVERDUE, EVALUATION_RECEIVED,
@@ -250,6 +259,14 @@ public class Notification {
         this.expiresAt = expiresAt;
     }
     
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
     // Helper methods
     public boolean isExpired() {
         return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
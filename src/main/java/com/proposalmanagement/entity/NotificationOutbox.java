@@ -0,0 +1,256 @@
+package com.proposalmanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be delivered. Rows are written in the same transaction as the
+ * business change and turned into {@link Notification}s by a background dispatcher.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbox_coalesce_key", columnList = "coalesce_key, status")
+})
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Identifies the business event; a key is delivered at most once
+    @NotNull
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 200)
+    private String idempotencyKey;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @NotNull
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false)
+    private Notification.Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private Notification.Priority priority = Notification.Priority.MEDIUM;
+
+    @Column(name = "related_proposal_id")
+    private Long relatedProposalId;
+
+    @Column(name = "related_project_id")
+    private Long relatedProjectId;
+
+    @Column(name = "related_entity_id")
+    private Long relatedEntityId;
+
+    @Column(name = "related_entity_type", length = 50)
+    private String relatedEntityType;
+
+    @Column(name = "action_url", length = 500)
+    private String actionUrl;
+
+    // Pending entries sharing a key are delivered together as one digest notification
+    @Column(name = "coalesce_key", length = 200)
+    private String coalesceKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_date", updatable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "dispatched_date")
+    private LocalDateTime dispatchedDate;
+
+    public enum Status {
+        PENDING, DISPATCHED, FAILED
+    }
+
+    // Constructors
+    public NotificationOutbox() {}
+
+    public NotificationOutbox(String idempotencyKey, Long userId, String title, String message, Notification.Type type) {
+        this.idempotencyKey = idempotencyKey;
+        this.userId = userId;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Notification.Type getType() {
+        return type;
+    }
+
+    public void setType(Notification.Type type) {
+        this.type = type;
+    }
+
+    public Notification.Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Notification.Priority priority) {
+        this.priority = priority;
+    }
+
+    public Long getRelatedProposalId() {
+        return relatedProposalId;
+    }
+
+    public void setRelatedProposalId(Long relatedProposalId) {
+        this.relatedProposalId = relatedProposalId;
+    }
+
+    public Long getRelatedProjectId() {
+        return relatedProjectId;
+    }
+
+    public void setRelatedProjectId(Long relatedProjectId) {
+        this.relatedProjectId = relatedProjectId;
+    }
+
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+
+    public void setRelatedEntityId(Long relatedEntityId) {
+        this.relatedEntityId = relatedEntityId;
+    }
+
+    public String getRelatedEntityType() {
+        return relatedEntityType;
+    }
+
+    public void setRelatedEntityType(String relatedEntityType) {
+        this.relatedEntityType = relatedEntityType;
+    }
+
+    public String getActionUrl() {
+        return actionUrl;
+    }
+
+    public void setActionUrl(String actionUrl) {
+        this.actionUrl = actionUrl;
+    }
+
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+
+    public void setCoalesceKey(String coalesceKey) {
+        this.coalesceKey = coalesceKey;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public LocalDateTime getDispatchedDate() {
+        return dispatchedDate;
+    }
+
+    public void setDispatchedDate(LocalDateTime dispatchedDate) {
+        this.dispatchedDate = dispatchedDate;
+    }
+}
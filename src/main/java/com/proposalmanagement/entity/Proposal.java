@@ -70,6 +70,13 @@ public class Proposal {
     @Column(name = "project_stage")
     private String projectStage;
     
+    // Denormalized pointer to the proposal's current workflow state, maintained by WorkflowStateService
+    @Column(name = "current_workflow_state_id")
+    private Long currentWorkflowStateId;
+    
+    @Column(name = "workflow_stage", length = 100)
+    private String workflowStage;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "priority_level", nullable = false)
     private PriorityLevel priorityLevel = PriorityLevel.MEDIUM;
@@ -238,6 +245,22 @@ public class Proposal {
         this.projectStage = projectStage;
     }
     
+    public Long getCurrentWorkflowStateId() {
+        return currentWorkflowStateId;
+    }
+    
+    public void setCurrentWorkflowStateId(Long currentWorkflowStateId) {
+        this.currentWorkflowStateId = currentWorkflowStateId;
+    }
+    
+    public String getWorkflowStage() {
+        return workflowStage;
+    }
+    
+    public void setWorkflowStage(String workflowStage) {
+        this.workflowStage = workflowStage;
+    }
+    
     public PriorityLevel getPriorityLevel() {
         return priorityLevel;
     }
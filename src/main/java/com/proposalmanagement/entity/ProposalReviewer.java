@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "proposal_reviewers", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"proposal_id", "reviewer_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"proposal_id", "reviewer_id"}),
+       indexes = @Index(name = "idx_proposal_reviewers_status_due", columnList = "status, due_date"))
 public class ProposalReviewer {
     
     @Id
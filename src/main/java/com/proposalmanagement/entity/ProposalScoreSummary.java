@@ -0,0 +1,124 @@
+package com.proposalmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of evaluation scores for one proposal, criterion and finality. Means and
+ * standard deviations are derived from the count, sum and sum of squares, so reads never
+ * aggregate over the evaluations table. Rows are maintained by ProposalScoreSummaryService.
+ */
+@Entity
+@Table(name = "proposal_score_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_score_summary_bucket",
+                                             columnNames = {"proposal_id", "criterion", "is_final"}))
+public class ProposalScoreSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "proposal_id", nullable = false)
+    private Long proposalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Evaluation.Criterion criterion;
+
+    @Column(name = "is_final", nullable = false)
+    private Boolean isFinal;
+
+    // Evaluations in this bucket, whether or not they scored this criterion
+    @Column(name = "evaluation_count", nullable = false)
+    private Long evaluationCount = 0L;
+
+    @Column(name = "score_count", nullable = false)
+    private Long scoreCount = 0L;
+
+    @Column(name = "score_sum", nullable = false, precision = 19, scale = 4)
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+
+    @Column(name = "score_sum_sq", nullable = false, precision = 19, scale = 4)
+    private BigDecimal scoreSumSq = BigDecimal.ZERO;
+
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+
+    // Constructors
+    public ProposalScoreSummary() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProposalId() {
+        return proposalId;
+    }
+
+    public void setProposalId(Long proposalId) {
+        this.proposalId = proposalId;
+    }
+
+    public Evaluation.Criterion getCriterion() {
+        return criterion;
+    }
+
+    public void setCriterion(Evaluation.Criterion criterion) {
+        this.criterion = criterion;
+    }
+
+    public Boolean getIsFinal() {
+        return isFinal;
+    }
+
+    public void setIsFinal(Boolean isFinal) {
+        this.isFinal = isFinal;
+    }
+
+    public Long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    public void setEvaluationCount(Long evaluationCount) {
+        this.evaluationCount = evaluationCount;
+    }
+
+    public Long getScoreCount() {
+        return scoreCount;
+    }
+
+    public void setScoreCount(Long scoreCount) {
+        this.scoreCount = scoreCount;
+    }
+
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(BigDecimal scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public BigDecimal getScoreSumSq() {
+        return scoreSumSq;
+    }
+
+    public void setScoreSumSq(BigDecimal scoreSumSq) {
+        this.scoreSumSq = scoreSumSq;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
@@ -0,0 +1,106 @@
+package com.proposalmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running statistics of one reviewer's final scores for one criterion, kept in Welford form
+ * (count, mean and sum of squared deviations) so they can be updated one evaluation at a
+ * time without losing precision. Rows are maintained by ReviewerCalibrationService.
+ */
+@Entity
+@Table(name = "reviewer_score_statistics",
+       uniqueConstraints = @UniqueConstraint(name = "uk_reviewer_score_statistics",
+                                             columnNames = {"reviewer_id", "criterion"}))
+public class ReviewerScoreStatistics {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reviewer_id", nullable = false)
+    private Long reviewerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Evaluation.Criterion criterion;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount = 0L;
+
+    @Column(nullable = false)
+    private Double mean = 0.0;
+
+    // Sum of squared deviations from the mean
+    @Column(nullable = false)
+    private Double m2 = 0.0;
+
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+
+    // Constructors
+    public ReviewerScoreStatistics() {}
+
+    public ReviewerScoreStatistics(Long reviewerId, Evaluation.Criterion criterion) {
+        this.reviewerId = reviewerId;
+        this.criterion = criterion;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getReviewerId() {
+        return reviewerId;
+    }
+
+    public void setReviewerId(Long reviewerId) {
+        this.reviewerId = reviewerId;
+    }
+
+    public Evaluation.Criterion getCriterion() {
+        return criterion;
+    }
+
+    public void setCriterion(Evaluation.Criterion criterion) {
+        this.criterion = criterion;
+    }
+
+    public Long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getM2() {
+        return m2;
+    }
+
+    public void setM2(Double m2) {
+        this.m2 = m2;
+    }
+
+    public LocalDateTime getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(LocalDateTime updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
@@ -67,6 +67,13 @@ public class WorkflowState {
     @Column(columnDefinition = "TEXT")
     private String comments;
     
+    // Set once the due-soon warning / overdue event has fired for the current due date
+    @Column(name = "due_warning_sent_at")
+    private LocalDateTime dueWarningSentAt;
+    
+    @Column(name = "overdue_sent_at")
+    private LocalDateTime overdueSentAt;
+    
     public enum Status {
         PENDING, IN_PROGRESS, COMPLETED, SKIPPED
     }
@@ -199,4 +206,20 @@ public class WorkflowState {
     public void setComments(String comments) {
         this.comments = comments;
     }
+    
+    public LocalDateTime getDueWarningSentAt() {
+        return dueWarningSentAt;
+    }
+    
+    public void setDueWarningSentAt(LocalDateTime dueWarningSentAt) {
+        this.dueWarningSentAt = dueWarningSentAt;
+    }
+    
+    public LocalDateTime getOverdueSentAt() {
+        return overdueSentAt;
+    }
+    
+    public void setOverdueSentAt(LocalDateTime overdueSentAt) {
+        this.overdueSentAt = overdueSentAt;
+    }
 }
\ No newline at end of file
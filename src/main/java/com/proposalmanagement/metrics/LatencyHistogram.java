@@ -0,0 +1,112 @@
+package com.proposalmanagement.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size log-linear histogram of non-negative long values, in the style of HdrHistogram.
+ *
+ * Values below {@link #SUB_BUCKETS} get a bucket each; above that every power of two is split
+ * into {@link #SUB_BUCKETS} equal buckets, so a recorded value is known to within about 3% of
+ * itself whatever its magnitude. Recording is a couple of bit operations and an array
+ * increment; percentiles walk the bucket counts. Values above {@link #MAX_VALUE} are clamped.
+ * Count, sum and max are kept exactly. Not thread-safe.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // About a thousand years in seconds, which keeps the table under a thousand buckets
+    public static final long MAX_VALUE = (1L << 35) - 1;
+
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative");
+        }
+        long clamped = Math.min(value, MAX_VALUE);
+        counts[bucketIndex(clamped)]++;
+        count++;
+        sum += clamped;
+        max = Math.max(max, clamped);
+    }
+
+    /**
+     * Add all values recorded in another histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * The value below which the given percentage (0-100) of recorded values fall, reported as
+     * the midpoint of its bucket and never above the largest recorded value. 0 when empty.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double clampedPercentile = Math.min(Math.max(percentile, 0.0), 100.0);
+        long rank = Math.max(1, (long) Math.ceil(clampedPercentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = lowestValueInBucket(i);
+                long upper = lowestValueInBucket(i + 1) - 1;
+                return Math.min(lower + (upper - lower) / 2, max);
+            }
+        }
+        return max;
+    }
+
+    // Values below SUB_BUCKETS map to themselves; larger ones to SUB_BUCKETS * shift + mantissa,
+    // where the mantissa is the value's top SUB_BUCKET_BITS + 1 bits
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * shift + (int) (value >>> shift);
+    }
+
+    private static long lowestValueInBucket(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - (long) SUB_BUCKETS * shift;
+        return mantissa << shift;
+    }
+}
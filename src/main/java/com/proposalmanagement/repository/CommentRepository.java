@@ -1,17 +1,56 @@
 package com.proposalmanagement.repository;
 
+import com.proposalmanagement.dto.CommentActivityDTO;
+import com.proposalmanagement.dto.CommentNodeDTO;
+import com.proposalmanagement.dto.CommentSearchResultDTO;
 import com.proposalmanagement.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     
+    String NODE_SELECT = "SELECT new com.proposalmanagement.dto.CommentNodeDTO(c.id, c.parentComment.id, c.threadPath, " +
+            "a.id, a.firstName, a.lastName, c.content, c.commentType, c.isInternal, c.isResolved, c.createdDate, " +
+            "c.updatedDate) FROM Comment c JOIN c.author a ";
+    
+    // Keyset page of a proposal's top-level comment ids, newest first
+    @Query("SELECT c.id FROM Comment c WHERE c.proposal.id = :proposalId AND c.parentComment IS NULL AND c.isActive = true " +
+           "AND (:includeInternal = true OR c.isInternal = false) " +
+           "AND (c.createdDate < :beforeDate OR (c.createdDate = :beforeDate AND c.id < :beforeId)) " +
+           "ORDER BY c.createdDate DESC, c.id DESC")
+    List<Long> findTopLevelIdsBefore(@Param("proposalId") Long proposalId, @Param("includeInternal") boolean includeInternal,
+                                     @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
+    
+    // Every comment of the given threads, parents before their replies
+    @Query(NODE_SELECT + "WHERE c.threadRootId IN :rootIds AND c.isActive = true " +
+           "AND (:includeInternal = true OR c.isInternal = false) ORDER BY c.threadPath")
+    List<CommentNodeDTO> findThreadNodes(@Param("rootIds") Collection<Long> rootIds,
+                                         @Param("includeInternal") boolean includeInternal);
+    
+    // A comment and all its replies: a prefix range on (thread_root_id, thread_path)
+    @Query(NODE_SELECT + "WHERE c.threadRootId = :rootId AND c.threadPath LIKE :pathPrefix AND c.isActive = true " +
+           "AND (:includeInternal = true OR c.isInternal = false) ORDER BY c.threadPath")
+    List<CommentNodeDTO> findSubtreeNodes(@Param("rootId") Long rootId, @Param("pathPrefix") String pathPrefix,
+                                          @Param("includeInternal") boolean includeInternal);
+    
+    @Modifying
+    @Query("UPDATE Comment c SET c.isActive = false WHERE c.threadRootId = :rootId AND c.threadPath LIKE :pathPrefix AND c.isActive = true")
+    int deactivateSubtree(@Param("rootId") Long rootId, @Param("pathPrefix") String pathPrefix);
+    
     List<Comment> findByProposalIdAndIsActiveTrueOrderByCreatedDateDesc(Long proposalId);
     
     List<Comment> findByProjectIdAndIsActiveTrueOrderByCreatedDateDesc(Long projectId);
@@ -58,8 +97,21 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.proposal.id = :proposalId AND c.isResolved = false AND c.commentType IN ('ISSUE', 'QUESTION') AND c.isActive = true")
     List<Comment> findUnresolvedIssuesAndQuestionsByProposal(@Param("proposalId") Long proposalId);
     
-    @Query("SELECT c FROM Comment c WHERE c.content LIKE %:keyword% AND c.isActive = true ORDER BY c.createdDate DESC")
-    List<Comment> searchByKeyword(@Param("keyword") String keyword);
+    // Streams [id, content, isInternal, isResolved] of every active comment for rebuilding the search index
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    @Query("SELECT c.id, c.content, c.isInternal, c.isResolved FROM Comment c WHERE c.isActive = true")
+    Stream<Object[]> streamIndexableComments();
+    
+    @Query("SELECT c.id FROM Comment c WHERE c.threadRootId = :rootId AND c.threadPath LIKE :pathPrefix AND c.isActive = true")
+    List<Long> findActiveSubtreeIds(@Param("rootId") Long rootId, @Param("pathPrefix") String pathPrefix);
+    
+    // Search hits with their proposal; proposal fields are null for project and evaluation comments
+    @Query("SELECT new com.proposalmanagement.dto.CommentSearchResultDTO(c.id, p.id, p.title, p.status, c.project.id, " +
+           "c.evaluation.id, c.parentComment.id, a.id, a.firstName, a.lastName, c.content, c.commentType, c.isInternal, " +
+           "c.isResolved, c.createdDate) FROM Comment c JOIN c.author a LEFT JOIN c.proposal p " +
+           "WHERE c.id IN :ids AND c.isActive = true AND (:includeInternal = true OR c.isInternal = false)")
+    List<CommentSearchResultDTO> findSearchResultsByIds(@Param("ids") Collection<Long> ids,
+                                                        @Param("includeInternal") boolean includeInternal);
     
     // Additional methods required by CommentService
     @Query("SELECT c FROM Comment c WHERE c.commentType = :commentType AND c.isActive = true ORDER BY c.createdDate DESC")
@@ -86,8 +138,24 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.author.id = :authorId AND c.isActive = true")
     Long countByAuthorIdAndIsActiveTrue(@Param("authorId") Long authorId);
     
-    @Query("SELECT c FROM Comment c WHERE c.isActive = true ORDER BY c.createdDate DESC")
-    List<Comment> findRecentComments(@Param("limit") int limit);
+    @Query("SELECT c FROM Comment c WHERE c.isActive = true ORDER BY c.createdDate DESC, c.id DESC")
+    List<Comment> findRecentComments(Pageable pageable);
+    
+    // Keyset page of the recent activity feed over (created_date, id); null filters match everything
+    @Query("SELECT new com.proposalmanagement.dto.CommentActivityDTO(c.id, c.proposal.id, c.project.id, c.evaluation.id, " +
+           "c.parentComment.id, a.id, a.firstName, a.lastName, c.content, c.commentType, c.isInternal, c.isResolved, " +
+           "c.createdDate) FROM Comment c JOIN c.author a WHERE c.isActive = true " +
+           "AND (:commentType IS NULL OR c.commentType = :commentType) " +
+           "AND (:isInternal IS NULL OR c.isInternal = :isInternal) " +
+           "AND (:isResolved IS NULL OR c.isResolved = :isResolved) " +
+           "AND (c.createdDate < :beforeDate OR (c.createdDate = :beforeDate AND c.id < :beforeId)) " +
+           "ORDER BY c.createdDate DESC, c.id DESC")
+    List<CommentActivityDTO> findRecentActivityBefore(@Param("commentType") Comment.CommentType commentType,
+                                                      @Param("isInternal") Boolean isInternal,
+                                                      @Param("isResolved") Boolean isResolved,
+                                                      @Param("beforeDate") LocalDateTime beforeDate,
+                                                      @Param("beforeId") Long beforeId,
+                                                      Pageable pageable);
     
     @Query("SELECT c FROM Comment c WHERE c.createdDate BETWEEN :startDate AND :endDate AND c.isActive = true ORDER BY c.createdDate DESC")
     List<Comment> findByCreatedDateBetweenAndIsActiveTrueOrderByCreatedDateDesc(@Param("startDate") java.time.LocalDateTime startDate, @Param("endDate") java.time.LocalDateTime endDate);
@@ -0,0 +1,38 @@
+package com.proposalmanagement.repository;
+
+import com.proposalmanagement.entity.DocumentContent;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, Long> {
+
+    Optional<DocumentContent> findByDocumentId(Long documentId);
+
+    List<DocumentContent> findByDocumentIdIn(Collection<Long> documentIds);
+
+    // Streams [documentId, fileName, description, extractedText] for rebuilding the search index
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+    @Query("SELECT c.documentId, d.fileName, d.description, c.extractedText FROM DocumentContent c, Document d " +
+           "WHERE d.id = c.documentId AND c.status = 'EXTRACTED'")
+    Stream<Object[]> streamExtractedContent();
+
+    // Documents uploaded but never extracted (e.g. queue was full or the server restarted)
+    @Query("SELECT d.id FROM Document d WHERE d.isActive = true AND NOT EXISTS " +
+           "(SELECT c.id FROM DocumentContent c WHERE c.documentId = d.id) ORDER BY d.id")
+    List<Long> findDocumentIdsWithoutContent();
+
+    @Modifying
+    @Query("DELETE FROM DocumentContent c WHERE c.documentId = :documentId")
+    void deleteByDocumentId(@Param("documentId") Long documentId);
+}
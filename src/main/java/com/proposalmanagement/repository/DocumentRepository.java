@@ -4,11 +4,14 @@ import com.proposalmanagement.entity.Document;
 import com.proposalmanagement.entity.Project;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -42,6 +45,20 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
            "LOWER(d.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Document> searchByFileNameOrDescription(@Param("keyword") String keyword);
     
+    @Query("SELECT d.id FROM Document d WHERE d.isActive = false")
+    List<Long> findInactiveDocumentIds();
+    
+    @Query("SELECT d.id FROM Document d WHERE d.id IN :ids AND d.isActive = true")
+    List<Long> findActiveIdsIn(@Param("ids") Collection<Long> ids);
+    
+    // Documents of proposals that have been closed since before the cutoff and not yet considered for compression
+    @Query("SELECT d.id FROM Document d WHERE d.id > :afterId AND d.storageCompression IS NULL " +
+           "AND d.proposal.status IN :statuses AND d.proposal.lastModified < :cutoff ORDER BY d.id")
+    List<Long> findCompressionCandidateIds(@Param("afterId") Long afterId,
+                                           @Param("statuses") Collection<Proposal.Status> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff,
+                                           Pageable pageable);
+    
     @Query("SELECT COUNT(d) FROM Document d WHERE d.proposal.id = :proposalId AND d.isActive = true")
     Long countActiveDocumentsByProposalId(@Param("proposalId") Long proposalId);
     
@@ -1,65 +1,80 @@
 package com.proposalmanagement.repository;
 
+import com.proposalmanagement.dto.EvaluationDTO;
 import com.proposalmanagement.entity.Evaluation;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
     
+    // Evaluation list rows with proposal title and reviewer name joined in, newest first
+    String DTO_SELECT = "SELECT new com.proposalmanagement.dto.EvaluationDTO(e.id, p.id, p.title, r.id, " +
+            "r.firstName, r.lastName, e.evaluationStage, e.overallScore, e.technicalScore, e.innovationScore, " +
+            "e.feasibilityScore, e.budgetScore, e.impactScore, e.comments, e.recommendation, e.isFinal, " +
+            "e.conflictOfInterest, e.evaluationDate) FROM Evaluation e JOIN e.proposal p JOIN e.reviewer r ";
+    String DTO_ORDER = " ORDER BY e.evaluationDate DESC, e.id DESC";
+    
     List<Evaluation> findByProposal(Proposal proposal);
     
+    @EntityGraph(attributePaths = {"proposal", "reviewer"})
     List<Evaluation> findByProposalId(Long proposalId);
     
     List<Evaluation> findByReviewer(User reviewer);
     
-    List<Evaluation> findByReviewerId(Long reviewerId);
-    
+    @EntityGraph(attributePaths = {"proposal", "reviewer"})
     Optional<Evaluation> findByProposalIdAndReviewerId(Long proposalId, Long reviewerId);
     
-    List<Evaluation> findByRecommendation(Evaluation.Recommendation recommendation);
-    
-    List<Evaluation> findByIsFinalTrue();
-    
-    List<Evaluation> findByConflictOfInterestTrue();
-    
+    @EntityGraph(attributePaths = {"proposal", "reviewer"})
     @Query("SELECT e FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
     List<Evaluation> findFinalEvaluationsByProposalId(@Param("proposalId") Long proposalId);
     
-    @Query("SELECT AVG(e.overallScore) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    BigDecimal getAverageOverallScoreByProposalId(@Param("proposalId") Long proposalId);
+    @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.proposal.id = :proposalId")
+    Long countByProposalId(@Param("proposalId") Long proposalId);
+    
+    @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
+    Long countFinalEvaluationsByProposalId(@Param("proposalId") Long proposalId);
     
-    @Query("SELECT AVG(e.technicalScore) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    BigDecimal getAverageTechnicalScoreByProposalId(@Param("proposalId") Long proposalId);
+    @Query("SELECT DISTINCT e.proposal.id FROM Evaluation e WHERE e.reviewer.id = :reviewerId")
+    List<Long> findProposalIdsByReviewerId(@Param("reviewerId") Long reviewerId);
     
-    @Query("SELECT AVG(e.innovationScore) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    BigDecimal getAverageInnovationScoreByProposalId(@Param("proposalId") Long proposalId);
+    @Query("SELECT e.reviewer.id, e.overallScore FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
+    List<Object[]> findFinalOverallScoresByProposalId(@Param("proposalId") Long proposalId);
     
-    @Query("SELECT AVG(e.feasibilityScore) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    BigDecimal getAverageFeasibilityScoreByProposalId(@Param("proposalId") Long proposalId);
+    @Query(value = DTO_SELECT + DTO_ORDER,
+           countQuery = "SELECT COUNT(e) FROM Evaluation e")
+    Page<EvaluationDTO> findAllAsDTO(Pageable pageable);
     
-    @Query("SELECT AVG(e.budgetScore) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    BigDecimal getAverageBudgetScoreByProposalId(@Param("proposalId") Long proposalId);
+    @Query(value = DTO_SELECT + "WHERE r.id = :reviewerId" + DTO_ORDER,
+           countQuery = "SELECT COUNT(e) FROM Evaluation e WHERE e.reviewer.id = :reviewerId")
+    Page<EvaluationDTO> findDTOsByReviewerId(@Param("reviewerId") Long reviewerId, Pageable pageable);
     
-    @Query("SELECT AVG(e.impactScore) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    BigDecimal getAverageImpactScoreByProposalId(@Param("proposalId") Long proposalId);
+    @Query(value = DTO_SELECT + "WHERE r.id = :reviewerId AND e.isFinal = false" + DTO_ORDER,
+           countQuery = "SELECT COUNT(e) FROM Evaluation e WHERE e.reviewer.id = :reviewerId AND e.isFinal = false")
+    Page<EvaluationDTO> findPendingDTOsByReviewerId(@Param("reviewerId") Long reviewerId, Pageable pageable);
     
-    @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.proposal.id = :proposalId")
-    Long countByProposalId(@Param("proposalId") Long proposalId);
+    @Query(value = DTO_SELECT + "WHERE e.recommendation = :recommendation" + DTO_ORDER,
+           countQuery = "SELECT COUNT(e) FROM Evaluation e WHERE e.recommendation = :recommendation")
+    Page<EvaluationDTO> findDTOsByRecommendation(@Param("recommendation") Evaluation.Recommendation recommendation,
+                                                 Pageable pageable);
     
-    @Query("SELECT COUNT(e) FROM Evaluation e WHERE e.proposal.id = :proposalId AND e.isFinal = true")
-    Long countFinalEvaluationsByProposalId(@Param("proposalId") Long proposalId);
+    @Query(value = DTO_SELECT + "WHERE e.isFinal = true" + DTO_ORDER,
+           countQuery = "SELECT COUNT(e) FROM Evaluation e WHERE e.isFinal = true")
+    Page<EvaluationDTO> findFinalDTOs(Pageable pageable);
     
-    @Query("SELECT e FROM Evaluation e WHERE e.reviewer.id = :reviewerId AND e.isFinal = false")
-    List<Evaluation> findPendingEvaluationsByReviewerId(@Param("reviewerId") Long reviewerId);
+    @Query(value = DTO_SELECT + "WHERE e.conflictOfInterest = true" + DTO_ORDER,
+           countQuery = "SELECT COUNT(e) FROM Evaluation e WHERE e.conflictOfInterest = true")
+    Page<EvaluationDTO> findConflictOfInterestDTOs(Pageable pageable);
     
     // Delete methods for cascade deletion
     void deleteByProposalId(Long proposalId);
@@ -0,0 +1,26 @@
+package com.proposalmanagement.repository;
+
+import com.proposalmanagement.entity.NotificationArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Long> {
+
+    // Copies live notifications into the archive in one statement; the caller deletes the originals
+    @Modifying
+    @Query(value = "INSERT INTO notifications_archive (id, user_id, title, message, notification_type, priority, " +
+                   "is_read, related_proposal_id, related_project_id, related_entity_id, related_entity_type, " +
+                   "action_url, created_date, read_date, archived_date) " +
+                   "SELECT n.id, n.user_id, n.title, n.message, n.notification_type, n.priority, n.is_read, " +
+                   "n.related_proposal_id, n.related_project_id, n.related_entity_id, n.related_entity_type, " +
+                   "n.action_url, n.created_date, n.read_date, CURRENT_TIMESTAMP " +
+                   "FROM notifications n WHERE n.id IN (:ids)",
+           nativeQuery = true)
+    int archiveByIds(@Param("ids") Collection<Long> ids);
+}
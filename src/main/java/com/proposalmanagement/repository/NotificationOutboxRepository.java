@@ -0,0 +1,37 @@
+package com.proposalmanagement.repository;
+
+import com.proposalmanagement.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    @Query("SELECT o.idempotencyKey FROM NotificationOutbox o WHERE o.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    @Query("SELECT o.id FROM NotificationOutbox o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now " +
+           "ORDER BY o.nextAttemptAt, o.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.coalesceKey = :coalesceKey AND o.status = 'PENDING' " +
+           "ORDER BY o.id")
+    List<NotificationOutbox> findPendingByCoalesceKey(@Param("coalesceKey") String coalesceKey, Pageable pageable);
+
+    @Query("SELECT COUNT(o) FROM NotificationOutbox o WHERE o.status = :status")
+    Long countByStatus(@Param("status") NotificationOutbox.Status status);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = 'DISPATCHED' AND o.dispatchedDate < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
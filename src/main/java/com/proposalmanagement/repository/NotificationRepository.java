@@ -1,12 +1,18 @@
 package com.proposalmanagement.repository;
 
+import com.proposalmanagement.dto.NotificationSummaryDTO;
 import com.proposalmanagement.entity.Notification;
 import com.proposalmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,21 +26,76 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     List<Notification> findByType(Notification.Type type);
     
+    boolean existsByIdempotencyKey(String idempotencyKey);
+    
+    // Relations are LAZY; these full-entity listings are serialized with them, so fetch them in the same query
+    @EntityGraph(attributePaths = {"user", "relatedProposal", "relatedProject"})
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdDate DESC")
     List<Notification> findByUserIdOrderByCreatedDateDesc(@Param("userId") Long userId);
     
+    @EntityGraph(attributePaths = {"user", "relatedProposal", "relatedProject"})
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdDate DESC")
     List<Notification> findUnreadByUserIdOrderByCreatedDateDesc(@Param("userId") Long userId);
     
+    // Maps a broadcast's idempotency keys back to (id, userId) after a JDBC batch insert; a range on the unique key
+    @Query("SELECT n.id, n.user.id FROM Notification n WHERE n.idempotencyKey LIKE :keyPrefix")
+    List<Object[]> findIdsAndUserIdsByIdempotencyKeyPrefix(@Param("keyPrefix") String keyPrefix);
+    
+    // Inbox read model: one query, no entities, keyset-paged on id (newest first)
+    @Query("SELECT new com.proposalmanagement.dto.NotificationSummaryDTO(" +
+           "n.id, n.title, n.message, n.type, n.priority, n.isRead, p.id, p.title, pr.id, pr.projectNumber, " +
+           "n.actionUrl, n.createdDate) " +
+           "FROM Notification n LEFT JOIN n.relatedProposal p LEFT JOIN n.relatedProject pr " +
+           "WHERE n.user.id = :userId AND (:beforeId IS NULL OR n.id < :beforeId) " +
+           "AND (:unreadOnly = false OR n.isRead = false) " +
+           "ORDER BY n.id DESC")
+    List<NotificationSummaryDTO> findInboxPage(@Param("userId") Long userId,
+                                               @Param("beforeId") Long beforeId,
+                                               @Param("unreadOnly") boolean unreadOnly,
+                                               Pageable pageable);
+    
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
     Long countUnreadByUserId(@Param("userId") Long userId);
     
+    // [userId, unreadCount] for reconciling the in-memory unread counters
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.isRead = false AND n.user.id IN :userIds GROUP BY n.user.id")
+    List<Object[]> countUnreadGroupedByUserIds(@Param("userIds") Collection<Long> userIds);
+    
     @Query("SELECT n FROM Notification n WHERE n.relatedProposal.id = :proposalId")
     List<Notification> findByRelatedProposalId(@Param("proposalId") Long proposalId);
     
     @Query("SELECT n FROM Notification n WHERE n.relatedProject.id = :projectId")
     List<Notification> findByRelatedProjectId(@Param("projectId") Long projectId);
     
+    // Id-only selects used to drive chunked bulk updates and deletes
+    @Query("SELECT n.id FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.id")
+    List<Long> findUnreadIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT n.id FROM Notification n WHERE n.user.id = :userId AND n.isRead = true ORDER BY n.id")
+    List<Long> findReadIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT n.id FROM Notification n WHERE n.createdDate < :cutoff " +
+           "AND (:includeUnread = true OR n.isRead = true) ORDER BY n.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff,
+                                    @Param("includeUnread") boolean includeUnread,
+                                    Pageable pageable);
+    
+    // Retention scan, served by idx_notifications_retention
+    @Query("SELECT n.id FROM Notification n WHERE n.type = :type AND n.isRead = :isRead " +
+           "AND n.createdDate < :cutoff ORDER BY n.createdDate, n.id")
+    List<Long> findRetentionCandidateIds(@Param("type") Notification.Type type,
+                                         @Param("isRead") boolean isRead,
+                                         @Param("cutoff") LocalDateTime cutoff,
+                                         Pageable pageable);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readDate = :readDate WHERE n.id IN :ids AND n.isRead = false")
+    int markAsReadByIds(@Param("ids") Collection<Long> ids, @Param("readDate") LocalDateTime readDate);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
     // Delete methods for cascade deletion
     void deleteByRelatedProposalId(Long proposalId);
     
@@ -2,13 +2,17 @@ package com.proposalmanagement.repository;
 
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProposalRepository extends JpaRepository<Proposal, Long> {
@@ -54,4 +58,12 @@ public interface ProposalRepository extends JpaRepository<Proposal, Long> {
     // Department-related queries
     @Query("SELECT COUNT(p) FROM Proposal p WHERE p.departmentId = :departmentId AND p.status IN ('SUBMITTED', 'UNDER_REVIEW', 'APPROVED')")
     Long countActiveProposalsByDepartmentId(@Param("departmentId") Long departmentId);
-}
\ No newline at end of file
+    
+    @Query("SELECT p.id, p.title FROM Proposal p WHERE p.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+    
+    // Serializes workflow transitions of one proposal
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Proposal p WHERE p.id = :id")
+    Optional<Proposal> findByIdForUpdate(@Param("id") Long id);
+}
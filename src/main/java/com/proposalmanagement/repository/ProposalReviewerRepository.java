@@ -3,12 +3,14 @@ package com.proposalmanagement.repository;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.ProposalReviewer;
 import com.proposalmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,8 +43,9 @@ public interface ProposalReviewerRepository extends JpaRepository<ProposalReview
     
     List<ProposalReviewer> findByAssignedById(Long assignedById);
     
-    // Find overdue assignments
-    @Query("SELECT pr FROM ProposalReviewer pr WHERE pr.dueDate < :currentDate AND pr.status != 'COMPLETED'")
+    // Find overdue assignments; status IN keeps the (status, due_date) index usable
+    @Query("SELECT pr FROM ProposalReviewer pr WHERE pr.status IN ('PENDING', 'IN_PROGRESS', 'OVERDUE') " +
+           "AND pr.dueDate < :currentDate")
     List<ProposalReviewer> findOverdueAssignments(@Param("currentDate") LocalDateTime currentDate);
     
     // Find pending assignments for a reviewer
@@ -59,9 +62,43 @@ public interface ProposalReviewerRepository extends JpaRepository<ProposalReview
     // Count pending assignments for a reviewer
     Long countByReviewerIdAndStatus(Long reviewerId, ProposalReviewer.AssignmentStatus status);
     
+    // Assignment counts for every reviewer and status in one pass
+    @Query("SELECT pr.reviewer.id, pr.status, COUNT(pr) FROM ProposalReviewer pr GROUP BY pr.reviewer.id, pr.status")
+    List<Object[]> countGroupedByReviewerAndStatus();
+    
+    // Open (not completed) assignments per reviewer, for workload balancing
+    @Query("SELECT pr.reviewer.id, COUNT(pr) FROM ProposalReviewer pr WHERE pr.status <> 'COMPLETED' " +
+           "GROUP BY pr.reviewer.id")
+    List<Object[]> countOpenAssignmentsGroupedByReviewer();
+    
     // Check if assignment already exists
     boolean existsByProposalIdAndReviewerId(Long proposalId, Long reviewerId);
     
+    // Existing (proposalId, reviewerId) pairs among the given proposals and reviewers, in one query
+    @Query("SELECT pr.proposal.id, pr.reviewer.id FROM ProposalReviewer pr " +
+           "WHERE pr.proposal.id IN :proposalIds AND pr.reviewer.id IN :reviewerIds")
+    List<Object[]> findAssignedPairs(@Param("proposalIds") Collection<Long> proposalIds,
+                                     @Param("reviewerIds") Collection<Long> reviewerIds);
+    
+    // Assignments with proposal, reviewer and assigner fetched, for building DTOs without extra selects
+    @Query("SELECT pr FROM ProposalReviewer pr JOIN FETCH pr.proposal JOIN FETCH pr.reviewer JOIN FETCH pr.assignedBy " +
+           "WHERE pr.proposal.id IN :proposalIds AND pr.reviewer.id IN :reviewerIds")
+    List<ProposalReviewer> findWithDetailsByProposalIdsAndReviewerIds(@Param("proposalIds") Collection<Long> proposalIds,
+                                                                      @Param("reviewerIds") Collection<Long> reviewerIds);
+    
+    // Overdue scan page for one status, keyset-paged on (dueDate, id) so it walks the (status, due_date) index.
+    // Returns assignment id, due date, reviewer id, assigner id, proposal id and proposal title.
+    @Query("SELECT pr.id, pr.dueDate, pr.reviewer.id, pr.assignedBy.id, p.id, p.title " +
+           "FROM ProposalReviewer pr JOIN pr.proposal p " +
+           "WHERE pr.status = :status AND pr.dueDate < :now " +
+           "AND (pr.dueDate > :afterDueDate OR (pr.dueDate = :afterDueDate AND pr.id > :afterId)) " +
+           "ORDER BY pr.dueDate, pr.id")
+    List<Object[]> findOverduePage(@Param("status") ProposalReviewer.AssignmentStatus status,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("afterDueDate") LocalDateTime afterDueDate,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
     // Find assignments with due date in range
     @Query("SELECT pr FROM ProposalReviewer pr WHERE pr.dueDate BETWEEN :startDate AND :endDate")
     List<ProposalReviewer> findByDueDateBetween(
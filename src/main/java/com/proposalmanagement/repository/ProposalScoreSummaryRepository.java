@@ -0,0 +1,21 @@
+package com.proposalmanagement.repository;
+
+import com.proposalmanagement.entity.ProposalScoreSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProposalScoreSummaryRepository extends JpaRepository<ProposalScoreSummary, Long> {
+
+    List<ProposalScoreSummary> findByProposalId(Long proposalId);
+
+    @Modifying
+    @Query("DELETE FROM ProposalScoreSummary s WHERE s.proposalId IN :proposalIds")
+    int deleteByProposalIds(@Param("proposalIds") Collection<Long> proposalIds);
+}
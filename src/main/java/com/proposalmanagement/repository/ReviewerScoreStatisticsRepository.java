@@ -0,0 +1,33 @@
+package com.proposalmanagement.repository;
+
+import com.proposalmanagement.entity.Evaluation;
+import com.proposalmanagement.entity.ReviewerScoreStatistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewerScoreStatisticsRepository extends JpaRepository<ReviewerScoreStatistics, Long> {
+
+    List<ReviewerScoreStatistics> findByReviewerId(Long reviewerId);
+
+    // Serializes concurrent updates of one reviewer's statistics
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReviewerScoreStatistics s WHERE s.reviewerId = :reviewerId")
+    List<ReviewerScoreStatistics> findByReviewerIdForUpdate(@Param("reviewerId") Long reviewerId);
+
+    @Query("SELECT s FROM ReviewerScoreStatistics s WHERE s.reviewerId IN :reviewerIds AND s.criterion = :criterion")
+    List<ReviewerScoreStatistics> findByReviewerIdsAndCriterion(@Param("reviewerIds") Collection<Long> reviewerIds,
+                                                                @Param("criterion") Evaluation.Criterion criterion);
+
+    @Modifying
+    @Query("DELETE FROM ReviewerScoreStatistics s WHERE s.reviewerId = :reviewerId")
+    int deleteByReviewerId(@Param("reviewerId") Long reviewerId);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.department.name = :departmentName AND u.isActive = true")
     List<User> findActiveUsersByDepartment(@Param("departmentName") String departmentName);
     
+    // Id-only lookups for notification fan-out; no User entities are loaded
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.isActive = true")
+    List<Long> findActiveIdsByRole(@Param("role") User.Role role);
+    
+    @Query("SELECT u.id FROM User u WHERE u.department.id = :departmentId AND u.isActive = true")
+    List<Long> findActiveIdsByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isActive = true")
+    List<Long> findActiveIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.id, u.firstName, u.lastName FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT u FROM User u WHERE " +
            "(LOWER(u.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -1,5 +1,6 @@
 package com.proposalmanagement.repository;
 
+import com.proposalmanagement.dto.WorkflowTaskDTO;
 import com.proposalmanagement.entity.WorkflowState;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -18,9 +19,6 @@ public interface WorkflowStateRepository extends JpaRepository<WorkflowState, Lo
     @Query("SELECT ws FROM WorkflowState ws WHERE ws.proposal.id = :proposalId AND ws.isActive = true ORDER BY ws.entryDate DESC")
     List<WorkflowState> findActiveByProposalId(@Param("proposalId") Long proposalId);
     
-    @Query("SELECT ws FROM WorkflowState ws WHERE ws.proposal.id = :proposalId AND ws.isActive = true ORDER BY ws.entryDate DESC LIMIT 1")
-    Optional<WorkflowState> findCurrentStateByProposal(@Param("proposalId") Long proposalId);
-    
     List<WorkflowState> findByStageAndStatusOrderByEntryDateDesc(String stage, WorkflowState.Status status);
     
     @Query("SELECT ws FROM WorkflowState ws WHERE ws.assignedTo.id = :userId AND ws.status = :status AND ws.isActive = true ORDER BY ws.entryDate ASC")
@@ -29,6 +27,12 @@ public interface WorkflowStateRepository extends JpaRepository<WorkflowState, Lo
     @Query("SELECT ws FROM WorkflowState ws WHERE ws.assignedTo.id = :userId AND ws.status = 'PENDING' AND ws.isActive = true ORDER BY ws.entryDate ASC")
     List<WorkflowState> findPendingTasksByUser(@Param("userId") Long userId);
     
+    // Warms a user's task inbox; the inbox keeps its own due-date order
+    @Query("SELECT new com.proposalmanagement.dto.WorkflowTaskDTO(ws.id, p.id, p.title, COALESCE(ws.stage, ws.stageName), " +
+           "ws.dueDate, ws.entryDate) FROM WorkflowState ws JOIN ws.proposal p " +
+           "WHERE ws.assignedTo.id = :userId AND ws.status = 'PENDING' AND ws.isActive = true")
+    List<WorkflowTaskDTO> findPendingTaskDTOsByUser(@Param("userId") Long userId);
+    
     @Query("SELECT ws FROM WorkflowState ws WHERE ws.dueDate < :currentDateTime AND ws.status = 'PENDING' AND ws.isActive = true")
     List<WorkflowState> findOverdueTasks(@Param("currentDateTime") LocalDateTime currentDateTime);
     
@@ -45,7 +49,4 @@ public interface WorkflowStateRepository extends JpaRepository<WorkflowState, Lo
     List<WorkflowState> findByProposalIdAndStage(@Param("proposalId") Long proposalId, @Param("stage") String stage);
     
     Optional<WorkflowState> findByIdAndIsActiveTrue(Long id);
-    
-    @Query("SELECT AVG(TIMESTAMPDIFF(HOUR, ws.entryDate, ws.completedDate)) FROM WorkflowState ws WHERE ws.stage = :stage AND ws.status = 'COMPLETED' AND ws.completedDate IS NOT NULL")
-    Double getAverageCompletionTimeHoursByStage(@Param("stage") String stage);
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.proposalmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Keeps the best {@code capacity} entries by score, keyed by entity id.
+ *
+ * The weakest kept entry sits at the head of a min-heap, so an offer that does not make the
+ * cut is rejected in constant time and one that does replaces it in O(log k). Entries can be
+ * re-scored or removed individually. Once anything has been rejected or evicted the structure
+ * is {@link #isTruncated() truncated}: removing or lowering a kept entry may then leave it
+ * short of an entry it never saw, and the caller has to reload it from the source.
+ */
+public class BoundedTopK {
+
+    /**
+     * Best first: higher score, then more supporting samples, then lower id
+     */
+    public static final Comparator<Entry> BEST_FIRST = Comparator
+            .comparingDouble(Entry::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::getWeight).reversed())
+            .thenComparingLong(Entry::getId);
+
+    private final int capacity;
+    private final PriorityQueue<Entry> heap;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private boolean truncated;
+
+    public BoundedTopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity, BEST_FIRST.reversed());
+    }
+
+    /**
+     * Insert or re-score an entry. Returns false when it did not make the top k.
+     */
+    public boolean offer(Entry entry) {
+        return offer(entry, null);
+    }
+
+    /**
+     * Insert or re-score an entry, passing the id of any entry it pushes out to {@code evicted}
+     */
+    public synchronized boolean offer(Entry entry, LongConsumer evicted) {
+        Entry previous = entries.remove(entry.getId());
+        if (previous != null) {
+            heap.remove(previous);
+        }
+        if (heap.size() >= capacity) {
+            if (BEST_FIRST.compare(entry, heap.peek()) >= 0) {
+                truncated = true;
+                return false;
+            }
+            long evictedId = heap.poll().getId();
+            entries.remove(evictedId);
+            truncated = true;
+            if (evicted != null) {
+                evicted.accept(evictedId);
+            }
+        }
+        heap.add(entry);
+        entries.put(entry.getId(), entry);
+        return true;
+    }
+
+    /**
+     * Offer every entry of another instance, e.g. one built over a partition of the data
+     */
+    public void addAll(BoundedTopK other) {
+        List<Entry> otherEntries;
+        boolean otherTruncated;
+        synchronized (other) {
+            otherEntries = new ArrayList<>(other.heap);
+            otherTruncated = other.truncated;
+        }
+        synchronized (this) {
+            for (Entry entry : otherEntries) {
+                offer(entry);
+            }
+            truncated |= otherTruncated;
+        }
+    }
+
+    public synchronized boolean remove(long id) {
+        Entry previous = entries.remove(id);
+        return previous != null && heap.remove(previous);
+    }
+
+    public synchronized boolean contains(long id) {
+        return entries.containsKey(id);
+    }
+
+    public synchronized Entry get(long id) {
+        return entries.get(id);
+    }
+
+    public synchronized int size() {
+        return heap.size();
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * The kept entries, best first
+     */
+    public synchronized List<Entry> sorted() {
+        List<Entry> sorted = new ArrayList<>(heap);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    public static final class Entry {
+        private final long id;
+        private final double score;
+        private final long weight;
+
+        public Entry(long id, double score, long weight) {
+            this.id = id;
+            this.score = score;
+            this.weight = weight;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        // Tie-breaker for equal scores, e.g. the number of samples behind the score
+        public long getWeight() {
+            return weight;
+        }
+    }
+}
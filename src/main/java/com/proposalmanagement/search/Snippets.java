@@ -0,0 +1,55 @@
+package com.proposalmanagement.search;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds short excerpts of indexed text around the first matching query term.
+ */
+public final class Snippets {
+
+    private static final int DEFAULT_RADIUS = 80;
+
+    private Snippets() {}
+
+    public static String build(String text, String query) {
+        return build(text, query, DEFAULT_RADIUS);
+    }
+
+    public static String build(String text, String query, int radius) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        int matchIndex = -1;
+        List<String> terms = TextTokenizer.tokenize(query);
+        for (String term : terms) {
+            int index = lowerText.indexOf(term);
+            if (index >= 0 && (matchIndex < 0 || index < matchIndex)) {
+                matchIndex = index;
+            }
+        }
+
+        if (matchIndex < 0) {
+            String head = text.substring(0, Math.min(text.length(), radius * 2));
+            return collapseWhitespace(head) + (text.length() > head.length() ? "..." : "");
+        }
+
+        int start = Math.max(0, matchIndex - radius);
+        int end = Math.min(text.length(), matchIndex + radius);
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append("...");
+        }
+        snippet.append(collapseWhitespace(text.substring(start, end)));
+        if (end < text.length()) {
+            snippet.append("...");
+        }
+        return snippet.toString();
+    }
+
+    private static String collapseWhitespace(String value) {
+        return value.replaceAll("\\s+", " ").trim();
+    }
+}
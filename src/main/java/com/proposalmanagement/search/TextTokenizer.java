@@ -0,0 +1,61 @@
+package com.proposalmanagement.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free text into lower-cased search terms.
+ * Terms are runs of letters or digits; very short tokens and common English
+ * stop words are dropped so they do not bloat the posting lists.
+ */
+public final class TextTokenizer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have",
+            "in", "into", "is", "it", "its", "not", "of", "on", "or", "that", "the", "their",
+            "this", "to", "was", "were", "which", "will", "with"
+    );
+
+    private TextTokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                addTerm(terms, current);
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            addTerm(terms, current);
+        }
+        return terms;
+    }
+
+    public static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder current) {
+        if (current.length() < MIN_TERM_LENGTH || current.length() > MAX_TERM_LENGTH) {
+            return;
+        }
+        String term = current.toString();
+        if (!STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.proposalmanagement.security;
+
+import com.proposalmanagement.entity.Document;
+import com.proposalmanagement.entity.Proposal;
+import com.proposalmanagement.entity.User;
+import com.proposalmanagement.repository.DocumentRepository;
+import com.proposalmanagement.repository.ProposalReviewerRepository;
+import com.proposalmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Component("documentSecurity")
+public class DocumentSecurity {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ProposalReviewerRepository proposalReviewerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getPrincipal() == null) {
+            return null;
+        }
+
+        String username;
+        if (auth.getPrincipal() instanceof UserDetails) {
+            username = ((UserDetails) auth.getPrincipal()).getUsername();
+        } else {
+            username = auth.getPrincipal().toString();
+        }
+
+        return userRepository.findByUsername(username).orElse(null);
+    }
+
+    /**
+     * Whether the current user may read the document's file: its uploader, the principal
+     * investigator of its proposal, a reviewer assigned to that proposal or the head of the
+     * proposal's department
+     */
+    @Transactional(readOnly = true)
+    public boolean canRead(Long documentId) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return false;
+        }
+
+        Optional<Document> document = documentRepository.findById(documentId);
+        if (document.isEmpty()) {
+            return false;
+        }
+        if (document.get().getUploadedBy() != null
+                && document.get().getUploadedBy().getId().equals(currentUser.getId())) {
+            return true;
+        }
+
+        Proposal proposal = document.get().getProposal();
+        if (proposal == null && document.get().getProject() != null) {
+            proposal = document.get().getProject().getProposal();
+        }
+        if (proposal == null) {
+            return false;
+        }
+        if (proposal.getPrincipalInvestigator() != null
+                && proposal.getPrincipalInvestigator().getId().equals(currentUser.getId())) {
+            return true;
+        }
+        if (currentUser.getRole() == User.Role.DEPARTMENT_HEAD && currentUser.getDepartment() != null
+                && currentUser.getDepartment().getId().equals(proposal.getDepartmentId())) {
+            return true;
+        }
+        return proposalReviewerRepository.existsByProposalIdAndReviewerId(proposal.getId(), currentUser.getId());
+    }
+}
@@ -19,6 +19,8 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/notifications/stream";
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -37,9 +39,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String username = null;
         String jwt = null;
 
-        // Extract JWT token from Authorization header
+        // Extract JWT token from Authorization header; stream tokens are not accepted there
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
+            if (jwtUtil.isStreamToken(jwt)) {
+                jwt = null;
+            }
+        } else if (STREAM_PATH.equals(request.getRequestURI())) {
+            // Browsers cannot set headers on an EventSource, so the stream takes a token as a parameter.
+            // Query strings end up in access logs, so only a short-lived stream token is accepted here.
+            String streamToken = request.getParameter("access_token");
+            if (streamToken != null && jwtUtil.isStreamToken(streamToken)) {
+                jwt = streamToken;
+            }
+        }
+        
+        if (jwt != null) {
             try {
                 username = jwtUtil.extractUsername(jwt);
             } catch (Exception e) {
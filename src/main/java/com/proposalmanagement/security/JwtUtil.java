@@ -24,6 +24,9 @@ public class JwtUtil {
     @Value("${jwt.refresh.expiration:604800000}") // 7 days in milliseconds
     private Long refreshExpiration;
 
+    @Value("${jwt.stream.expiration:60000}") // 1 minute in milliseconds
+    private Long streamExpiration;
+
     // Generate secret key
     private SecretKey getSigningKey() {
         byte[] keyBytes = secret.getBytes();
@@ -91,6 +94,19 @@ public class JwtUtil {
         return createToken(claims, username, refreshExpiration);
     }
 
+    // Generate a short-lived token that only opens the notification stream
+    public String generateStreamToken(Long userId, String username, String role) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        claims.put("role", role);
+        claims.put("tokenType", "stream");
+        return createToken(claims, username, streamExpiration);
+    }
+
+    public Long getStreamExpiration() {
+        return streamExpiration;
+    }
+
     // Create token with claims and subject
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
         return Jwts.builder()
@@ -132,6 +148,16 @@ public class JwtUtil {
         }
     }
 
+    // Check if token is a notification stream token
+    public Boolean isStreamToken(String token) {
+        try {
+            String tokenType = extractClaim(token, claims -> claims.get("tokenType", String.class));
+            return "stream".equals(tokenType);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     // Get token from Authorization header
     public String getTokenFromHeader(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
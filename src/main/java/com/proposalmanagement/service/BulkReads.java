@@ -0,0 +1,96 @@
+package com.proposalmanagement.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plumbing shared by services that read large tables off the request path: read-only
+ * transactions, row-by-row streaming queries and id-range scans split across threads.
+ */
+final class BulkReads {
+
+    // MySQL Connector/J streams rows one at a time instead of buffering the result set
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private BulkReads() {}
+
+    static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * A template whose queries stream their rows. The connection cannot run other statements
+     * until the result set is consumed, so only read through a row callback.
+     */
+    static JdbcTemplate streaming(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(STREAMING_FETCH_SIZE);
+        return template;
+    }
+
+    /**
+     * Split the ids between the two values selected by {@code rangeSql} (a single
+     * {@code SELECT MIN(id), MAX(id)} row) into at most {@code workers} contiguous ranges and
+     * scan each on its own daemon thread. Returns the partial results in range order; empty
+     * when there is nothing to scan.
+     */
+    static <T> List<T> scanIdRanges(JdbcTemplate jdbcTemplate, String rangeSql, int workers,
+                                    String threadPrefix, IdRangeScan<T> scan) {
+        Long[] range = jdbcTemplate.queryForObject(rangeSql,
+                (rs, rowNum) -> new Long[] {rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        if (range == null || range[0] == null) {
+            return Collections.emptyList();
+        }
+
+        long first = range[0];
+        long last = range[1];
+        long span = (last - first) / Math.max(1, workers) + 1;
+        List<Callable<T>> partitions = new ArrayList<>();
+        for (long low = first; low <= last; low += span) {
+            long from = low;
+            long to = Math.min(last, low + span - 1);
+            partitions.add(() -> scan.scan(from, to));
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions.size(), runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<T> results = new ArrayList<>(partitions.size());
+            for (Future<T> partition : executor.invokeAll(partitions)) {
+                results.add(partition.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning " + threadPrefix + " id ranges", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scan of " + threadPrefix + " id ranges failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    interface IdRangeScan<T> {
+        T scan(long fromId, long toId);
+    }
+}
@@ -0,0 +1,137 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.repository.CommentRepository;
+import com.proposalmanagement.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index of active comments.
+ *
+ * Comment text lives in an in-memory {@link InvertedIndex} that {@link CommentService} keeps
+ * current after each committed create, update, resolve and delete. Which comments are internal
+ * or resolved is tracked beside the index and applied as a filter while ranking, so a visibility
+ * change never needs the text re-tokenized. The index is rebuilt from the database on startup;
+ * changes that commit while the rebuild is streaming win over the rows it reads.
+ */
+@Service
+public class CommentIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentIndexService.class);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Set<Long> internalIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> resolvedIds = ConcurrentHashMap.newKeySet();
+
+    // Ids changed by live updates while a rebuild is running; guarded by this
+    private Set<Long> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            readOnlyTemplate().executeWithoutResult(tx -> {
+                try (Stream<Object[]> rows = commentRepository.streamIndexableComments()) {
+                    rows.forEach(row -> {
+                        synchronized (this) {
+                            Long id = (Long) row[0];
+                            if (!changedDuringRebuild.contains(id)) {
+                                apply(id, (String) row[1], Boolean.TRUE.equals(row[2]), Boolean.TRUE.equals(row[3]));
+                            }
+                        }
+                    });
+                }
+            });
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+        logger.info("Comment search index rebuilt with {} comments in {} ms",
+                index.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Index (or re-index) a comment's text and visibility
+     */
+    public synchronized void index(Long commentId, String content, boolean internal, boolean resolved) {
+        if (commentId == null) {
+            return;
+        }
+        markChanged(commentId);
+        apply(commentId, content, internal, resolved);
+    }
+
+    public synchronized void remove(Collection<Long> commentIds) {
+        for (Long commentId : commentIds) {
+            markChanged(commentId);
+            index.remove(commentId);
+            internalIds.remove(commentId);
+            resolvedIds.remove(commentId);
+        }
+    }
+
+    /**
+     * Comments matching the query, best first. Internal comments are only matched when
+     * {@code includeInternal} is set; a null {@code isResolved} matches either state.
+     */
+    public List<InvertedIndex.Hit> search(String query, boolean includeInternal, Boolean isResolved) {
+        LongPredicate filter = null;
+        if (!includeInternal || isResolved != null) {
+            filter = id -> (includeInternal || !internalIds.contains(id))
+                    && (isResolved == null || resolvedIds.contains(id) == isResolved);
+        }
+        return index.search(query, filter);
+    }
+
+    public int getIndexedCommentCount() {
+        return index.size();
+    }
+
+    private void apply(Long commentId, String content, boolean internal, boolean resolved) {
+        index.put(commentId, content);
+        if (internal) {
+            internalIds.add(commentId);
+        } else {
+            internalIds.remove(commentId);
+        }
+        if (resolved) {
+            resolvedIds.add(commentId);
+        } else {
+            resolvedIds.remove(commentId);
+        }
+    }
+
+    private void markChanged(Long commentId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(commentId);
+        }
+    }
+
+    private TransactionTemplate readOnlyTemplate() {
+        return BulkReads.readOnly(transactionManager);
+    }
+}
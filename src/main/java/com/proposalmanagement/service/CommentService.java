@@ -1,21 +1,82 @@
 package com.proposalmanagement.service;
 
+import com.proposalmanagement.dto.CommentActivityDTO;
+import com.proposalmanagement.dto.CommentFeedPageDTO;
+import com.proposalmanagement.dto.CommentNodeDTO;
+import com.proposalmanagement.dto.CommentSearchResultDTO;
+import com.proposalmanagement.dto.CommentThreadPageDTO;
 import com.proposalmanagement.entity.*;
 import com.proposalmanagement.exception.ResourceNotFoundException;
 import com.proposalmanagement.exception.InvalidOperationException;
 import com.proposalmanagement.repository.*;
+import com.proposalmanagement.search.InvertedIndex;
+import com.proposalmanagement.search.Snippets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Comments and their reply threads.
+ *
+ * Every comment stores its thread root and a materialized path of zero-padded ids, so a page
+ * of threads is one keyset query for the top-level comments plus one indexed query for all
+ * their replies, and a subtree is a single prefix range. Sorted by path every comment follows
+ * its parent, which lets the tree be assembled in one pass.
+ *
+ * Comment text is searched through {@link CommentIndexService}, which is updated once each
+ * change commits.
+ */
 @Service
 @Transactional
 public class CommentService {
     
+    private static final Logger logger = LoggerFactory.getLogger(CommentService.class);
+    
+    private static final int PATH_SEGMENT_DIGITS = 12;
+    
+    private static final int PATH_SEGMENT_LENGTH = PATH_SEGMENT_DIGITS + 1;
+    
+    // Bounded by the thread_path column length
+    private static final int MAX_THREAD_DEPTH = 40;
+    
+    // Upper bound of the first page of top-level comments
+    private static final LocalDateTime FIRST_PAGE_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
+    private static final String BACKFILL_ROOTS_SQL =
+        "UPDATE comments SET thread_root_id = id, thread_path = CONCAT(LPAD(id, " + PATH_SEGMENT_DIGITS + ", '0'), '/') " +
+        "WHERE parent_comment_id IS NULL AND thread_path IS NULL";
+    
+    private static final String BACKFILL_REPLIES_SQL =
+        "UPDATE comments c JOIN comments p ON p.id = c.parent_comment_id " +
+        "SET c.thread_root_id = p.thread_root_id, c.thread_path = CONCAT(p.thread_path, LPAD(c.id, " + PATH_SEGMENT_DIGITS + ", '0'), '/') " +
+        "WHERE c.thread_path IS NULL AND p.thread_path IS NOT NULL";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     @Autowired
     private CommentRepository commentRepository;
     
@@ -34,6 +95,9 @@ public class CommentService {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private CommentIndexService commentIndexService;
+    
     public Comment createComment(Comment comment) {
         validateComment(comment);
         
@@ -49,9 +113,32 @@ public class CommentService {
         // Validate associations
         validateCommentAssociations(comment);
         
+        // Resolve the parent so the reply's path can extend the parent's
+        if (comment.getParentComment() != null) {
+            if (comment.getParentComment().getId() == null) {
+                throw new InvalidOperationException("Invalid parent comment");
+            }
+            Comment parentComment = getCommentById(comment.getParentComment().getId());
+            if (parentComment.getThreadPath() != null && depthOf(parentComment.getThreadPath()) + 1 >= MAX_THREAD_DEPTH) {
+                throw new InvalidOperationException("Replies cannot be nested more than " + MAX_THREAD_DEPTH + " levels deep");
+            }
+            comment.setParentComment(parentComment);
+        }
+        
         comment.setIsActive(true);
         Comment savedComment = commentRepository.save(comment);
         
+        // The path ends with the comment's own id, which only exists once it is inserted
+        Comment parentComment = savedComment.getParentComment();
+        if (parentComment == null) {
+            savedComment.setThreadRootId(savedComment.getId());
+            savedComment.setThreadPath(pathSegment(savedComment.getId()));
+        } else if (parentComment.getThreadPath() != null) {
+            savedComment.setThreadRootId(parentComment.getThreadRootId());
+            savedComment.setThreadPath(parentComment.getThreadPath() + pathSegment(savedComment.getId()));
+        }
+        indexAfterCommit(savedComment);
+        
         // Send notifications for new comments
         notificationService.sendCommentNotification(savedComment);
         
@@ -91,6 +178,58 @@ public class CommentService {
         return commentRepository.findRepliesByParentComment(parentCommentId);
     }
     
+    /**
+     * A page of a proposal's top-level comments, newest first, each with its whole reply tree.
+     * Pass the previous page's {@code nextCursor} to continue; null starts from the newest.
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadPageDTO getCommentThreads(Long proposalId, String cursor, int size, boolean includeInternal) {
+        LocalDateTime beforeDate = FIRST_PAGE_DATE;
+        Long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            Object[] position = decodeCursor(cursor);
+            beforeDate = (LocalDateTime) position[0];
+            beforeId = (Long) position[1];
+        }
+        
+        // One extra row tells whether another page follows
+        List<Long> rootIds = commentRepository.findTopLevelIdsBefore(proposalId, includeInternal, beforeDate, beforeId,
+            PageRequest.of(0, size + 1));
+        boolean hasMore = rootIds.size() > size;
+        if (hasMore) {
+            rootIds = rootIds.subList(0, size);
+        }
+        if (rootIds.isEmpty()) {
+            return new CommentThreadPageDTO(new ArrayList<>(), null);
+        }
+        
+        List<CommentNodeDTO> threads = assembleTrees(commentRepository.findThreadNodes(rootIds, includeInternal), rootIds);
+        String nextCursor = null;
+        if (hasMore && !threads.isEmpty()) {
+            CommentNodeDTO last = threads.get(threads.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedDate(), last.getId());
+        }
+        return new CommentThreadPageDTO(threads, nextCursor);
+    }
+    
+    /**
+     * A comment with all of its replies
+     */
+    @Transactional(readOnly = true)
+    public CommentNodeDTO getCommentSubtree(Long commentId, boolean includeInternal) {
+        Comment comment = getCommentById(commentId);
+        if (comment.getThreadPath() == null) {
+            throw new InvalidOperationException("Comment thread is not indexed yet");
+        }
+        List<CommentNodeDTO> trees = assembleTrees(
+            commentRepository.findSubtreeNodes(comment.getThreadRootId(), comment.getThreadPath() + "%", includeInternal),
+            List.of(commentId));
+        if (trees.isEmpty()) {
+            throw new ResourceNotFoundException("Comment not found with id: " + commentId);
+        }
+        return trees.get(0);
+    }
+    
     public List<Comment> getUnresolvedComments(Long proposalId) {
         return commentRepository.findUnresolvedCommentsByProposal(proposalId);
     }
@@ -116,7 +255,9 @@ public class CommentService {
         existingComment.setIsInternal(comment.getIsInternal());
         
         validateComment(existingComment);
-        return commentRepository.save(existingComment);
+        Comment updatedComment = commentRepository.save(existingComment);
+        indexAfterCommit(updatedComment);
+        return updatedComment;
     }
     
     public Comment addReply(Long parentCommentId, Comment reply) {
@@ -144,6 +285,7 @@ public class CommentService {
         
         comment.resolve(resolvedByUser);
         Comment resolvedComment = commentRepository.save(comment);
+        indexAfterCommit(resolvedComment);
         
         // Send resolution notification
         notificationService.sendCommentResolutionNotification(resolvedComment);
@@ -153,15 +295,26 @@ public class CommentService {
     
     public void deleteComment(Long id) {
         Comment comment = getCommentById(id);
+        List<Long> removedIds = new ArrayList<>();
+        if (comment.getThreadPath() != null) {
+            removedIds.addAll(commentRepository.findActiveSubtreeIds(comment.getThreadRootId(), comment.getThreadPath() + "%"));
+        }
+        removedIds.add(id);
+        
         comment.setIsActive(false);
         commentRepository.save(comment);
         
-        // Also deactivate all replies
-        List<Comment> replies = getReplies(id);
-        replies.forEach(reply -> {
-            reply.setIsActive(false);
-            commentRepository.save(reply);
-        });
+        // Also deactivate all replies, at any depth
+        if (comment.getThreadPath() != null) {
+            commentRepository.deactivateSubtree(comment.getThreadRootId(), comment.getThreadPath() + "%");
+        } else {
+            getReplies(id).forEach(reply -> {
+                reply.setIsActive(false);
+                commentRepository.save(reply);
+                removedIds.add(reply.getId());
+            });
+        }
+        TransactionHooks.afterCommit(() -> commentIndexService.remove(removedIds));
     }
     
     public Long getCommentCountByProposal(Long proposalId) {
@@ -176,18 +329,174 @@ public class CommentService {
         return commentRepository.countByAuthorIdAndIsActiveTrue(authorId);
     }
     
+    // Active comments matching the keywords, most relevant first
+    @Transactional(readOnly = true)
     public List<Comment> searchComments(String keyword) {
-        return commentRepository.searchByKeyword(keyword);
+        List<Long> ids = commentIndexService.search(keyword, true, null).stream()
+                .map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Comment> comments = commentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+        List<Comment> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Comment comment = comments.get(id);
+            if (comment != null && Boolean.TRUE.equals(comment.getIsActive())) {
+                results.add(comment);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Full-text search over comments, ranked by relevance, with the proposal each hit was made on.
+     * Internal comments are only returned when {@code includeInternal} is set; a null
+     * {@code isResolved} matches resolved and open comments alike.
+     */
+    @Transactional(readOnly = true)
+    public Page<CommentSearchResultDTO> searchCommentContent(String query, Boolean isResolved, boolean includeInternal,
+                                                             int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<InvertedIndex.Hit> hits = commentIndexService.search(query, includeInternal, isResolved);
+        int from = (int) Math.min(pageRequest.getOffset(), hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<InvertedIndex.Hit> pageHits = hits.subList(from, to);
+        if (pageHits.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageRequest, hits.size());
+        }
+        
+        // Visibility is checked again against the database in case the index lags a commit
+        List<Long> ids = pageHits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+        Map<Long, CommentSearchResultDTO> rows = commentRepository.findSearchResultsByIds(ids, includeInternal).stream()
+                .collect(Collectors.toMap(CommentSearchResultDTO::getCommentId, Function.identity()));
+        
+        List<CommentSearchResultDTO> results = new ArrayList<>(pageHits.size());
+        for (InvertedIndex.Hit hit : pageHits) {
+            CommentSearchResultDTO result = rows.get(hit.getId());
+            if (result == null) {
+                continue;
+            }
+            result.setScore(hit.getScore());
+            result.setSnippet(Snippets.build(result.getContent(), query));
+            results.add(result);
+        }
+        return new PageImpl<>(results, pageRequest, hits.size());
     }
     
     public List<Comment> getRecentComments(int limit) {
-        return commentRepository.findRecentComments(limit);
+        return commentRepository.findRecentComments(PageRequest.of(0, Math.max(limit, 1)));
+    }
+    
+    /**
+     * The most recent comments across all proposals, projects and evaluations, newest first.
+     * Null filters match everything; pass the previous page's {@code nextCursor} to continue.
+     */
+    @Transactional(readOnly = true)
+    public CommentFeedPageDTO getRecentActivity(Comment.CommentType commentType, Boolean isInternal, Boolean isResolved,
+                                                String cursor, int size) {
+        LocalDateTime beforeDate = FIRST_PAGE_DATE;
+        Long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            Object[] position = decodeCursor(cursor);
+            beforeDate = (LocalDateTime) position[0];
+            beforeId = (Long) position[1];
+        }
+        
+        // One extra row tells whether another page follows
+        List<CommentActivityDTO> comments = commentRepository.findRecentActivityBefore(commentType, isInternal, isResolved,
+            beforeDate, beforeId, PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = new ArrayList<>(comments.subList(0, size));
+            CommentActivityDTO last = comments.get(size - 1);
+            nextCursor = encodeCursor(last.getCreatedDate(), last.getId());
+        }
+        return new CommentFeedPageDTO(comments, nextCursor);
     }
     
     public List<Comment> getCommentsByDateRange(java.time.LocalDateTime startDate, java.time.LocalDateTime endDate) {
         return commentRepository.findByCreatedDateBetweenAndIsActiveTrueOrderByCreatedDateDesc(startDate, endDate);
     }
     
+    /**
+     * Give comments written before threads were indexed their root and path, one reply level per statement
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillThreadPaths() {
+        int updated = jdbcTemplate.update(BACKFILL_ROOTS_SQL);
+        for (int level = 1; level < MAX_THREAD_DEPTH; level++) {
+            int replies = jdbcTemplate.update(BACKFILL_REPLIES_SQL);
+            if (replies == 0) {
+                break;
+            }
+            updated += replies;
+        }
+        if (updated > 0) {
+            logger.info("Indexed the threads of {} comments", updated);
+        }
+    }
+    
+    // Links nodes sorted by thread path into trees in one pass and returns the trees of the given
+    // roots in that order. Nodes whose parent is not in the list (hidden or inactive) are dropped.
+    private List<CommentNodeDTO> assembleTrees(List<CommentNodeDTO> nodes, List<Long> rootIds) {
+        Map<Long, CommentNodeDTO> linked = new HashMap<>(nodes.size() * 2);
+        Set<Long> roots = new HashSet<>(rootIds);
+        for (CommentNodeDTO node : nodes) {
+            if (!roots.contains(node.getId())) {
+                CommentNodeDTO parent = linked.get(node.getParentCommentId());
+                if (parent == null) {
+                    continue;
+                }
+                parent.getReplies().add(node);
+            }
+            node.setDepth(depthOf(node.getThreadPath()));
+            linked.put(node.getId(), node);
+        }
+        List<CommentNodeDTO> trees = new ArrayList<>(rootIds.size());
+        for (Long rootId : rootIds) {
+            CommentNodeDTO root = linked.get(rootId);
+            if (root != null) {
+                trees.add(root);
+            }
+        }
+        return trees;
+    }
+    
+    private void indexAfterCommit(Comment comment) {
+        Long id = comment.getId();
+        String content = comment.getContent();
+        boolean internal = Boolean.TRUE.equals(comment.getIsInternal());
+        boolean resolved = Boolean.TRUE.equals(comment.getIsResolved());
+        TransactionHooks.afterCommit(() -> commentIndexService.index(id, content, internal, resolved));
+    }
+    
+    private static String pathSegment(Long id) {
+        return String.format("%0" + PATH_SEGMENT_DIGITS + "d/", id);
+    }
+    
+    private static int depthOf(String threadPath) {
+        return threadPath.length() / PATH_SEGMENT_LENGTH - 1;
+    }
+    
+    private static String encodeCursor(LocalDateTime createdDate, Long id) {
+        String position = createdDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new Object[] {
+                LocalDateTime.parse(position.substring(0, separator)),
+                Long.parseLong(position.substring(separator + 1))
+            };
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidOperationException("Invalid comment cursor");
+        }
+    }
+    
     private void validateComment(Comment comment) {
         if (comment.getContent() == null || comment.getContent().trim().isEmpty()) {
             throw new InvalidOperationException("Comment content is required");
@@ -0,0 +1,281 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Document;
+import com.proposalmanagement.entity.DocumentContent;
+import com.proposalmanagement.repository.DocumentContentRepository;
+import com.proposalmanagement.repository.DocumentRepository;
+import com.proposalmanagement.search.InvertedIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Background text extraction and full-text indexing of uploaded documents.
+ *
+ * Newly uploaded document ids are put on a bounded queue and consumed by a fixed pool of
+ * worker threads. Each worker streams the file through {@link DocumentTextExtractor}, stores
+ * the text in {@link DocumentContent} and adds it to the in-memory {@link InvertedIndex}.
+ * The index is rebuilt from stored text on startup; ids that could not be queued are
+ * picked up again by a periodic sweep.
+ */
+@Service
+public class DocumentIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIndexService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+
+    @Autowired
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${document.extraction.workers:2}")
+    private int workerCount;
+
+    @Value("${document.extraction.queue-capacity:500}")
+    private int queueCapacity;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Set<Long> queuedIds = ConcurrentHashMap.newKeySet();
+    private volatile BlockingQueue<Long> queue;
+    private volatile ExecutorService workers;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount + 1, runnable -> {
+            Thread thread = new Thread(runnable, "document-indexer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        workers.submit(() -> {
+            rebuildIndex();
+            enqueueMissing();
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::consume);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue a document for extraction. Returns false when the queue is full; the document
+     * is then picked up by the next sweep.
+     */
+    public boolean enqueue(Long documentId) {
+        if (documentId == null || queue == null) {
+            return false;
+        }
+        if (!queuedIds.add(documentId)) {
+            return true;
+        }
+        if (!queue.offer(documentId)) {
+            queuedIds.remove(documentId);
+            logger.warn("Document extraction queue is full, document {} deferred to next sweep", documentId);
+            return false;
+        }
+        return true;
+    }
+
+    public void removeFromIndex(Long documentId) {
+        index.remove(documentId);
+    }
+
+    /**
+     * Put a previously extracted document back into the index without re-reading the file.
+     */
+    public void reindex(Long documentId) {
+        TransactionTemplate template = readOnlyTemplate();
+        template.executeWithoutResult(tx -> {
+            Optional<Document> document = documentRepository.findById(documentId);
+            Optional<DocumentContent> content = documentContentRepository.findByDocumentId(documentId);
+            if (document.isPresent() && content.isPresent()
+                    && content.get().getStatus() == DocumentContent.ExtractionStatus.EXTRACTED) {
+                index.put(documentId, indexText(document.get().getFileName(),
+                        document.get().getDescription(), content.get().getExtractedText()));
+            } else {
+                enqueue(documentId);
+            }
+        });
+    }
+
+    public List<InvertedIndex.Hit> search(String query) {
+        return index.search(query, null);
+    }
+
+    public int getIndexedDocumentCount() {
+        return index.size();
+    }
+
+    public int getQueuedDocumentCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${document.extraction.sweep-interval-ms:600000}",
+               initialDelayString = "${document.extraction.sweep-interval-ms:600000}")
+    public void enqueueMissing() {
+        if (!running) {
+            return;
+        }
+        List<Long> missing = readOnlyTemplate().execute(tx -> documentContentRepository.findDocumentIdsWithoutContent());
+        if (missing == null) {
+            return;
+        }
+        for (Long documentId : missing) {
+            if (!enqueue(documentId)) {
+                break;
+            }
+        }
+    }
+
+    private void consume() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            Long documentId;
+            try {
+                documentId = queue.poll(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (documentId == null) {
+                continue;
+            }
+            try {
+                process(documentId);
+            } catch (Exception e) {
+                logger.error("Text extraction failed for document {}", documentId, e);
+            } finally {
+                queuedIds.remove(documentId);
+            }
+        }
+    }
+
+    private void process(Long documentId) {
+        Optional<Document> documentOpt = readOnlyTemplate().execute(tx -> documentRepository.findById(documentId));
+        if (documentOpt == null || documentOpt.isEmpty()) {
+            return;
+        }
+        Document document = documentOpt.get();
+
+        DocumentContent.ExtractionStatus status;
+        String text = null;
+        boolean truncated = false;
+        String error = null;
+
+        if (!documentTextExtractor.supports(document.getFileType(), document.getFileName())) {
+            status = DocumentContent.ExtractionStatus.UNSUPPORTED;
+        } else {
+            try (InputStream input = openDocumentStream(document)) {
+                DocumentTextExtractor.ExtractedText extracted =
+                        documentTextExtractor.extract(input, document.getFileType(), document.getFileName());
+                text = extracted.getText();
+                truncated = extracted.isTruncated();
+                status = DocumentContent.ExtractionStatus.EXTRACTED;
+            } catch (IOException | RuntimeException e) {
+                status = DocumentContent.ExtractionStatus.FAILED;
+                error = e.getMessage();
+                logger.warn("Could not extract text from document {}: {}", documentId, e.getMessage());
+            }
+        }
+
+        saveContent(documentId, status, text, truncated, error);
+
+        if (status == DocumentContent.ExtractionStatus.EXTRACTED && Boolean.TRUE.equals(document.getIsActive())) {
+            index.put(documentId, indexText(document.getFileName(), document.getDescription(), text));
+        }
+    }
+
+    protected InputStream openDocumentStream(Document document) throws IOException {
+        return documentStorageService.openStream(document);
+    }
+
+    private void saveContent(Long documentId, DocumentContent.ExtractionStatus status,
+                             String text, boolean truncated, String error) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            DocumentContent content = documentContentRepository.findByDocumentId(documentId)
+                    .orElseGet(() -> new DocumentContent(documentId));
+            content.setStatus(status);
+            content.setExtractedText(text);
+            content.setCharacterCount(text != null ? text.length() : null);
+            content.setTruncated(truncated);
+            content.setErrorMessage(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            content.setExtractedDate(LocalDateTime.now());
+            documentContentRepository.save(content);
+        });
+    }
+
+    private void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        List<Long> inactive = new ArrayList<>();
+        readOnlyTemplate().executeWithoutResult(tx -> {
+            try (Stream<Object[]> rows = documentContentRepository.streamExtractedContent()) {
+                rows.forEach(row -> index.put((Long) row[0],
+                        indexText((String) row[1], (String) row[2], (String) row[3])));
+            }
+            inactive.addAll(documentRepository.findInactiveDocumentIds());
+        });
+        inactive.forEach(index::remove);
+        logger.info("Document search index rebuilt with {} documents in {} ms",
+                index.size(), System.currentTimeMillis() - started);
+    }
+
+    private TransactionTemplate readOnlyTemplate() {
+        return BulkReads.readOnly(transactionManager);
+    }
+
+    private static String indexText(String fileName, String description, String text) {
+        StringBuilder builder = new StringBuilder();
+        if (fileName != null) builder.append(fileName).append('\n');
+        if (description != null) builder.append(description).append('\n');
+        if (text != null) builder.append(text);
+        return builder.toString();
+    }
+}
@@ -1,16 +1,32 @@
 package com.proposalmanagement.service;
 
+import com.proposalmanagement.dto.DocumentSearchResultDTO;
 import com.proposalmanagement.entity.Document;
+import com.proposalmanagement.entity.DocumentContent;
 import com.proposalmanagement.entity.Project;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
+import com.proposalmanagement.repository.DocumentContentRepository;
 import com.proposalmanagement.repository.DocumentRepository;
+import com.proposalmanagement.search.InvertedIndex;
+import com.proposalmanagement.search.Snippets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -19,6 +35,12 @@ public class DocumentService {
     @Autowired
     private DocumentRepository documentRepository;
     
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+    
+    @Autowired
+    private DocumentIndexService documentIndexService;
+    
     public List<Document> getAllDocuments() {
         return documentRepository.findAll();
     }
@@ -28,12 +50,17 @@ public class DocumentService {
     }
     
     public Document createDocument(Document document) {
-        return documentRepository.save(document);
+        Document savedDocument = documentRepository.save(document);
+        Long documentId = savedDocument.getId();
+        TransactionHooks.afterCommit(() -> documentIndexService.enqueue(documentId));
+        return savedDocument;
     }
     
     public Document updateDocument(Long id, Document documentDetails) {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        boolean pathChanged = !Objects.equals(document.getFilePath(), documentDetails.getFilePath());
+        boolean fileChanged = pathChanged || !Objects.equals(document.getFileType(), documentDetails.getFileType());
         
         document.setProposal(documentDetails.getProposal());
         document.setProject(documentDetails.getProject());
@@ -44,14 +71,21 @@ public class DocumentService {
         document.setDocumentType(documentDetails.getDocumentType());
         document.setDescription(documentDetails.getDescription());
         document.setIsActive(documentDetails.getIsActive());
+        if (pathChanged) {
+            resetStorageTier(document);
+        }
         
-        return documentRepository.save(document);
+        Document savedDocument = documentRepository.save(document);
+        updateIndexAfterCommit(savedDocument, fileChanged);
+        return savedDocument;
     }
     
     public void deleteDocument(Long id) {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
         documentRepository.delete(document);
+        documentContentRepository.deleteByDocumentId(id);
+        TransactionHooks.afterCommit(() -> documentIndexService.removeFromIndex(id));
     }
     
     public List<Document> getDocumentsByProposal(Proposal proposal) {
@@ -86,6 +120,46 @@ public class DocumentService {
         return documentRepository.searchByFileNameOrDescription(keyword);
     }
     
+    /**
+     * Full-text search over file names, descriptions and extracted document text.
+     * Results are ranked by relevance; inactive documents are skipped.
+     */
+    @Transactional(readOnly = true)
+    public Page<DocumentSearchResultDTO> searchDocumentContent(String query, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<InvertedIndex.Hit> hits = documentIndexService.search(query);
+        if (!hits.isEmpty()) {
+            // Drop documents deactivated since they were indexed, so totals only count active ones
+            Set<Long> activeIds = new HashSet<>(documentRepository.findActiveIdsIn(
+                    hits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList())));
+            hits = hits.stream().filter(hit -> activeIds.contains(hit.getId())).collect(Collectors.toList());
+        }
+        int from = (int) Math.min(pageRequest.getOffset(), hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<InvertedIndex.Hit> pageHits = hits.subList(from, to);
+        if (pageHits.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageRequest, hits.size());
+        }
+        
+        List<Long> ids = pageHits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+        Map<Long, Document> documents = documentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+        Map<Long, String> texts = documentContentRepository.findByDocumentIdIn(ids).stream()
+                .filter(content -> content.getExtractedText() != null)
+                .collect(Collectors.toMap(DocumentContent::getDocumentId, DocumentContent::getExtractedText));
+        
+        List<DocumentSearchResultDTO> results = new ArrayList<>();
+        for (InvertedIndex.Hit hit : pageHits) {
+            Document document = documents.get(hit.getId());
+            if (document == null || !Boolean.TRUE.equals(document.getIsActive())) {
+                continue;
+            }
+            String text = texts.getOrDefault(hit.getId(), document.getDescription());
+            results.add(new DocumentSearchResultDTO(document, hit.getScore(), Snippets.build(text, query)));
+        }
+        return new PageImpl<>(results, pageRequest, hits.size());
+    }
+    
     public Long getDocumentCountByProposal(Long proposalId) {
         return documentRepository.countActiveDocumentsByProposalId(proposalId);
     }
@@ -98,37 +172,52 @@ public class DocumentService {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
         document.setIsActive(true);
-        return documentRepository.save(document);
+        Document savedDocument = documentRepository.save(document);
+        TransactionHooks.afterCommit(() -> documentIndexService.reindex(id));
+        return savedDocument;
     }
     
     public Document deactivateDocument(Long id) {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
         document.setIsActive(false);
-        return documentRepository.save(document);
+        Document savedDocument = documentRepository.save(document);
+        TransactionHooks.afterCommit(() -> documentIndexService.removeFromIndex(id));
+        return savedDocument;
     }
     
     public List<Document> uploadMultipleDocuments(List<Document> documents) {
-        return documentRepository.saveAll(documents);
+        List<Document> savedDocuments = documentRepository.saveAll(documents);
+        List<Long> documentIds = savedDocuments.stream().map(Document::getId).collect(Collectors.toList());
+        TransactionHooks.afterCommit(() -> documentIds.forEach(documentIndexService::enqueue));
+        return savedDocuments;
     }
     
     public void deleteDocumentsByProposal(Long proposalId) {
         List<Document> documents = documentRepository.findByProposalId(proposalId);
         documents.forEach(doc -> doc.setIsActive(false));
         documentRepository.saveAll(documents);
+        TransactionHooks.afterCommit(() -> documents.forEach(doc -> documentIndexService.removeFromIndex(doc.getId())));
     }
     
     public void deleteDocumentsByProject(Long projectId) {
         List<Document> documents = documentRepository.findByProjectId(projectId);
         documents.forEach(doc -> doc.setIsActive(false));
         documentRepository.saveAll(documents);
+        TransactionHooks.afterCommit(() -> documents.forEach(doc -> documentIndexService.removeFromIndex(doc.getId())));
     }
     
     public Document updateDocumentPath(Long id, String newFilePath) {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        boolean fileChanged = !Objects.equals(document.getFilePath(), newFilePath);
         document.setFilePath(newFilePath);
-        return documentRepository.save(document);
+        if (fileChanged) {
+            resetStorageTier(document);
+        }
+        Document savedDocument = documentRepository.save(document);
+        updateIndexAfterCommit(savedDocument, fileChanged);
+        return savedDocument;
     }
     
     public Document updateDocumentSize(Long id, Long fileSize) {
@@ -137,4 +226,32 @@ public class DocumentService {
         document.setFileSize(fileSize);
         return documentRepository.save(document);
     }
+    
+    // A new path points at a new, uncompressed file; the cold-storage job looks at it again
+    private void resetStorageTier(Document document) {
+        document.setStorageCompression(null);
+        document.setStoredSize(null);
+        document.setCompressedDate(null);
+    }
+    
+    // Inactive documents leave the index, a replaced file is extracted again and any other
+    // change re-indexes the stored text with the new file name and description
+    private void updateIndexAfterCommit(Document document, boolean fileChanged) {
+        Long documentId = document.getId();
+        boolean active = Boolean.TRUE.equals(document.getIsActive());
+        if (fileChanged) {
+            // Without stored text the periodic sweep re-queues it if the queue is full
+            documentContentRepository.deleteByDocumentId(documentId);
+        }
+        TransactionHooks.afterCommit(() -> {
+            if (!active) {
+                documentIndexService.removeFromIndex(documentId);
+            } else if (fileChanged) {
+                documentIndexService.removeFromIndex(documentId);
+                documentIndexService.enqueue(documentId);
+            } else {
+                documentIndexService.reindex(documentId);
+            }
+        });
+    }
 }
\ No newline at end of file
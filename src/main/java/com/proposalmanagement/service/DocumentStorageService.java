@@ -0,0 +1,320 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Document;
+import com.proposalmanagement.entity.Proposal;
+import com.proposalmanagement.repository.DocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Physical storage of uploaded documents, including the cold-storage tier.
+ *
+ * Documents of proposals that were approved or rejected more than a configurable number of
+ * days ago are gzip-compressed in place by a throttled background job. Reads go through
+ * {@link #openStream(Document)}, which decompresses on the fly, optionally keeping recently
+ * read files decompressed in a size-bounded LRU cache directory.
+ */
+@Service
+public class DocumentStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStorageService.class);
+
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${document.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${document.compression.closed-days:180}")
+    private int closedDays;
+
+    @Value("${document.compression.batch-size:100}")
+    private int batchSize;
+
+    // Only keep the compressed copy if it saves at least this fraction of the original size
+    @Value("${document.compression.min-savings:0.1}")
+    private double minSavings;
+
+    @Value("${document.compression.max-bytes-per-second:8388608}")
+    private long maxBytesPerSecond;
+
+    @Value("${document.storage.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${document.storage.cache.dir:uploads/cache}")
+    private String cacheDir;
+
+    @Value("${document.storage.cache.max-bytes:268435456}")
+    private long cacheMaxBytes;
+
+    private final AtomicBoolean compressionRunning = new AtomicBoolean();
+
+    // Access-ordered: iteration starts at the least recently read entry
+    private final LinkedHashMap<Long, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * Open the logical (uncompressed) content of a document.
+     */
+    public InputStream openStream(Document document) throws IOException {
+        Path path = Paths.get(document.getFilePath());
+        if (document.getStorageCompression() != Document.StorageCompression.GZIP) {
+            try {
+                return Files.newInputStream(path);
+            } catch (NoSuchFileException e) {
+                // The entity may have been loaded just before the compression job moved the file
+                Path compressedPath = Paths.get(document.getFilePath() + GZIP_SUFFIX);
+                if (!Files.exists(compressedPath)) {
+                    throw e;
+                }
+                path = compressedPath;
+            }
+        }
+
+        if (cacheEnabled && document.getId() != null) {
+            Path cached = getOrCreateCachedCopy(document.getId(), path);
+            if (cached != null) {
+                return Files.newInputStream(cached);
+            }
+        }
+        return new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+    @Scheduled(cron = "${document.compression.cron:0 30 2 * * *}")
+    public void compressColdDocuments() {
+        if (!compressionEnabled || !compressionRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(closedDays);
+            EnumSet<Proposal.Status> closedStatuses = EnumSet.of(Proposal.Status.APPROVED, Proposal.Status.REJECTED);
+            TransactionTemplate readOnly = BulkReads.readOnly(transactionManager);
+
+            int compressed = 0;
+            long savedBytes = 0;
+            long lastId = 0;
+            List<Long> batch;
+            do {
+                long afterId = lastId;
+                batch = readOnly.execute(tx -> documentRepository.findCompressionCandidateIds(
+                        afterId, closedStatuses, cutoff, PageRequest.of(0, batchSize)));
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1);
+                for (Long documentId : batch) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    long saved = compressDocument(documentId);
+                    if (saved > 0) {
+                        compressed++;
+                        savedBytes += saved;
+                    }
+                }
+            } while (batch.size() == batchSize);
+
+            if (compressed > 0) {
+                logger.info("Compressed {} cold documents, saving {} bytes", compressed, savedBytes);
+            }
+        } finally {
+            compressionRunning.set(false);
+        }
+    }
+
+    /**
+     * Compress one document. Returns the number of bytes saved, or 0 if it was left as is.
+     */
+    private long compressDocument(Long documentId) {
+        Document document = documentRepository.findById(documentId).orElse(null);
+        if (document == null || document.getStorageCompression() != null) {
+            return 0;
+        }
+
+        Path source = Paths.get(document.getFilePath());
+        Path target = Paths.get(document.getFilePath() + GZIP_SUFFIX);
+        Path temp = Paths.get(document.getFilePath() + GZIP_SUFFIX + ".tmp");
+        try {
+            if (!Files.exists(source)) {
+                markUncompressed(documentId, null);
+                return 0;
+            }
+            long originalSize = Files.size(source);
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                copyThrottled(in, out);
+            }
+            long compressedSize = Files.size(temp);
+
+            if (compressedSize > originalSize * (1.0 - minSavings)) {
+                // Already-compressed formats (DOCX, most PDFs) rarely shrink; keep the original
+                Files.deleteIfExists(temp);
+                markUncompressed(documentId, originalSize);
+                return 0;
+            }
+
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                    Document current = documentRepository.findById(documentId)
+                            .orElseThrow(() -> new RuntimeException("Document not found with id: " + documentId));
+                    current.setFilePath(target.toString());
+                    current.setStorageCompression(Document.StorageCompression.GZIP);
+                    current.setStoredSize(compressedSize);
+                    current.setCompressedDate(LocalDateTime.now());
+                    if (current.getFileSize() == null) {
+                        current.setFileSize(originalSize);
+                    }
+                    documentRepository.save(current);
+                });
+            } catch (RuntimeException e) {
+                Files.deleteIfExists(target);
+                throw e;
+            }
+            Files.deleteIfExists(source);
+            return originalSize - compressedSize;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not compress document {}: {}", documentId, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // best effort cleanup
+            }
+            return 0;
+        }
+    }
+
+    private void markUncompressed(Long documentId, Long storedSize) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx ->
+                documentRepository.findById(documentId).ifPresent(document -> {
+                    document.setStorageCompression(Document.StorageCompression.NONE);
+                    document.setStoredSize(storedSize);
+                    documentRepository.save(document);
+                }));
+    }
+
+    // Caps disk read throughput so the job does not compete with interactive uploads and downloads
+    private void copyThrottled(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long started = System.nanoTime();
+        long copied = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            copied += read;
+            if (maxBytesPerSecond > 0) {
+                long expectedNanos = copied * 1_000_000_000L / maxBytesPerSecond;
+                long aheadNanos = expectedNanos - (System.nanoTime() - started);
+                if (aheadNanos > 1_000_000L) {
+                    try {
+                        Thread.sleep(aheadNanos / 1_000_000L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Compression interrupted", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private Path getOrCreateCachedCopy(Long documentId, Path compressedPath) {
+        synchronized (cache) {
+            CacheEntry entry = cache.get(documentId);
+            if (entry != null && entry.source.equals(compressedPath) && Files.exists(entry.path)) {
+                return entry.path;
+            }
+        }
+
+        try {
+            Path directory = Paths.get(cacheDir);
+            Files.createDirectories(directory);
+            Path cached = directory.resolve(documentId + ".bin");
+            Path temp = Files.createTempFile(directory, documentId + "-", ".tmp");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(compressedPath), BUFFER_SIZE)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long size = Files.size(temp);
+            if (size > cacheMaxBytes) {
+                Files.deleteIfExists(temp);
+                return null;
+            }
+
+            synchronized (cache) {
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                CacheEntry previous = cache.put(documentId, new CacheEntry(cached, compressedPath, size));
+                if (previous != null) {
+                    cachedBytes -= previous.size;
+                }
+                cachedBytes += size;
+                evictCacheEntries(documentId);
+            }
+            return cached;
+        } catch (IOException e) {
+            logger.warn("Could not cache decompressed document {}: {}", documentId, e.getMessage());
+            return null;
+        }
+    }
+
+    // Caller holds the cache lock
+    private void evictCacheEntries(Long keepId) {
+        Iterator<Map.Entry<Long, CacheEntry>> iterator = cache.entrySet().iterator();
+        while (cachedBytes > cacheMaxBytes && iterator.hasNext()) {
+            Map.Entry<Long, CacheEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(keepId)) {
+                continue;
+            }
+            iterator.remove();
+            cachedBytes -= eldest.getValue().size;
+            try {
+                // Readers that already opened the file keep their handle on POSIX file systems
+                Files.deleteIfExists(eldest.getValue().path);
+            } catch (IOException e) {
+                logger.warn("Could not delete cached document {}: {}", eldest.getValue().path, e.getMessage());
+            }
+        }
+    }
+
+    private static class CacheEntry {
+        private final Path path;
+        private final Path source;
+        private final long size;
+
+        CacheEntry(Path path, Path source, long size) {
+            this.path = path;
+            this.source = source;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.proposalmanagement.service;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts plain text from the upload types accepted by the proposal document endpoint
+ * (TXT, PDF, DOC, DOCX). Text is read incrementally and capped at a configurable number
+ * of characters, so a large upload never has to be held in memory as a whole.
+ */
+@Component
+public class DocumentTextExtractor {
+
+    public static final String TYPE_TXT = "text/plain";
+    public static final String TYPE_PDF = "application/pdf";
+    public static final String TYPE_DOC = "application/msword";
+    public static final String TYPE_DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    @Value("${document.extraction.max-characters:1000000}")
+    private int maxCharacters;
+
+    public boolean supports(String fileType, String fileName) {
+        return resolveType(fileType, fileName) != null;
+    }
+
+    /**
+     * Extract text from the stream. Returns null when the type is not supported.
+     */
+    public ExtractedText extract(InputStream input, String fileType, String fileName) throws IOException {
+        String type = resolveType(fileType, fileName);
+        if (type == null) {
+            return null;
+        }
+
+        BoundedText text = new BoundedText(maxCharacters);
+        switch (type) {
+            case TYPE_TXT:
+                extractPlainText(input, text);
+                break;
+            case TYPE_PDF:
+                extractPdf(input, text);
+                break;
+            case TYPE_DOC:
+                extractDoc(input, text);
+                break;
+            case TYPE_DOCX:
+                extractDocx(input, text);
+                break;
+            default:
+                return null;
+        }
+        return new ExtractedText(text.toString(), text.isTruncated());
+    }
+
+    private String resolveType(String fileType, String fileName) {
+        if (fileType != null) {
+            switch (fileType) {
+                case TYPE_TXT:
+                case TYPE_PDF:
+                case TYPE_DOC:
+                case TYPE_DOCX:
+                    return fileType;
+                default:
+                    break;
+            }
+        }
+
+        // Fall back to the extension when the browser sent a generic content type
+        if (fileName == null) {
+            return null;
+        }
+        String lowerName = fileName.toLowerCase(Locale.ROOT);
+        if (lowerName.endsWith(".txt")) return TYPE_TXT;
+        if (lowerName.endsWith(".pdf")) return TYPE_PDF;
+        if (lowerName.endsWith(".docx")) return TYPE_DOCX;
+        if (lowerName.endsWith(".doc")) return TYPE_DOC;
+        return null;
+    }
+
+    private void extractPlainText(InputStream input, BoundedText text) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        char[] buffer = new char[8192];
+        int read;
+        while (!text.isFull() && (read = reader.read(buffer)) != -1) {
+            text.append(buffer, read);
+        }
+    }
+
+    private void extractPdf(InputStream input, BoundedText text) throws IOException {
+        // Temp-file backed parsing keeps the parsed PDF structure off the heap
+        try (PDDocument pdf = PDDocument.load(input, MemoryUsageSetting.setupTempFileOnly())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            int pageCount = pdf.getNumberOfPages();
+            for (int page = 1; page <= pageCount && !text.isFull(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(pdf));
+            }
+        }
+    }
+
+    private void extractDoc(InputStream input, BoundedText text) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(input);
+             WordExtractor extractor = new WordExtractor(new HWPFDocument(fileSystem))) {
+            for (String paragraph : extractor.getParagraphText()) {
+                if (text.isFull()) {
+                    break;
+                }
+                text.append(paragraph);
+            }
+        }
+    }
+
+    private void extractDocx(InputStream input, BoundedText text) throws IOException {
+        ZipInputStream zip = new ZipInputStream(input);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if ("word/document.xml".equals(entry.getName())) {
+                readWordXml(zip, text);
+                return;
+            }
+        }
+    }
+
+    private void readWordXml(InputStream xml, BoundedText text) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(xml);
+            boolean inTextRun = false;
+            while (reader.hasNext() && !text.isFull()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("t".equals(name)) {
+                        inTextRun = true;
+                    } else if ("tab".equals(name)) {
+                        text.append(" ");
+                    } else if ("br".equals(name)) {
+                        text.append("\n");
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("t".equals(name)) {
+                        inTextRun = false;
+                    } else if ("p".equals(name)) {
+                        text.append("\n");
+                    }
+                } else if (inTextRun && event == XMLStreamConstants.CHARACTERS) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid DOCX content: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Result of an extraction run.
+     */
+    public static class ExtractedText {
+        private final String text;
+        private final boolean truncated;
+
+        public ExtractedText(String text, boolean truncated) {
+            this.text = text;
+            this.truncated = truncated;
+        }
+
+        public String getText() { return text; }
+        public boolean isTruncated() { return truncated; }
+    }
+
+    private static class BoundedText {
+        private final StringBuilder builder = new StringBuilder();
+        private final int limit;
+        private boolean truncated;
+
+        BoundedText(int limit) {
+            this.limit = limit;
+        }
+
+        boolean isFull() {
+            return builder.length() >= limit;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        void append(String value) {
+            if (value != null) {
+                append(value.toCharArray(), value.length());
+            }
+        }
+
+        void append(char[] chars, int length) {
+            int remaining = limit - builder.length();
+            if (length > remaining) {
+                builder.append(chars, 0, Math.max(remaining, 0));
+                truncated = true;
+            } else {
+                builder.append(chars, 0, length);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.proposalmanagement.service;
 
+import com.proposalmanagement.dto.EvaluationDTO;
+import com.proposalmanagement.dto.ProposalScoreSummaryDTO;
 import com.proposalmanagement.entity.Evaluation;
 import com.proposalmanagement.entity.Notification;
 import com.proposalmanagement.entity.Proposal;
@@ -7,6 +9,8 @@ import com.proposalmanagement.entity.User;
 import com.proposalmanagement.repository.EvaluationRepository;
 import com.proposalmanagement.repository.ProposalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,16 +29,26 @@ public class EvaluationService {
     private ProposalReviewerService proposalReviewerService;
     
     @Autowired
-    private NotificationService notificationService;
+    private NotificationOutboxService notificationOutboxService;
 
     @Autowired
     private ProposalRepository proposalRepository;
     
     @Autowired
     private com.proposalmanagement.repository.UserRepository userRepository;
+
+    @Autowired
+    private ProposalScoreSummaryService proposalScoreSummaryService;
+
+    @Autowired
+    private ProposalRankingService proposalRankingService;
+
+    @Autowired
+    private ReviewerCalibrationService reviewerCalibrationService;
     
-    public List<Evaluation> getAllEvaluations() {
-        return evaluationRepository.findAll();
+    @Transactional(readOnly = true)
+    public Page<EvaluationDTO> getAllEvaluations(int page, int size) {
+        return evaluationRepository.findAllAsDTO(PageRequest.of(page, size));
     }
     
     public Optional<Evaluation> getEvaluationById(Long id) {
@@ -97,15 +111,22 @@ public class EvaluationService {
         
         // Save the evaluation
         Evaluation savedEvaluation = evaluationRepository.save(newEvaluation);
+        scoresChanged(null, ProposalScoreSummaryService.ScoreSnapshot.of(savedEvaluation));
 
         // Update proposal status based on recommendation
         updateProposalStatusBasedOnRecommendation(savedEvaluation);
         
-        // Skip notification creation to avoid transaction issues
-        System.out.println("Evaluation created successfully - skipping notification");
-        
-        // Skip assignment status update to avoid transaction issues
-        System.out.println("Skipping assignment status update");
+        // Notify the principal investigator through the outbox, committed together with the evaluation
+        if (managedProposal.getPrincipalInvestigator() != null) {
+            notificationOutboxService.enqueue(
+                "evaluation-received:" + savedEvaluation.getId(),
+                managedProposal.getPrincipalInvestigator().getId(),
+                "New Evaluation Received",
+                String.format("A reviewer has submitted an evaluation for your proposal: '%s'. Recommendation: %s",
+                    managedProposal.getTitle(), getRecommendationText(savedEvaluation.getRecommendation())),
+                Notification.Type.EVALUATION_RECEIVED,
+                managedProposal.getId());
+        }
         
         return savedEvaluation;
     }
@@ -129,6 +150,7 @@ public class EvaluationService {
     public Evaluation updateEvaluation(Long id, Evaluation evaluationDetails) {
         Evaluation evaluation = evaluationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Evaluation not found with id: " + id));
+        ProposalScoreSummaryService.ScoreSnapshot before = ProposalScoreSummaryService.ScoreSnapshot.of(evaluation);
         
         evaluation.setEvaluationStage(evaluationDetails.getEvaluationStage());
         evaluation.setOverallScore(evaluationDetails.getOverallScore());
@@ -143,6 +165,7 @@ public class EvaluationService {
         evaluation.setConflictOfInterest(evaluationDetails.getConflictOfInterest());
         
         Evaluation savedEvaluation = evaluationRepository.save(evaluation);
+        scoresChanged(before, ProposalScoreSummaryService.ScoreSnapshot.of(savedEvaluation));
         
         // Update proposal status based on recommendation
         updateProposalStatusBasedOnRecommendation(savedEvaluation);
@@ -153,6 +176,7 @@ public class EvaluationService {
     public void deleteEvaluation(Long id) {
         Evaluation evaluation = evaluationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Evaluation not found with id: " + id));
+        scoresChanged(ProposalScoreSummaryService.ScoreSnapshot.of(evaluation), null);
         evaluationRepository.delete(evaluation);
     }
     
@@ -168,60 +192,86 @@ public class EvaluationService {
         return evaluationRepository.findByReviewer(reviewer);
     }
     
-    public List<Evaluation> getEvaluationsByReviewerId(Long reviewerId) {
-        return evaluationRepository.findByReviewerId(reviewerId);
+    @Transactional(readOnly = true)
+    public Page<EvaluationDTO> getEvaluationsByReviewerId(Long reviewerId, int page, int size) {
+        return evaluationRepository.findDTOsByReviewerId(reviewerId, PageRequest.of(page, size));
     }
     
     public Optional<Evaluation> getEvaluationByProposalAndReviewer(Long proposalId, Long reviewerId) {
         return evaluationRepository.findByProposalIdAndReviewerId(proposalId, reviewerId);
     }
     
-    public List<Evaluation> getEvaluationsByRecommendation(Evaluation.Recommendation recommendation) {
-        return evaluationRepository.findByRecommendation(recommendation);
+    @Transactional(readOnly = true)
+    public Page<EvaluationDTO> getEvaluationsByRecommendation(Evaluation.Recommendation recommendation, int page, int size) {
+        return evaluationRepository.findDTOsByRecommendation(recommendation, PageRequest.of(page, size));
     }
     
-    public List<Evaluation> getFinalEvaluations() {
-        return evaluationRepository.findByIsFinalTrue();
+    @Transactional(readOnly = true)
+    public Page<EvaluationDTO> getFinalEvaluations(int page, int size) {
+        return evaluationRepository.findFinalDTOs(PageRequest.of(page, size));
     }
     
-    public List<Evaluation> getConflictOfInterestEvaluations() {
-        return evaluationRepository.findByConflictOfInterestTrue();
+    @Transactional(readOnly = true)
+    public Page<EvaluationDTO> getConflictOfInterestEvaluations(int page, int size) {
+        return evaluationRepository.findConflictOfInterestDTOs(PageRequest.of(page, size));
     }
     
     public List<Evaluation> getFinalEvaluationsByProposal(Long proposalId) {
         return evaluationRepository.findFinalEvaluationsByProposalId(proposalId);
     }
     
+    // Keeps the score summary and reviewer calibration in step with an evaluation change
+    private void scoresChanged(ProposalScoreSummaryService.ScoreSnapshot before,
+                               ProposalScoreSummaryService.ScoreSnapshot after) {
+        proposalScoreSummaryService.recordChange(before, after);
+        reviewerCalibrationService.recordChange(before, after);
+    }
+    
     private void updateProposalStatusBasedOnRecommendation(Evaluation evaluation) {
         if (evaluation.getRecommendation() == Evaluation.Recommendation.APPROVE) {
             Proposal proposal = evaluation.getProposal();
             proposal.setStatus(Proposal.Status.APPROVED);
             proposalRepository.save(proposal);
+            proposalRankingService.proposalChanged(proposal.getId());
         }
     }
     
     public BigDecimal getAverageOverallScore(Long proposalId) {
-        return evaluationRepository.getAverageOverallScoreByProposalId(proposalId);
+        return getFinalAverage(proposalId, Evaluation.Criterion.OVERALL);
     }
     
     public BigDecimal getAverageTechnicalScore(Long proposalId) {
-        return evaluationRepository.getAverageTechnicalScoreByProposalId(proposalId);
+        return getFinalAverage(proposalId, Evaluation.Criterion.TECHNICAL);
     }
     
     public BigDecimal getAverageInnovationScore(Long proposalId) {
-        return evaluationRepository.getAverageInnovationScoreByProposalId(proposalId);
+        return getFinalAverage(proposalId, Evaluation.Criterion.INNOVATION);
     }
     
     public BigDecimal getAverageFeasibilityScore(Long proposalId) {
-        return evaluationRepository.getAverageFeasibilityScoreByProposalId(proposalId);
+        return getFinalAverage(proposalId, Evaluation.Criterion.FEASIBILITY);
     }
     
     public BigDecimal getAverageBudgetScore(Long proposalId) {
-        return evaluationRepository.getAverageBudgetScoreByProposalId(proposalId);
+        return getFinalAverage(proposalId, Evaluation.Criterion.BUDGET);
     }
     
     public BigDecimal getAverageImpactScore(Long proposalId) {
-        return evaluationRepository.getAverageImpactScoreByProposalId(proposalId);
+        return getFinalAverage(proposalId, Evaluation.Criterion.IMPACT);
+    }
+    
+    public ProposalScoreSummaryDTO getScoreSummary(Long proposalId) {
+        return proposalScoreSummaryService.getSummary(proposalId);
+    }
+    
+    public void rebuildScoreSummaries() {
+        proposalScoreSummaryService.rebuildAll();
+    }
+    
+    // Averages over final evaluations come from the score summary rather than an AVG query
+    private BigDecimal getFinalAverage(Long proposalId, Evaluation.Criterion criterion) {
+        Double mean = proposalScoreSummaryService.getFinalMean(proposalId, criterion);
+        return mean != null ? BigDecimal.valueOf(mean) : null;
     }
     
     public Long getEvaluationCountByProposal(Long proposalId) {
@@ -232,8 +282,9 @@ public class EvaluationService {
         return evaluationRepository.countFinalEvaluationsByProposalId(proposalId);
     }
     
-    public List<Evaluation> getPendingEvaluationsByReviewer(Long reviewerId) {
-        return evaluationRepository.findPendingEvaluationsByReviewerId(reviewerId);
+    @Transactional(readOnly = true)
+    public Page<EvaluationDTO> getPendingEvaluationsByReviewer(Long reviewerId, int page, int size) {
+        return evaluationRepository.findPendingDTOsByReviewerId(reviewerId, PageRequest.of(page, size));
     }
     
     public Evaluation finalizeEvaluation(Long id) {
@@ -243,16 +294,22 @@ public class EvaluationService {
         if (evaluation.getIsFinal()) {
             throw new RuntimeException("Evaluation is already finalized");
         }
+        ProposalScoreSummaryService.ScoreSnapshot before = ProposalScoreSummaryService.ScoreSnapshot.of(evaluation);
         
         evaluation.setIsFinal(true);
-        return evaluationRepository.save(evaluation);
+        Evaluation savedEvaluation = evaluationRepository.save(evaluation);
+        scoresChanged(before, ProposalScoreSummaryService.ScoreSnapshot.of(savedEvaluation));
+        return savedEvaluation;
     }
     
     public Evaluation unfinalizeEvaluation(Long id) {
         Evaluation evaluation = evaluationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Evaluation not found with id: " + id));
+        ProposalScoreSummaryService.ScoreSnapshot before = ProposalScoreSummaryService.ScoreSnapshot.of(evaluation);
         
         evaluation.setIsFinal(false);
-        return evaluationRepository.save(evaluation);
+        Evaluation savedEvaluation = evaluationRepository.save(evaluation);
+        scoresChanged(before, ProposalScoreSummaryService.ScoreSnapshot.of(savedEvaluation));
+        return savedEvaluation;
     }
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.NotificationOutbox;
+import com.proposalmanagement.entity.Proposal;
+import com.proposalmanagement.repository.NotificationOutboxRepository;
+import com.proposalmanagement.repository.NotificationRepository;
+import com.proposalmanagement.repository.ProjectRepository;
+import com.proposalmanagement.repository.ProposalRepository;
+import com.proposalmanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the notification outbox. Each entry is delivered in its own transaction; failures
+ * are retried with exponential backoff until {@code notification.outbox.max-attempts} is reached.
+ * The idempotency key is copied onto the created notification, so an entry that is retried
+ * after a partial failure is never delivered twice.
+ *
+ * Entries carrying a coalesce key are delivered together with every other pending entry for
+ * the same key, producing one digest notification instead of one row per event.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // Length of notifications.idempotency_key
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 200;
+
+    private static final String DIGEST_KEY_PREFIX = "digest:";
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    @Value("${notification.outbox.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    @Value("${notification.digest.max-entries:500}")
+    private int maxDigestEntries;
+
+    @Value("${notification.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            TransactionTemplate readOnly = BulkReads.readOnly(transactionManager);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> dueIds = readOnly.execute(tx ->
+                        notificationOutboxRepository.findDueIds(now, PageRequest.of(0, batchSize)));
+                if (dueIds == null || dueIds.isEmpty()) {
+                    return;
+                }
+                for (Long entryId : dueIds) {
+                    dispatch(entryId);
+                }
+                if (dueIds.size() < batchSize) {
+                    return;
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.cleanup-cron:0 15 3 * * *}")
+    public void purgeDispatched() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = new TransactionTemplate(transactionManager).execute(tx ->
+                notificationOutboxRepository.deleteDispatchedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} dispatched notification outbox entries", deleted);
+        }
+    }
+
+    private void dispatch(Long entryId) {
+        try {
+            requiresNew().executeWithoutResult(tx -> {
+                NotificationOutbox entry = notificationOutboxRepository.findById(entryId).orElse(null);
+                if (entry == null || entry.getStatus() != NotificationOutbox.Status.PENDING) {
+                    return;
+                }
+                List<NotificationOutbox> group = entry.getCoalesceKey() != null
+                        ? notificationOutboxRepository.findPendingByCoalesceKey(entry.getCoalesceKey(),
+                                PageRequest.of(0, maxDigestEntries))
+                        : List.of(entry);
+                Notification notification = group.size() > 1 ? toDigest(group) : toNotification(entry);
+                if (!notificationRepository.existsByIdempotencyKey(notification.getIdempotencyKey())) {
+                    notificationService.createNotification(notification);
+                }
+                LocalDateTime now = LocalDateTime.now();
+                for (NotificationOutbox delivered : group) {
+                    delivered.setStatus(NotificationOutbox.Status.DISPATCHED);
+                    delivered.setDispatchedDate(now);
+                    delivered.setLastError(null);
+                }
+                notificationOutboxRepository.saveAll(group);
+            });
+        } catch (RuntimeException e) {
+            recordFailure(entryId, e);
+        }
+    }
+
+    private void recordFailure(Long entryId, RuntimeException error) {
+        requiresNew().executeWithoutResult(tx -> notificationOutboxRepository.findById(entryId).ifPresent(entry -> {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            entry.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+            if (attempts >= maxAttempts) {
+                entry.setStatus(NotificationOutbox.Status.FAILED);
+                logger.error("Giving up on notification outbox entry {} ({}) after {} attempts: {}",
+                        entryId, entry.getIdempotencyKey(), attempts, message);
+            } else {
+                long delay = Math.min(retryBaseSeconds << Math.min(attempts - 1, 20), retryMaxSeconds);
+                entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+                logger.warn("Notification outbox entry {} failed (attempt {}), retrying in {}s: {}",
+                        entryId, attempts, delay, message);
+            }
+            notificationOutboxRepository.save(entry);
+        }));
+    }
+
+    private Notification toNotification(NotificationOutbox entry) {
+        Notification notification = new Notification();
+        notification.setUser(userRepository.getReferenceById(entry.getUserId()));
+        notification.setTitle(entry.getTitle());
+        notification.setMessage(entry.getMessage());
+        notification.setType(entry.getType());
+        notification.setPriority(entry.getPriority());
+        notification.setIsRead(false);
+        if (entry.getRelatedProposalId() != null) {
+            notification.setRelatedProposal(proposalRepository.getReferenceById(entry.getRelatedProposalId()));
+        }
+        if (entry.getRelatedProjectId() != null) {
+            notification.setRelatedProject(projectRepository.getReferenceById(entry.getRelatedProjectId()));
+        }
+        notification.setRelatedEntityId(entry.getRelatedEntityId());
+        notification.setRelatedEntityType(entry.getRelatedEntityType());
+        notification.setActionUrl(entry.getActionUrl());
+        notification.setIdempotencyKey(entry.getIdempotencyKey());
+        return notification;
+    }
+
+    // Entries are ordered by id; the newest one supplies the title and link
+    private Notification toDigest(List<NotificationOutbox> group) {
+        NotificationOutbox first = group.get(0);
+        NotificationOutbox latest = group.get(group.size() - 1);
+        Notification notification = toNotification(latest);
+
+        Proposal proposal = notification.getRelatedProposal();
+        String subject = latest.getRelatedEntityType() != null
+                ? latest.getRelatedEntityType().toLowerCase().replace('_', ' ') + "s"
+                : "notifications";
+        notification.setMessage(group.size() + " new " + subject
+                + (proposal != null ? " on '" + proposal.getTitle() + "'" : ""));
+        notification.setRelatedEntityId(null);
+        // Keyed on the oldest entry, so a retried digest is still delivered once
+        notification.setIdempotencyKey(digestKey(first.getIdempotencyKey()));
+        return notification;
+    }
+
+    // Source keys may use the whole column, so long ones are replaced by their hash
+    private static String digestKey(String sourceKey) {
+        String key = DIGEST_KEY_PREFIX + sourceKey;
+        if (key.length() <= MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return key;
+        }
+        return DIGEST_KEY_PREFIX + DigestUtils.md5DigestAsHex(sourceKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
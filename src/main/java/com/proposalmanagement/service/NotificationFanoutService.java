@@ -0,0 +1,154 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.NotificationBroadcastRequest;
+import com.proposalmanagement.dto.NotificationSummaryDTO;
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.User;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.repository.NotificationRepository;
+import com.proposalmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sends one notification to a whole audience.
+ *
+ * Recipients are resolved with id-only queries and the rows are written with JDBC batch
+ * inserts ({@code rewriteBatchedStatements} turns each batch into a single multi-row INSERT),
+ * so announcing to thousands of users takes a handful of statements instead of one insert
+ * per recipient. Unread counters and push events are applied after commit, as for
+ * notifications created through {@link NotificationService}.
+ */
+@Service
+@Transactional
+public class NotificationFanoutService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, title, message, notification_type, priority, is_read, " +
+            "is_email_sent, action_url, created_date, idempotency_key) VALUES (?, ?, ?, ?, ?, false, false, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Value("${notification.fanout.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Notify every active user in the request's audience. Returns the number of recipients.
+     */
+    public int broadcast(NotificationBroadcastRequest request) {
+        List<Long> recipients = resolveRecipients(request);
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+
+        String broadcastId = UUID.randomUUID().toString();
+        LocalDateTime createdDate = LocalDateTime.now();
+        Notification.Type type = request.getType() != null ? request.getType() : Notification.Type.GENERAL;
+        Notification.Priority priority = request.getPriority() != null ? request.getPriority() : Notification.Priority.MEDIUM;
+        Timestamp createdTimestamp = Timestamp.valueOf(createdDate);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, recipients, batchSize, (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, request.getTitle());
+            ps.setString(3, request.getMessage());
+            ps.setString(4, type.name());
+            ps.setString(5, priority.name());
+            if (request.getActionUrl() != null) {
+                ps.setString(6, request.getActionUrl());
+            } else {
+                ps.setNull(6, Types.VARCHAR);
+            }
+            ps.setTimestamp(7, createdTimestamp);
+            ps.setString(8, broadcastKey(broadcastId, userId));
+        });
+
+        // Every recipient gets a push event; offline users keep it in their replay ring
+        List<Object[]> pushTargets = notificationRepository.findIdsAndUserIdsByIdempotencyKeyPrefix(
+                broadcastKeyPrefix(broadcastId) + "%");
+
+        TransactionHooks.afterCommit(() -> {
+            for (Long userId : recipients) {
+                unreadNotificationCounter.add(userId, 1);
+            }
+            for (Object[] row : pushTargets) {
+                Long userId = (Long) row[1];
+                NotificationSummaryDTO summary = new NotificationSummaryDTO((Long) row[0], request.getTitle(),
+                        request.getMessage(), type, priority, false, null, null, null, null,
+                        request.getActionUrl(), createdDate);
+                notificationStreamService.publishNotification(userId, summary);
+                notificationStreamService.publishUnreadCount(userId, unreadNotificationCounter.get(userId));
+            }
+        });
+        return recipients.size();
+    }
+
+    private List<Long> resolveRecipients(NotificationBroadcastRequest request) {
+        if (request.getTarget() == null) {
+            throw new InvalidOperationException("Broadcast target is required");
+        }
+        List<Long> ids;
+        switch (request.getTarget()) {
+            case ROLE:
+                if (request.getRole() == null) {
+                    throw new InvalidOperationException("Role is required for a role broadcast");
+                }
+                ids = userRepository.findActiveIdsByRole(request.getRole());
+                break;
+            case DEPARTMENT:
+                if (request.getDepartmentId() == null) {
+                    throw new InvalidOperationException("Department is required for a department broadcast");
+                }
+                ids = userRepository.findActiveIdsByDepartmentId(request.getDepartmentId());
+                break;
+            case COMMITTEE_CHAIRS:
+                ids = userRepository.findActiveIdsByRole(User.Role.COMMITTEE_CHAIR);
+                break;
+            case USERS:
+                if (request.getUserIds() == null || request.getUserIds().isEmpty()) {
+                    throw new InvalidOperationException("At least one user ID is required");
+                }
+                ids = new ArrayList<>();
+                List<Long> requested = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+                for (int from = 0; from < requested.size(); from += batchSize) {
+                    ids.addAll(userRepository.findActiveIdsByIds(
+                            requested.subList(from, Math.min(from + batchSize, requested.size()))));
+                }
+                break;
+            default:
+                throw new InvalidOperationException("Unsupported broadcast target: " + request.getTarget());
+        }
+        return ids;
+    }
+
+    private String broadcastKey(String broadcastId, Long userId) {
+        return broadcastKeyPrefix(broadcastId) + userId;
+    }
+
+    private String broadcastKeyPrefix(String broadcastId) {
+        return "broadcast:" + broadcastId + ":";
+    }
+}
@@ -0,0 +1,185 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.NotificationOutbox;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records notifications in the outbox as part of the caller's transaction. Delivery is
+ * done later by {@link NotificationDispatcher}, so a slow or failing notification can never
+ * hold up or roll back the business write.
+ *
+ * Bursty events (comments, workflow churn) can be queued with {@link #enqueueCoalesced}: entries
+ * for the same user, proposal and type are held for the user's digest window and delivered
+ * as a single notification.
+ */
+@Service
+@Transactional
+public class NotificationOutboxService {
+
+    private static final String DIGEST_ENABLED_KEY = "notifications.digest.enabled";
+    private static final String DIGEST_WINDOW_KEY = "notifications.digest.window-minutes";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notification_outbox (idempotency_key, user_id, title, message, notification_type, priority, " +
+            "related_proposal_id, related_project_id, related_entity_id, related_entity_type, action_url, coalesce_key, " +
+            "status, attempts, next_attempt_at, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private SettingsService settingsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notification.digest.enabled:true}")
+    private boolean digestEnabled;
+
+    @Value("${notification.digest.window-minutes:10}")
+    private int defaultWindowMinutes;
+
+    @Value("${notification.digest.preference-cache-ms:60000}")
+    private long preferenceCacheMs;
+
+    // Digest window per user in minutes (0 = digests off), cached to keep settings lookups off the hot path
+    private final ConcurrentHashMap<Long, CachedWindow> digestWindows = new ConcurrentHashMap<>();
+
+    /**
+     * Queue a notification. Returns false if an entry with the same idempotency key exists.
+     */
+    public boolean enqueue(NotificationOutbox entry) {
+        if (entry.getIdempotencyKey() == null || entry.getUserId() == null) {
+            throw new InvalidOperationException("Outbox entries need an idempotency key and a recipient");
+        }
+        if (notificationOutboxRepository.existsByIdempotencyKey(entry.getIdempotencyKey())) {
+            return false;
+        }
+        notificationOutboxRepository.save(entry);
+        return true;
+    }
+
+    /**
+     * Queue many notifications at once: one query to skip keys that already exist and JDBC
+     * batch inserts for the rest. Returns the number of entries queued.
+     */
+    public int enqueueAll(List<NotificationOutbox> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Set<String> keys = new HashSet<>();
+        for (NotificationOutbox entry : entries) {
+            if (entry.getIdempotencyKey() == null || entry.getUserId() == null) {
+                throw new InvalidOperationException("Outbox entries need an idempotency key and a recipient");
+            }
+            keys.add(entry.getIdempotencyKey());
+        }
+        Set<String> existing = new HashSet<>(notificationOutboxRepository.findExistingIdempotencyKeys(keys));
+
+        List<NotificationOutbox> toInsert = new ArrayList<>();
+        for (NotificationOutbox entry : entries) {
+            // add() also drops duplicates within the same call
+            if (existing.add(entry.getIdempotencyKey())) {
+                toInsert.add(entry);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, toInsert.size(), (ps, entry) -> {
+            ps.setString(1, entry.getIdempotencyKey());
+            ps.setLong(2, entry.getUserId());
+            ps.setString(3, entry.getTitle());
+            ps.setString(4, entry.getMessage());
+            ps.setString(5, entry.getType().name());
+            ps.setString(6, entry.getPriority().name());
+            setNullableLong(ps, 7, entry.getRelatedProposalId());
+            setNullableLong(ps, 8, entry.getRelatedProjectId());
+            setNullableLong(ps, 9, entry.getRelatedEntityId());
+            ps.setString(10, entry.getRelatedEntityType());
+            ps.setString(11, entry.getActionUrl());
+            ps.setString(12, entry.getCoalesceKey());
+            ps.setTimestamp(13, entry.getNextAttemptAt() != null ? Timestamp.valueOf(entry.getNextAttemptAt()) : now);
+            ps.setTimestamp(14, now);
+        });
+        return toInsert.size();
+    }
+
+    public boolean enqueue(String idempotencyKey, Long userId, String title, String message,
+                           Notification.Type type, Long relatedProposalId) {
+        NotificationOutbox entry = new NotificationOutbox(idempotencyKey, userId, title, message, type);
+        entry.setRelatedProposalId(relatedProposalId);
+        return enqueue(entry);
+    }
+
+    /**
+     * Queue a notification that may be merged with others for the same user, proposal and type.
+     * Urgent and high priority entries, entries without a proposal and users who turned digests
+     * off are delivered immediately as with {@link #enqueue(NotificationOutbox)}.
+     */
+    public boolean enqueueCoalesced(NotificationOutbox entry) {
+        int windowMinutes = digestWindowMinutes(entry.getUserId());
+        if (windowMinutes > 0 && entry.getRelatedProposalId() != null && isDeferrable(entry.getPriority())) {
+            entry.setCoalesceKey(entry.getUserId() + ":" + entry.getRelatedProposalId() + ":" + entry.getType()
+                    + ":" + (entry.getRelatedEntityType() != null ? entry.getRelatedEntityType() : ""));
+            entry.setNextAttemptAt(LocalDateTime.now().plusMinutes(windowMinutes));
+        }
+        return enqueue(entry);
+    }
+
+    private int digestWindowMinutes(Long userId) {
+        if (!digestEnabled || userId == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        CachedWindow cached = digestWindows.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.minutes();
+        }
+        // Preference changes take effect once the cached entry expires
+        int minutes = 0;
+        if (Boolean.parseBoolean(settingsService.getUserSettingValue(DIGEST_ENABLED_KEY, userId, "true"))) {
+            try {
+                minutes = Integer.parseInt(settingsService.getUserSettingValue(DIGEST_WINDOW_KEY, userId,
+                        String.valueOf(defaultWindowMinutes)));
+            } catch (NumberFormatException e) {
+                minutes = defaultWindowMinutes;
+            }
+        }
+        digestWindows.put(userId, new CachedWindow(Math.max(minutes, 0), now + preferenceCacheMs));
+        return Math.max(minutes, 0);
+    }
+
+    private void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private boolean isDeferrable(Notification.Priority priority) {
+        return priority != Notification.Priority.HIGH && priority != Notification.Priority.URGENT;
+    }
+
+    private record CachedWindow(int minutes, long expiresAt) {}
+}
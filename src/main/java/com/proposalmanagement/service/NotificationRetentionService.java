@@ -0,0 +1,135 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.repository.NotificationArchiveRepository;
+import com.proposalmanagement.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Enforces notification retention per {@link Notification.Type}.
+ *
+ * Read notifications are deleted after their read retention; unread ones are removed after
+ * the (longer) unread retention, either deleted or moved to {@code notifications_archive}.
+ * Retention can be overridden per type at runtime through the settings table, e.g.
+ * {@code notifications.retention.read-days.GENERAL}; a value of 0 keeps that type forever.
+ * Work is done in bounded chunks, each in its own transaction.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final String READ_DAYS_KEY = "notifications.retention.read-days";
+    private static final String UNREAD_DAYS_KEY = "notifications.retention.unread-days";
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationArchiveRepository notificationArchiveRepository;
+
+    @Autowired
+    private SettingsService settingsService;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.retention.read-days:90}")
+    private int defaultReadDays;
+
+    @Value("${notification.retention.unread-days:365}")
+    private int defaultUnreadDays;
+
+    @Value("${notification.retention.archive-unread:true}")
+    private boolean archiveUnread;
+
+    @Value("${notification.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${notification.retention.chunk-pause-ms:50}")
+    private long chunkPauseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${notification.retention.cron:0 0 4 * * *}")
+    public void enforceRetention() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long purged = 0;
+            long removedUnread = 0;
+            for (Notification.Type type : Notification.Type.values()) {
+                int readDays = retentionDays(READ_DAYS_KEY, type, defaultReadDays);
+                if (readDays > 0) {
+                    purged += removeChunked(type, true, LocalDateTime.now().minusDays(readDays), false);
+                }
+                int unreadDays = retentionDays(UNREAD_DAYS_KEY, type, defaultUnreadDays);
+                if (unreadDays > 0) {
+                    removedUnread += removeChunked(type, false, LocalDateTime.now().minusDays(unreadDays), archiveUnread);
+                }
+            }
+            if (removedUnread > 0) {
+                unreadNotificationCounter.invalidateAll();
+            }
+            if (purged > 0 || removedUnread > 0) {
+                logger.info("Notification retention: deleted {} read, {} {} unread notifications",
+                        purged, archiveUnread ? "archived" : "deleted", removedUnread);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long removeChunked(Notification.Type type, boolean isRead, LocalDateTime cutoff, boolean archive)
+            throws InterruptedException {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        long total = 0;
+        while (true) {
+            Integer removed = template.execute(tx -> {
+                List<Long> ids = notificationRepository.findRetentionCandidateIds(type, isRead, cutoff,
+                        PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                if (archive) {
+                    notificationArchiveRepository.archiveByIds(ids);
+                }
+                return notificationRepository.deleteByIds(ids);
+            });
+            if (removed == null || removed == 0) {
+                return total;
+            }
+            total += removed;
+            if (chunkPauseMs > 0) {
+                // Leave room for interactive traffic between chunks
+                Thread.sleep(chunkPauseMs);
+            }
+        }
+    }
+
+    private int retentionDays(String key, Notification.Type type, int defaultDays) {
+        int globalDays = settingsService.getIntegerSetting(key, defaultDays);
+        return settingsService.getIntegerSetting(key + "." + type.name(), globalDays);
+    }
+}
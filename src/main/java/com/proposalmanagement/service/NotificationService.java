@@ -1,15 +1,30 @@
 package com.proposalmanagement.service;
 
+import com.proposalmanagement.dto.NotificationSummaryDTO;
+import com.proposalmanagement.entity.Comment;
 import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.NotificationOutbox;
+import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.repository.CommentRepository;
 import com.proposalmanagement.repository.NotificationRepository;
+import com.proposalmanagement.repository.ProjectRepository;
+import com.proposalmanagement.repository.ProposalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -18,6 +33,30 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+    
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+    
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+    
+    @Autowired
+    private ProposalRepository proposalRepository;
+    
+    @Autowired
+    private ProjectRepository projectRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${notification.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+    
     public List<Notification> getAllNotifications() {
         return notificationRepository.findAll();
     }
@@ -27,13 +66,17 @@ public class NotificationService {
     }
     
     public Notification createNotification(Notification notification) {
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        afterCreated(savedNotification);
+        return savedNotification;
     }
     
     public Notification updateNotification(Long id, Notification notificationDetails) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
         
+        boolean wasUnread = !Boolean.TRUE.equals(notification.getIsRead());
+        
         notification.setTitle(notificationDetails.getTitle());
         notification.setMessage(notificationDetails.getMessage());
         notification.setType(notificationDetails.getType());
@@ -41,13 +84,19 @@ public class NotificationService {
         notification.setRelatedProposal(notificationDetails.getRelatedProposal());
         notification.setRelatedProject(notificationDetails.getRelatedProject());
         
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        boolean isUnread = !Boolean.TRUE.equals(savedNotification.getIsRead());
+        afterUnreadChanged(savedNotification.getUser().getId(), (isUnread ? 1 : 0) - (wasUnread ? 1 : 0));
+        return savedNotification;
     }
     
     public void deleteNotification(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            afterUnreadChanged(notification.getUser().getId(), -1);
+        }
     }
     
     public List<Notification> getNotificationsByUser(User user) {
@@ -62,12 +111,21 @@ public class NotificationService {
         return notificationRepository.findUnreadByUserIdOrderByCreatedDateDesc(userId);
     }
     
+    /**
+     * One page of a user's inbox, newest first. Pass the id of the last item of the previous
+     * page as {@code beforeId} to continue; null starts from the newest notification.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationSummaryDTO> getInboxPage(Long userId, Long beforeId, int size, boolean unreadOnly) {
+        return notificationRepository.findInboxPage(userId, beforeId, unreadOnly, PageRequest.of(0, size));
+    }
+    
     public List<Notification> getNotificationsByType(Notification.Type type) {
         return notificationRepository.findByType(type);
     }
     
     public Long getUnreadNotificationCount(Long userId) {
-        return notificationRepository.countUnreadByUserId(userId);
+        return unreadNotificationCounter.get(userId);
     }
     
     public List<Notification> getNotificationsByProposal(Long proposalId) {
@@ -82,47 +140,89 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
         
-        if (!notification.getIsRead()) {
+        boolean wasUnread = !notification.getIsRead();
+        if (wasUnread) {
             notification.setIsRead(true);
             notification.setReadDate(LocalDateTime.now());
         }
         
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        if (wasUnread) {
+            afterUnreadChanged(savedNotification.getUser().getId(), -1);
+        }
+        return savedNotification;
     }
     
     public Notification markAsUnread(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
         
+        boolean wasRead = Boolean.TRUE.equals(notification.getIsRead());
         notification.setIsRead(false);
         notification.setReadDate(null);
         
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        if (wasRead) {
+            afterUnreadChanged(savedNotification.getUser().getId(), 1);
+        }
+        return savedNotification;
     }
     
+    // Bulk operations work on chunks of ids so memory stays constant regardless of inbox size
     public void markAllAsReadForUser(Long userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndIsReadFalse(userId);
         LocalDateTime now = LocalDateTime.now();
-        
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
-            notification.setReadDate(now);
+        long updated = 0;
+        List<Long> ids;
+        while (!(ids = notificationRepository.findUnreadIdsByUserId(userId, PageRequest.of(0, bulkChunkSize))).isEmpty()) {
+            updated += notificationRepository.markAsReadByIds(ids, now);
         }
-        
-        notificationRepository.saveAll(unreadNotifications);
+        afterUnreadChanged(userId, -updated);
     }
     
     public void deleteAllNotificationsForUser(Long userId) {
-        List<Notification> userNotifications = notificationRepository.findByUserId(userId);
-        notificationRepository.deleteAll(userNotifications);
+        long deletedUnread = 0;
+        List<Long> ids;
+        while (!(ids = notificationRepository.findUnreadIdsByUserId(userId, PageRequest.of(0, bulkChunkSize))).isEmpty()) {
+            deletedUnread += notificationRepository.deleteByIds(ids);
+        }
+        deleteReadNotificationsForUser(userId);
+        afterUnreadChanged(userId, -deletedUnread);
     }
     
     public void deleteReadNotificationsForUser(Long userId) {
-        List<Notification> notifications = notificationRepository.findByUserId(userId);
-        List<Notification> readNotifications = notifications.stream()
-                .filter(Notification::getIsRead)
-                .toList();
-        notificationRepository.deleteAll(readNotifications);
+        List<Long> ids;
+        while (!(ids = notificationRepository.findReadIdsByUserId(userId, PageRequest.of(0, bulkChunkSize))).isEmpty()) {
+            notificationRepository.deleteByIds(ids);
+        }
+    }
+    
+    /**
+     * Delete notifications created more than {@code days} days ago. Each chunk is committed on
+     * its own so the purge never holds long-running locks on the notifications table.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long purgeNotificationsOlderThan(int days, boolean includeUnread) {
+        if (days < 1) {
+            throw new InvalidOperationException("Retention must be at least one day");
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        long deleted = 0;
+        while (true) {
+            Integer chunkDeleted = template.execute(tx -> {
+                List<Long> ids = notificationRepository.findIdsCreatedBefore(cutoff, includeUnread,
+                        PageRequest.of(0, bulkChunkSize));
+                return ids.isEmpty() ? 0 : notificationRepository.deleteByIds(ids);
+            });
+            if (chunkDeleted == null || chunkDeleted == 0) {
+                break;
+            }
+            deleted += chunkDeleted;
+        }
+        if (includeUnread && deleted > 0) {
+            unreadNotificationCounter.invalidateAll();
+        }
+        return deleted;
     }
     
     public Notification createNotificationForUser(Long userId, String title, String message, 
@@ -136,9 +236,12 @@ public class NotificationService {
         notification.setMessage(message);
         notification.setType(type);
         
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        afterCreated(savedNotification);
+        return savedNotification;
     }
     
+    // One insert per recipient; use NotificationFanoutService.broadcast for large audiences
     public List<Notification> createBulkNotifications(List<Long> userIds, String title, 
                                                      String message, Notification.Type type) {
         List<Notification> notifications = userIds.stream()
@@ -156,13 +259,45 @@ public class NotificationService {
                 })
                 .toList();
         
-        return notificationRepository.saveAll(notifications);
+        List<Notification> savedNotifications = notificationRepository.saveAll(notifications);
+        savedNotifications.forEach(this::afterCreated);
+        return savedNotifications;
     }
     
     // Specific notification methods expected by other services
-    public void sendCommentNotification(com.proposalmanagement.entity.Comment comment) {
-        // TODO: Implement comment notification logic
-        System.out.println("Sending comment notification for comment: " + comment.getId());
+    // Comment notifications are coalesced per proposal, so a busy thread yields one digest per recipient
+    public void sendCommentNotification(Comment comment) {
+        Proposal proposal = resolveCommentProposal(comment);
+        if (proposal == null) {
+            return;
+        }
+        
+        Set<Long> recipients = new LinkedHashSet<>();
+        // Internal comments are staff-only and are not pushed to the investigator
+        if (!Boolean.TRUE.equals(comment.getIsInternal()) && proposal.getPrincipalInvestigator() != null) {
+            recipients.add(proposal.getPrincipalInvestigator().getId());
+        }
+        if (comment.getParentComment() != null && comment.getParentComment().getId() != null) {
+            commentRepository.findById(comment.getParentComment().getId())
+                    .map(Comment::getAuthor)
+                    .ifPresent(parentAuthor -> recipients.add(parentAuthor.getId()));
+        }
+        if (comment.getAuthor() != null) {
+            recipients.remove(comment.getAuthor().getId());
+        }
+        
+        for (Long userId : recipients) {
+            NotificationOutbox entry = new NotificationOutbox(
+                    "comment-created:" + comment.getId() + ":" + userId,
+                    userId,
+                    "New Comment",
+                    String.format("A new comment was posted on proposal '%s'", proposal.getTitle()),
+                    Notification.Type.GENERAL);
+            entry.setRelatedProposalId(proposal.getId());
+            entry.setRelatedEntityId(comment.getId());
+            entry.setRelatedEntityType("COMMENT");
+            notificationOutboxService.enqueueCoalesced(entry);
+        }
     }
     
     public void sendCommentResolutionNotification(com.proposalmanagement.entity.Comment comment) {
@@ -189,4 +324,41 @@ public class NotificationService {
         // TODO: Implement milestone completion notification logic
         System.out.println("Sending milestone completion notification for milestone: " + milestone.getId());
     }
+    
+    private Proposal resolveCommentProposal(Comment comment) {
+        if (comment.getProposal() != null && comment.getProposal().getId() != null) {
+            return proposalRepository.findById(comment.getProposal().getId()).orElse(null);
+        }
+        if (comment.getProject() != null && comment.getProject().getId() != null) {
+            return projectRepository.findById(comment.getProject().getId())
+                    .map(project -> project.getProposal())
+                    .orElse(null);
+        }
+        return null;
+    }
+    
+    // Counter updates and push events are applied only once the change has committed
+    private void afterCreated(Notification notification) {
+        Long userId = notification.getUser().getId();
+        boolean unread = !Boolean.TRUE.equals(notification.getIsRead());
+        NotificationSummaryDTO summary = NotificationSummaryDTO.from(notification);
+        TransactionHooks.afterCommit(() -> {
+            if (unread) {
+                unreadNotificationCounter.add(userId, 1);
+            }
+            // Published even while offline so a reconnect with Last-Event-ID can replay it
+            notificationStreamService.publishNotification(userId, summary);
+            notificationStreamService.publishUnreadCount(userId, unreadNotificationCounter.get(userId));
+        });
+    }
+    
+    private void afterUnreadChanged(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            unreadNotificationCounter.add(userId, delta);
+            notificationStreamService.publishUnreadCount(userId, unreadNotificationCounter.get(userId));
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.NotificationSummaryDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events push channel for notifications.
+ *
+ * Connections are held with {@link SseEmitter} on the async servlet API, so an idle
+ * connection costs no thread. Every connection has a small bounded buffer drained by a shared
+ * sender pool; a client that falls too far behind is disconnected and catches up on
+ * reconnect via {@code Last-Event-ID}, which is served from a per-user ring of recent events.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    @Value("${notification.stream.timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${notification.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${notification.stream.replay-size:50}")
+    private int replaySize;
+
+    @Value("${notification.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${notification.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final Map<Long, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    // Seeded from the clock so ids keep increasing across restarts
+    private final AtomicLong eventSequence = new AtomicLong(System.currentTimeMillis());
+
+    private volatile ExecutorService senders;
+
+    /**
+     * Open a stream for a user. Events newer than {@code lastEventId} that are still in the
+     * replay ring are re-sent first; {@code initialUnreadCount} is always pushed so the client
+     * converges even when part of the history is no longer available.
+     */
+    public SseEmitter connect(Long userId, String lastEventId, long initialUnreadCount) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Connection connection = new Connection(userId, emitter, bufferSize);
+
+        List<Connection> evicted = new ArrayList<>();
+        connections.compute(userId, (id, userConnections) -> {
+            List<Connection> list = userConnections != null ? userConnections : new CopyOnWriteArrayList<>();
+            list.add(connection);
+            // Oldest tabs lose; they reconnect if still open
+            while (list.size() > maxConnectionsPerUser) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+        connectionCount.addAndGet(1 - evicted.size());
+        evicted.forEach(Connection::close);
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        Long since = parseEventId(lastEventId);
+        if (since != null) {
+            ReplayBuffer replay = replayBuffers.get(userId);
+            if (replay != null) {
+                replay.since(since).forEach(connection::offer);
+            }
+        }
+        connection.offer(new StreamEvent(null, EVENT_UNREAD_COUNT, Collections.singletonMap("count", initialUnreadCount)));
+        schedule(connection);
+        return emitter;
+    }
+
+    public boolean hasConnections(Long userId) {
+        List<Connection> userConnections = connections.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public void publishNotification(Long userId, NotificationSummaryDTO notification) {
+        publish(userId, EVENT_NOTIFICATION, notification);
+    }
+
+    public void publishUnreadCount(Long userId, long unreadCount) {
+        publish(userId, EVENT_UNREAD_COUNT, Collections.singletonMap("count", unreadCount));
+    }
+
+    private void publish(Long userId, String name, Object data) {
+        StreamEvent event = new StreamEvent(eventSequence.incrementAndGet(), name, data);
+        // Only users who have connected at least once keep a replay ring
+        ReplayBuffer replay = replayBuffers.get(userId);
+        if (replay != null) {
+            replay.add(event);
+        }
+        List<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            if (connection.offer(event)) {
+                schedule(connection);
+            } else {
+                logger.debug("Notification stream buffer full for user {}, closing connection", userId);
+                connection.close();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${notification.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        for (List<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                if (connection.offer(StreamEvent.HEARTBEAT)) {
+                    schedule(connection);
+                }
+            }
+        }
+        // Drop replay rings of users that have been offline for a while
+        long cutoff = System.currentTimeMillis() - emitterTimeout;
+        replayBuffers.entrySet().removeIf(entry -> !hasConnections(entry.getKey()) && entry.getValue().lastUsed < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    private void schedule(Connection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                senders().execute(() -> drain(connection));
+            } catch (RuntimeException e) {
+                connection.draining.set(false);
+            }
+        }
+    }
+
+    // At most one drain runs per connection, so events are written in order
+    private void drain(Connection connection) {
+        try {
+            StreamEvent event;
+            while ((event = connection.buffer.poll()) != null) {
+                if (!connection.send(event)) {
+                    return;
+                }
+            }
+        } finally {
+            connection.draining.set(false);
+        }
+        // An event may have arrived between the last poll and releasing the flag
+        if (!connection.buffer.isEmpty() && !connection.closed.get()) {
+            schedule(connection);
+        }
+    }
+
+    private void remove(Connection connection) {
+        connection.closed.set(true);
+        AtomicBoolean removed = new AtomicBoolean();
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            removed.set(userConnections.remove(connection));
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        if (removed.get()) {
+            connectionCount.decrementAndGet();
+            ReplayBuffer replay = replayBuffers.get(connection.userId);
+            if (replay != null) {
+                replay.touch();
+            }
+        }
+    }
+
+    private ExecutorService senders() {
+        ExecutorService current = senders;
+        if (current == null) {
+            synchronized (this) {
+                if (senders == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+                        Thread thread = new Thread(runnable, "notification-stream-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                current = senders;
+            }
+        }
+        return current;
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            replayBuffers.computeIfAbsent(userId, id -> new ReplayBuffer(replaySize)).touch();
+        }
+
+        boolean offer(StreamEvent event) {
+            return !closed.get() && buffer.offer(event);
+        }
+
+        boolean send(StreamEvent event) {
+            if (closed.get()) {
+                return false;
+            }
+            try {
+                if (event == StreamEvent.HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name)
+                            .data(event.data, MediaType.APPLICATION_JSON);
+                    if (event.id != null) {
+                        builder.id(String.valueOf(event.id));
+                    }
+                    emitter.send(builder);
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports completion through the emitter callbacks
+                remove(this);
+                return false;
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException ignored) {
+                    // already completed
+                }
+            }
+        }
+    }
+
+    private static class StreamEvent {
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        private final Long id;
+        private final String name;
+        private final Object data;
+
+        StreamEvent(Long id, String name, Object data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static class ReplayBuffer {
+        private final Queue<StreamEvent> events = new ArrayDeque<>();
+        private final int capacity;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        ReplayBuffer(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void add(StreamEvent event) {
+            if (events.size() >= capacity) {
+                events.poll();
+            }
+            events.add(event);
+        }
+
+        synchronized List<StreamEvent> since(long eventId) {
+            List<StreamEvent> result = new ArrayList<>();
+            for (StreamEvent event : events) {
+                if (event.id > eventId) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+
+        void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.NotificationOutbox;
+import com.proposalmanagement.entity.ProposalReviewer;
+import com.proposalmanagement.repository.ProposalReviewerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically walks review assignments that are past their due date and escalates them.
+ *
+ * Each open status is scanned separately in keyset pages on (due_date, id), which follows the
+ * (status, due_date) index. The reviewer and the assigner get one outbox notification per
+ * assignment per day (the idempotency key carries the date), and the overdue counts found by
+ * the last scan are exported as the {@code proposal_reviews.overdue} gauge.
+ */
+@Service
+public class OverdueReviewScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueReviewScanner.class);
+
+    private static final ProposalReviewer.AssignmentStatus[] OPEN_STATUSES = {
+        ProposalReviewer.AssignmentStatus.PENDING,
+        ProposalReviewer.AssignmentStatus.IN_PROGRESS,
+        ProposalReviewer.AssignmentStatus.OVERDUE
+    };
+
+    // Lower bound for the first keyset page
+    private static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private ProposalReviewerRepository proposalReviewerRepository;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${review.overdue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${review.overdue.page-size:200}")
+    private int pageSize;
+
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    private final Map<ProposalReviewer.AssignmentStatus, AtomicLong> overdueCounts =
+            new EnumMap<>(ProposalReviewer.AssignmentStatus.class);
+
+    @PostConstruct
+    void registerMetrics() {
+        for (ProposalReviewer.AssignmentStatus status : OPEN_STATUSES) {
+            AtomicLong count = new AtomicLong();
+            overdueCounts.put(status, count);
+            Gauge.builder("proposal_reviews.overdue", count, AtomicLong::get)
+                    .description("Overdue review assignments found by the last scan")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(cron = "${review.overdue.scan-cron:0 0 * * * *}")
+    public void scan() {
+        if (!enabled || !scanning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long escalated = 0;
+            for (ProposalReviewer.AssignmentStatus status : OPEN_STATUSES) {
+                long[] totals = scanStatus(status, now);
+                overdueCounts.get(status).set(totals[0]);
+                escalated += totals[1];
+            }
+            if (escalated > 0) {
+                logger.info("Queued {} overdue review escalations", escalated);
+            }
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    // Returns {overdue assignments seen, notifications queued}
+    private long[] scanStatus(ProposalReviewer.AssignmentStatus status, LocalDateTime now) {
+        TransactionTemplate template = BulkReads.readOnly(transactionManager);
+        LocalDate today = now.toLocalDate();
+        LocalDateTime afterDueDate = SCAN_START;
+        Long afterId = 0L;
+        long seen = 0;
+        long queued = 0;
+        while (true) {
+            LocalDateTime cursorDueDate = afterDueDate;
+            Long cursorId = afterId;
+            List<Object[]> page = template.execute(tx -> proposalReviewerRepository.findOverduePage(
+                    status, now, cursorDueDate, cursorId, PageRequest.of(0, pageSize)));
+            if (page == null || page.isEmpty()) {
+                return new long[] {seen, queued};
+            }
+
+            List<NotificationOutbox> escalations = new ArrayList<>();
+            for (Object[] row : page) {
+                escalations.addAll(toEscalations(row, today));
+            }
+            queued += notificationOutboxService.enqueueAll(escalations);
+            seen += page.size();
+
+            Object[] last = page.get(page.size() - 1);
+            afterDueDate = (LocalDateTime) last[1];
+            afterId = (Long) last[0];
+            if (page.size() < pageSize) {
+                return new long[] {seen, queued};
+            }
+        }
+    }
+
+    private List<NotificationOutbox> toEscalations(Object[] row, LocalDate today) {
+        Long assignmentId = (Long) row[0];
+        LocalDateTime dueDate = (LocalDateTime) row[1];
+        Long reviewerId = (Long) row[2];
+        Long assignedById = (Long) row[3];
+        Long proposalId = (Long) row[4];
+        String proposalTitle = (String) row[5];
+        long daysOverdue = Math.max(1, ChronoUnit.DAYS.between(dueDate.toLocalDate(), today));
+        String keyPrefix = "review-overdue:" + assignmentId + ":" + today + ":";
+
+        List<NotificationOutbox> entries = new ArrayList<>();
+        NotificationOutbox reviewerEntry = new NotificationOutbox(keyPrefix + "reviewer", reviewerId,
+                "Review Overdue",
+                String.format("Your review of '%s' was due on %s and is %d day(s) overdue",
+                        proposalTitle, dueDate.toLocalDate(), daysOverdue),
+                Notification.Type.EVALUATION_OVERDUE);
+        reviewerEntry.setPriority(Notification.Priority.HIGH);
+        reviewerEntry.setRelatedProposalId(proposalId);
+        reviewerEntry.setRelatedEntityId(assignmentId);
+        reviewerEntry.setRelatedEntityType("PROPOSAL_REVIEWER");
+        entries.add(reviewerEntry);
+
+        if (assignedById != null && !assignedById.equals(reviewerId)) {
+            NotificationOutbox assignerEntry = new NotificationOutbox(keyPrefix + "assigner", assignedById,
+                    "Assigned Review Overdue",
+                    String.format("A review you assigned for '%s' was due on %s and is %d day(s) overdue",
+                            proposalTitle, dueDate.toLocalDate(), daysOverdue),
+                    Notification.Type.EVALUATION_OVERDUE);
+            assignerEntry.setPriority(Notification.Priority.HIGH);
+            assignerEntry.setRelatedProposalId(proposalId);
+            assignerEntry.setRelatedEntityId(assignmentId);
+            assignerEntry.setRelatedEntityType("PROPOSAL_REVIEWER");
+            entries.add(assignerEntry);
+        }
+        return entries;
+    }
+}
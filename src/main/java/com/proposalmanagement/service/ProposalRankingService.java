@@ -0,0 +1,364 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.ProposalRankingDTO;
+import com.proposalmanagement.entity.Evaluation;
+import com.proposalmanagement.entity.Proposal;
+import com.proposalmanagement.repository.ProposalRepository;
+import com.proposalmanagement.search.BoundedTopK;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks proposals by a weighted score over their final evaluations.
+ *
+ * The score is the weighted mean of the per-criterion final means held in the score summary,
+ * with weights from {@code proposal.ranking.weights}; criteria nobody scored are left out of
+ * both sides of the mean. The best {@code proposal.ranking.top-k} proposals of every
+ * (department, project type, status) bucket are kept in a {@link BoundedTopK}, updated after
+ * each commit that changes a proposal's final scores or its bucket. A bucket that lost a
+ * member after it had turned entries away is reloaded on its next read.
+ *
+ * The full rebuild streams the final score summary rows joined with their proposals in
+ * proposal id ranges on parallel workers and merges the per-range heaps.
+ */
+@Service
+public class ProposalRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalRankingService.class);
+
+    private static final String SCORE_ROWS_SQL =
+            "SELECT p.id, p.department_id, p.project_type, p.status, s.criterion, s.evaluation_count, " +
+            "s.score_count, s.score_sum FROM proposal_score_summaries s JOIN proposals p ON p.id = s.proposal_id " +
+            "WHERE s.is_final = TRUE AND %s ORDER BY p.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Value("${proposal.ranking.weights:OVERALL:2,TECHNICAL:1,INNOVATION:1,FEASIBILITY:1,BUDGET:1,IMPACT:1}")
+    private String weightSpec;
+
+    @Value("${proposal.ranking.top-k:100}")
+    private int topK;
+
+    @Value("${proposal.ranking.rebuild-workers:4}")
+    private int rebuildWorkers;
+
+    private final Map<Evaluation.Criterion, Double> weights = new EnumMap<>(Evaluation.Criterion.class);
+    private final Object rebuildLock = new Object();
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile Rankings rankings;
+
+    @PostConstruct
+    void parseWeights() {
+        for (String part : weightSpec.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalStateException("Invalid proposal.ranking.weights entry: " + part);
+            }
+            double weight = Double.parseDouble(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Evaluation.Criterion.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalStateException("proposal.ranking.weights must give at least one criterion a positive weight");
+        }
+    }
+
+    /**
+     * A page of the ranking. Null filters match every value; at most {@code top-k} proposals
+     * per bucket are ranked.
+     */
+    public Page<ProposalRankingDTO> getRanking(Long departmentId, Proposal.ProjectType projectType,
+                                               Proposal.Status status, int page, int size) {
+        Rankings current = rankings();
+        List<Ranked> merged = new ArrayList<>();
+        for (BucketKey key : new ArrayList<>(current.buckets.keySet())) {
+            if (key.matches(departmentId, projectType, status)) {
+                BoundedTopK bucket = current.dirty.contains(key) ? reloadBucket(current, key) : current.buckets.get(key);
+                for (BoundedTopK.Entry entry : bucket.sorted()) {
+                    merged.add(new Ranked(key, entry));
+                }
+            }
+        }
+        merged.sort((a, b) -> BoundedTopK.BEST_FIRST.compare(a.entry, b.entry));
+        int total = Math.min(merged.size(), topK);
+
+        PageRequest pageRequest = PageRequest.of(page, size);
+        int from = (int) Math.min(pageRequest.getOffset(), total);
+        int to = Math.min(from + size, total);
+        List<ProposalRankingDTO> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Ranked ranked = merged.get(i);
+            rows.add(new ProposalRankingDTO(i + 1, ranked.entry.getId(), ranked.key.departmentId(),
+                    ranked.key.projectType(), ranked.key.status(), ranked.entry.getScore(), ranked.entry.getWeight()));
+        }
+        if (!rows.isEmpty()) {
+            Map<Long, ProposalRankingDTO> byId = rows.stream()
+                    .collect(Collectors.toMap(ProposalRankingDTO::getProposalId, row -> row));
+            for (Object[] title : proposalRepository.findTitlesByIds(byId.keySet())) {
+                byId.get((Long) title[0]).setTitle((String) title[1]);
+            }
+        }
+        return new PageImpl<>(rows, pageRequest, total);
+    }
+
+    /**
+     * Re-rank the given proposals once the current transaction commits. Call it whenever a
+     * proposal's department, project type or status changes, since those decide its bucket.
+     */
+    public void proposalsChanged(Collection<Long> proposalIds) {
+        if (proposalIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new HashSet<>(proposalIds));
+        TransactionHooks.afterCommit(() -> refresh(ids));
+    }
+
+    public void proposalChanged(Long proposalId) {
+        proposalsChanged(Collections.singletonList(proposalId));
+    }
+
+    @Scheduled(fixedDelayString = "${proposal.ranking.rebuild-interval-ms:3600000}",
+               initialDelayString = "${proposal.ranking.rebuild-interval-ms:3600000}")
+    public void rebuildIfLoaded() {
+        // Nothing to repair until the rankings have been used
+        if (rankings != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild every bucket from the score summaries. Proposals that change while the rebuild
+     * runs are re-ranked against the new buckets once it is swapped in.
+     */
+    public void rebuild() {
+        List<Long> touched;
+        synchronized (rebuildLock) {
+            touchedDuringRebuild.clear();
+            rebuilding = true;
+            try {
+                rankings = load();
+            } finally {
+                rebuilding = false;
+            }
+            touched = new ArrayList<>(touchedDuringRebuild);
+        }
+        refresh(touched);
+    }
+
+    private Rankings rankings() {
+        Rankings current = rankings;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (rankings == null) {
+                    rankings = load();
+                }
+                current = rankings;
+            }
+        }
+        return current;
+    }
+
+    private void refresh(List<Long> proposalIds) {
+        Rankings current = rankings;
+        if (current == null || proposalIds.isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            touchedDuringRebuild.addAll(proposalIds);
+        }
+        Map<Long, Ranked> placements = new HashMap<>();
+        String placeholders = proposalIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        scan(jdbcTemplate, "p.id IN (" + placeholders + ")", proposalIds.toArray(),
+                (key, entry) -> placements.put(entry.getId(), new Ranked(key, entry)));
+        synchronized (current) {
+            for (Long proposalId : proposalIds) {
+                current.place(proposalId, placements.get(proposalId));
+            }
+        }
+    }
+
+    private Rankings load() {
+        long started = System.currentTimeMillis();
+        Rankings loaded = new Rankings(topK);
+        List<Map<BucketKey, BoundedTopK>> partitions = BulkReads.scanIdRanges(jdbcTemplate,
+                "SELECT MIN(proposal_id), MAX(proposal_id) FROM proposal_score_summaries WHERE is_final = TRUE",
+                rebuildWorkers, "proposal-ranking", this::scanRange);
+        for (Map<BucketKey, BoundedTopK> partition : partitions) {
+            partition.forEach((key, bucket) -> loaded.bucket(key).addAll(bucket));
+        }
+
+        loaded.buckets.forEach((key, bucket) -> {
+            for (BoundedTopK.Entry entry : bucket.sorted()) {
+                loaded.locations.put(entry.getId(), key);
+            }
+        });
+        logger.info("Ranked proposals into {} buckets in {} ms", loaded.buckets.size(),
+                System.currentTimeMillis() - started);
+        return loaded;
+    }
+
+    private Map<BucketKey, BoundedTopK> scanRange(long fromId, long toId) {
+        JdbcTemplate streaming = BulkReads.streaming(dataSource);
+        Map<BucketKey, BoundedTopK> partial = new HashMap<>();
+        scan(streaming, "p.id BETWEEN ? AND ?", new Object[] {fromId, toId},
+                (key, entry) -> partial.computeIfAbsent(key, k -> new BoundedTopK(topK)).offer(entry));
+        return partial;
+    }
+
+    // Reloads one bucket that may be missing members it turned away earlier
+    private BoundedTopK reloadBucket(Rankings current, BucketKey key) {
+        synchronized (current) {
+            if (!current.dirty.contains(key)) {
+                return current.buckets.get(key);
+            }
+            BoundedTopK fresh = new BoundedTopK(topK);
+            scan(jdbcTemplate, "p.department_id = ? AND p.project_type = ? AND p.status = ?",
+                    new Object[] {key.departmentId(), key.projectType().name(), key.status().name()},
+                    (scannedKey, entry) -> fresh.offer(entry));
+            current.locations.values().removeIf(key::equals);
+            for (BoundedTopK.Entry entry : fresh.sorted()) {
+                current.locations.put(entry.getId(), key);
+            }
+            current.buckets.put(key, fresh);
+            current.dirty.remove(key);
+            return fresh;
+        }
+    }
+
+    /**
+     * Stream score summary rows (ordered by proposal) and emit each proposal's bucket and
+     * weighted score. Proposals without a scored final evaluation are skipped.
+     */
+    private void scan(JdbcTemplate template, String condition, Object[] args,
+                      BiConsumer<BucketKey, BoundedTopK.Entry> sink) {
+        ScoreAccumulator[] current = new ScoreAccumulator[1];
+        template.query(String.format(SCORE_ROWS_SQL, condition), (RowCallbackHandler) rs -> {
+            long proposalId = rs.getLong(1);
+            if (current[0] == null || current[0].proposalId != proposalId) {
+                emit(current[0], sink);
+                current[0] = new ScoreAccumulator(proposalId, bucketKey(rs));
+            }
+            current[0].add(Evaluation.Criterion.valueOf(rs.getString(5)), rs.getLong(6), rs.getLong(7),
+                    rs.getBigDecimal(8));
+        }, args);
+        emit(current[0], sink);
+    }
+
+    private void emit(ScoreAccumulator accumulator, BiConsumer<BucketKey, BoundedTopK.Entry> sink) {
+        if (accumulator != null && accumulator.weightTotal > 0 && accumulator.finalCount > 0) {
+            double score = Math.round(accumulator.weightedSum / accumulator.weightTotal * 10000) / 10000.0;
+            sink.accept(accumulator.key, new BoundedTopK.Entry(accumulator.proposalId, score, accumulator.finalCount));
+        }
+    }
+
+    private BucketKey bucketKey(ResultSet rs) throws SQLException {
+        return new BucketKey(rs.getLong(2), Proposal.ProjectType.valueOf(rs.getString(3)),
+                Proposal.Status.valueOf(rs.getString(4)));
+    }
+
+    private final class ScoreAccumulator {
+        private final long proposalId;
+        private final BucketKey key;
+        private double weightedSum;
+        private double weightTotal;
+        private long finalCount;
+
+        private ScoreAccumulator(long proposalId, BucketKey key) {
+            this.proposalId = proposalId;
+            this.key = key;
+        }
+
+        private void add(Evaluation.Criterion criterion, long evaluationCount, long scoreCount, BigDecimal scoreSum) {
+            finalCount = Math.max(finalCount, evaluationCount);
+            Double weight = weights.get(criterion);
+            if (weight != null && scoreCount > 0) {
+                weightedSum += weight * scoreSum.doubleValue() / scoreCount;
+                weightTotal += weight;
+            }
+        }
+    }
+
+    private record BucketKey(Long departmentId, Proposal.ProjectType projectType, Proposal.Status status) {
+        boolean matches(Long departmentId, Proposal.ProjectType projectType, Proposal.Status status) {
+            return (departmentId == null || departmentId.equals(this.departmentId))
+                    && (projectType == null || projectType == this.projectType)
+                    && (status == null || status == this.status);
+        }
+    }
+
+    private record Ranked(BucketKey key, BoundedTopK.Entry entry) {}
+
+    // Buckets plus where each kept proposal sits; updates synchronize on the instance
+    private static final class Rankings {
+        private final int capacity;
+        private final Map<BucketKey, BoundedTopK> buckets = new ConcurrentHashMap<>();
+        private final Map<Long, BucketKey> locations = new ConcurrentHashMap<>();
+        private final Set<BucketKey> dirty = ConcurrentHashMap.newKeySet();
+
+        private Rankings(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private BoundedTopK bucket(BucketKey key) {
+            return buckets.computeIfAbsent(key, k -> new BoundedTopK(capacity));
+        }
+
+        private void place(Long proposalId, Ranked placement) {
+            BucketKey previousKey = locations.remove(proposalId);
+            if (previousKey != null) {
+                BoundedTopK previousBucket = buckets.get(previousKey);
+                BoundedTopK.Entry previous = previousBucket.get(proposalId);
+                previousBucket.remove(proposalId);
+                boolean stillThere = placement != null && previous != null && placement.key.equals(previousKey)
+                        && BoundedTopK.BEST_FIRST.compare(placement.entry, previous) <= 0;
+                // A proposal it turned away may now belong in the bucket
+                if (previousBucket.isTruncated() && !stillThere) {
+                    dirty.add(previousKey);
+                }
+            }
+            if (placement != null) {
+                // A proposal pushed out of the bucket no longer has a location in it
+                BucketKey key = placement.key;
+                if (bucket(key).offer(placement.entry, evictedId -> locations.remove(evictedId, key))) {
+                    locations.put(proposalId, key);
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.proposalmanagement.service;
 
+import com.proposalmanagement.dto.ReviewerWorkloadDTO;
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.NotificationOutbox;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.ProposalReviewer;
 import com.proposalmanagement.entity.User;
@@ -7,18 +10,31 @@ import com.proposalmanagement.repository.ProposalRepository;
 import com.proposalmanagement.repository.ProposalReviewerRepository;
 import com.proposalmanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class ProposalReviewerService {
     
+    private static final String INSERT_ASSIGNMENT_SQL =
+            "INSERT INTO proposal_reviewers (proposal_id, reviewer_id, assigned_by_id, assigned_date, due_date, status, notes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
     @Autowired
     private ProposalReviewerRepository proposalReviewerRepository;
     
@@ -29,7 +45,16 @@ public class ProposalReviewerService {
     private UserRepository userRepository;
     
     @Autowired
-    private NotificationService notificationService;
+    private NotificationOutboxService notificationOutboxService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ReviewerWorkloadLeaderboard reviewerWorkloadLeaderboard;
+    
+    @Autowired
+    private ProposalRankingService proposalRankingService;
     
     /**
      * Assign multiple reviewers to a proposal
@@ -41,15 +66,83 @@ public class ProposalReviewerService {
             Long assignedById,
             LocalDateTime dueDate,
             String notes) {
+        Map<Long, List<Long>> reviewersByProposal = new LinkedHashMap<>();
+        reviewersByProposal.put(proposalId, reviewerIds);
+        return assignReviewers(reviewersByProposal, assignedById, dueDate, notes, false);
+    }
+    
+    /**
+     * Assign the same reviewers to several proposals at once.
+     * Pairs that are already assigned are skipped rather than rejected.
+     */
+    public List<ProposalReviewer> assignReviewersToProposals(
+            List<Long> proposalIds,
+            List<Long> reviewerIds,
+            Long assignedById,
+            LocalDateTime dueDate,
+            String notes) {
+        if (proposalIds == null || proposalIds.isEmpty()) {
+            throw new RuntimeException("At least one proposal ID is required");
+        }
+        Map<Long, List<Long>> reviewersByProposal = new LinkedHashMap<>();
+        for (Long proposalId : proposalIds) {
+            reviewersByProposal.put(proposalId, reviewerIds);
+        }
+        return assignReviewers(reviewersByProposal, assignedById, dueDate, notes, true);
+    }
+    
+    /**
+     * Assign a different set of reviewers to each proposal, e.g. a plan from
+     * {@link ReviewerAssignmentEngine}, in one batch. Existing pairs are rejected.
+     */
+    public List<ProposalReviewer> assignReviewerPlan(
+            Map<Long, List<Long>> reviewersByProposal,
+            Long assignedById,
+            LocalDateTime dueDate,
+            String notes) {
+        return assignReviewers(reviewersByProposal, assignedById, dueDate, notes, false);
+    }
+    
+    /**
+     * Proposals, reviewers and existing assignments are each loaded with one query, and the
+     * assignments and their notifications are written with JDBC batch inserts, so the
+     * statement count does not grow with the number of proposals or reviewers.
+     */
+    private List<ProposalReviewer> assignReviewers(
+            Map<Long, List<Long>> reviewersByProposal,
+            Long assignedById,
+            LocalDateTime dueDate,
+            String notes,
+            boolean skipExisting) {
         
-        // Validate proposal exists
-        Proposal proposal = proposalRepository.findById(proposalId)
-                .orElseThrow(() -> new RuntimeException("Proposal not found with ID: " + proposalId));
+        if (reviewersByProposal == null || reviewersByProposal.isEmpty()) {
+            throw new RuntimeException("At least one proposal ID is required");
+        }
+        Map<Long, Set<Long>> requestedPairs = new LinkedHashMap<>();
+        Set<Long> distinctReviewerIds = new LinkedHashSet<>();
+        for (Map.Entry<Long, List<Long>> entry : reviewersByProposal.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                throw new RuntimeException("At least one reviewer ID is required");
+            }
+            requestedPairs.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+            distinctReviewerIds.addAll(entry.getValue());
+        }
+        Set<Long> distinctProposalIds = requestedPairs.keySet();
         
-        // Validate proposal is in SUBMITTED status
-        if (proposal.getStatus() != Proposal.Status.SUBMITTED && 
-            proposal.getStatus() != Proposal.Status.UNDER_REVIEW) {
-            throw new RuntimeException("Only SUBMITTED or UNDER_REVIEW proposals can be assigned to reviewers. Current status: " + proposal.getStatus());
+        // Validate proposals exist and are in SUBMITTED or UNDER_REVIEW status
+        Map<Long, Proposal> proposals = new LinkedHashMap<>();
+        for (Proposal proposal : proposalRepository.findAllById(distinctProposalIds)) {
+            proposals.put(proposal.getId(), proposal);
+        }
+        for (Long proposalId : distinctProposalIds) {
+            Proposal proposal = proposals.get(proposalId);
+            if (proposal == null) {
+                throw new RuntimeException("Proposal not found with ID: " + proposalId);
+            }
+            if (proposal.getStatus() != Proposal.Status.SUBMITTED && 
+                proposal.getStatus() != Proposal.Status.UNDER_REVIEW) {
+                throw new RuntimeException("Only SUBMITTED or UNDER_REVIEW proposals can be assigned to reviewers. Current status: " + proposal.getStatus());
+            }
         }
         
         // Validate assigner exists and has appropriate role
@@ -61,71 +154,109 @@ public class ProposalReviewerService {
             throw new RuntimeException("Only COMMITTEE_CHAIR or ADMIN can assign reviewers");
         }
         
-        List<ProposalReviewer> assignments = new ArrayList<>();
-        
-        for (Long reviewerId : reviewerIds) {
-            // Validate reviewer exists and has REVIEWER role
-            User reviewer = userRepository.findById(reviewerId)
-                    .orElseThrow(() -> new RuntimeException("Reviewer not found with ID: " + reviewerId));
-            
+        // Validate reviewers exist and have REVIEWER role
+        Map<Long, User> reviewers = new HashMap<>();
+        for (User reviewer : userRepository.findAllById(distinctReviewerIds)) {
+            reviewers.put(reviewer.getId(), reviewer);
+        }
+        for (Long reviewerId : distinctReviewerIds) {
+            User reviewer = reviewers.get(reviewerId);
+            if (reviewer == null) {
+                throw new RuntimeException("Reviewer not found with ID: " + reviewerId);
+            }
             if (reviewer.getRole() != User.Role.REVIEWER) {
                 throw new RuntimeException("User " + reviewer.getUsername() + " is not a REVIEWER");
             }
-            
-            // Check if already assigned
-            if (proposalReviewerRepository.existsByProposalIdAndReviewerId(proposalId, reviewerId)) {
-                throw new RuntimeException("Reviewer " + reviewer.getUsername() + 
-                                         " is already assigned to this proposal");
+        }
+        
+        // Check existing assignments
+        Set<String> assignedPairs = new HashSet<>();
+        for (Object[] pair : proposalReviewerRepository.findAssignedPairs(distinctProposalIds, distinctReviewerIds)) {
+            assignedPairs.add(pair[0] + ":" + pair[1]);
+        }
+        List<Long[]> newPairs = new ArrayList<>();
+        for (Map.Entry<Long, Set<Long>> entry : requestedPairs.entrySet()) {
+            Long proposalId = entry.getKey();
+            for (Long reviewerId : entry.getValue()) {
+                if (!assignedPairs.contains(proposalId + ":" + reviewerId)) {
+                    newPairs.add(new Long[] {proposalId, reviewerId});
+                } else if (!skipExisting) {
+                    throw new RuntimeException("Reviewer " + reviewers.get(reviewerId).getUsername() + 
+                                             " is already assigned to this proposal");
+                }
             }
-            
-            // Create assignment
-            ProposalReviewer assignment = new ProposalReviewer(proposal, reviewer, assignedBy);
-            assignment.setDueDate(dueDate);
-            assignment.setNotes(notes);
-            assignment.setStatus(ProposalReviewer.AssignmentStatus.PENDING);
-            
-            ProposalReviewer savedAssignment = proposalReviewerRepository.save(assignment);
-            assignments.add(savedAssignment);
-            
-            // Send notification to reviewer
-            try {
-                System.out.println("=== REVIEWER ASSIGNMENT NOTIFICATION DEBUG ===");
-                System.out.println("Reviewer: " + (reviewer != null ? reviewer.getUsername() : "NULL"));
-                System.out.println("Proposal: " + (proposal != null ? proposal.getTitle() : "NULL"));
-                
-                String notificationTitle = "New Proposal Assignment";
-                String notificationMessage = String.format(
-                    "You have been assigned to review the proposal: '%s'%s",
-                    proposal.getTitle(),
-                    dueDate != null ? ". Due date: " + dueDate.toLocalDate().toString() : ""
-                );
-                
-                System.out.println("Creating notification for Reviewer: " + reviewer.getUsername());
-                System.out.println("Title: " + notificationTitle);
-                System.out.println("Message: " + notificationMessage);
-                
-                com.proposalmanagement.entity.Notification notification = new com.proposalmanagement.entity.Notification();
-                notification.setUser(reviewer);
-                notification.setTitle(notificationTitle);
-                notification.setMessage(notificationMessage);
-                notification.setType(com.proposalmanagement.entity.Notification.Type.EVALUATION_ASSIGNED);
-                notification.setRelatedProposal(proposal);
-                notification.setIsRead(false);
-                
-                com.proposalmanagement.entity.Notification savedNotification = notificationService.createNotification(notification);
-                System.out.println("Reviewer notification created successfully with ID: " + savedNotification.getId());
-            } catch (Exception e) {
-                // Log error but don't fail the assignment
-                System.err.println("Failed to send notification to reviewer " + reviewer.getUsername() + ": " + e.getMessage());
-                e.printStackTrace();
+        }
+        if (newPairs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Create assignments
+        Timestamp assignedDate = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp dueTimestamp = dueDate != null ? Timestamp.valueOf(dueDate) : null;
+        jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, newPairs, newPairs.size(), (ps, pair) -> {
+            ps.setLong(1, pair[0]);
+            ps.setLong(2, pair[1]);
+            ps.setLong(3, assignedById);
+            ps.setTimestamp(4, assignedDate);
+            ps.setTimestamp(5, dueTimestamp);
+            ps.setString(6, ProposalReviewer.AssignmentStatus.PENDING.name());
+            ps.setString(7, notes);
+        });
+        
+        Set<String> newPairKeys = new HashSet<>();
+        for (Long[] pair : newPairs) {
+            newPairKeys.add(pair[0] + ":" + pair[1]);
+        }
+        List<ProposalReviewer> assignments = new ArrayList<>();
+        for (ProposalReviewer assignment : proposalReviewerRepository
+                .findWithDetailsByProposalIdsAndReviewerIds(distinctProposalIds, distinctReviewerIds)) {
+            if (newPairKeys.contains(assignment.getProposal().getId() + ":" + assignment.getReviewer().getId())) {
+                assignments.add(assignment);
             }
         }
         
-        // Update proposal status to UNDER_REVIEW if it was SUBMITTED
-        if (proposal.getStatus() == Proposal.Status.SUBMITTED) {
-            proposal.setStatus(Proposal.Status.UNDER_REVIEW);
-            proposalRepository.save(proposal);
+        // Queue notifications to reviewers; delivered after commit by the outbox dispatcher
+        List<NotificationOutbox> notifications = new ArrayList<>();
+        for (ProposalReviewer assignment : assignments) {
+            Proposal proposal = assignment.getProposal();
+            String notificationMessage = String.format(
+                "You have been assigned to review the proposal: '%s'%s",
+                proposal.getTitle(),
+                dueDate != null ? ". Due date: " + dueDate.toLocalDate().toString() : ""
+            );
+            NotificationOutbox entry = new NotificationOutbox(
+                "reviewer-assigned:" + assignment.getId(),
+                assignment.getReviewer().getId(),
+                "New Proposal Assignment",
+                notificationMessage,
+                Notification.Type.EVALUATION_ASSIGNED);
+            entry.setRelatedProposalId(proposal.getId());
+            notifications.add(entry);
+        }
+        notificationOutboxService.enqueueAll(notifications);
+        
+        List<Long> assignedReviewerIds = new ArrayList<>();
+        for (ProposalReviewer assignment : assignments) {
+            assignedReviewerIds.add(assignment.getReviewer().getId());
         }
+        TransactionHooks.afterCommit(() -> assignedReviewerIds.forEach(reviewerId ->
+                reviewerWorkloadLeaderboard.move(reviewerId, null, ProposalReviewer.AssignmentStatus.PENDING)));
+        
+        // Proposals that received at least one reviewer move to UNDER_REVIEW if they were SUBMITTED
+        Set<Long> assignedProposalIds = new HashSet<>();
+        for (Long[] pair : newPairs) {
+            assignedProposalIds.add(pair[0]);
+        }
+        List<Long> movedProposalIds = new ArrayList<>();
+        for (Proposal proposal : proposals.values()) {
+            if (assignedProposalIds.contains(proposal.getId()) && proposal.getStatus() == Proposal.Status.SUBMITTED) {
+                proposal.setStatus(Proposal.Status.UNDER_REVIEW);
+                proposalRepository.save(proposal);
+                movedProposalIds.add(proposal.getId());
+            }
+        }
+        // Status is part of the ranking bucket
+        proposalRankingService.proposalsChanged(movedProposalIds);
         
         return assignments;
     }
@@ -172,6 +303,7 @@ public class ProposalReviewerService {
         ProposalReviewer assignment = proposalReviewerRepository.findById(assignmentId)
                 .orElseThrow(() -> new RuntimeException("Assignment not found with ID: " + assignmentId));
         
+        afterStatusChanged(assignment.getReviewer().getId(), assignment.getStatus(), status);
         assignment.setStatus(status);
         
         if (status == ProposalReviewer.AssignmentStatus.COMPLETED) {
@@ -193,6 +325,7 @@ public class ProposalReviewerService {
                 .findByProposalIdAndReviewerId(proposalId, reviewerId);
 
         assignmentOptional.ifPresent(assignment -> {
+            afterStatusChanged(reviewerId, assignment.getStatus(), status);
             assignment.setStatus(status);
             if (status == ProposalReviewer.AssignmentStatus.COMPLETED) {
                 assignment.setCompletedDate(LocalDateTime.now());
@@ -219,6 +352,7 @@ public class ProposalReviewerService {
             throw new RuntimeException("Only COMMITTEE_CHAIR or ADMIN can remove assignments");
         }
         
+        afterStatusChanged(assignment.getReviewer().getId(), assignment.getStatus(), null);
         proposalReviewerRepository.delete(assignment);
     }
     
@@ -233,16 +367,51 @@ public class ProposalReviewerService {
      * Get assignment statistics for a reviewer
      */
     public ReviewerStatistics getReviewerStatistics(Long reviewerId) {
-        Long totalAssignments = proposalReviewerRepository.countByReviewerId(reviewerId);
-        Long pendingAssignments = proposalReviewerRepository.countByReviewerIdAndStatus(
-                reviewerId, ProposalReviewer.AssignmentStatus.PENDING);
-        Long inProgressAssignments = proposalReviewerRepository.countByReviewerIdAndStatus(
-                reviewerId, ProposalReviewer.AssignmentStatus.IN_PROGRESS);
-        Long completedAssignments = proposalReviewerRepository.countByReviewerIdAndStatus(
-                reviewerId, ProposalReviewer.AssignmentStatus.COMPLETED);
+        ReviewerWorkloadDTO workload = reviewerWorkloadLeaderboard.get(reviewerId);
+        return new ReviewerStatistics(workload.getTotalAssignments(), workload.getPendingAssignments(),
+                                     workload.getInProgressAssignments(), workload.getCompletedAssignments(),
+                                     workload.getOverdueAssignments());
+    }
+    
+    /**
+     * Reviewer workload leaderboard, served from the in-memory counts.
+     * Sorted descending by open (default), completed, overdue or total assignments.
+     */
+    public List<ReviewerWorkloadDTO> getReviewerWorkloadLeaderboard(String sortBy, int limit) {
+        Comparator<ReviewerWorkloadDTO> order;
+        switch (sortBy != null ? sortBy : "open") {
+            case "completed":
+                order = Comparator.comparingLong(ReviewerWorkloadDTO::getCompletedAssignments);
+                break;
+            case "overdue":
+                order = Comparator.comparingLong(ReviewerWorkloadDTO::getOverdueAssignments);
+                break;
+            case "total":
+                order = Comparator.comparingLong(ReviewerWorkloadDTO::getTotalAssignments);
+                break;
+            case "open":
+                order = Comparator.comparingLong(ReviewerWorkloadDTO::getOpenAssignments);
+                break;
+            default:
+                throw new RuntimeException("Unsupported sort: " + sortBy);
+        }
+        List<ReviewerWorkloadDTO> rows = reviewerWorkloadLeaderboard.getAll();
+        rows.sort(order.reversed().thenComparing(ReviewerWorkloadDTO::getReviewerId));
+        if (limit > 0 && rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+        }
         
-        return new ReviewerStatistics(totalAssignments, pendingAssignments, 
-                                     inProgressAssignments, completedAssignments);
+        // Names for the returned page only, in one query
+        Map<Long, ReviewerWorkloadDTO> byId = new HashMap<>();
+        for (ReviewerWorkloadDTO row : rows) {
+            byId.put(row.getReviewerId(), row);
+        }
+        if (!byId.isEmpty()) {
+            for (Object[] name : userRepository.findNamesByIds(byId.keySet())) {
+                byId.get((Long) name[0]).setReviewerName(name[1] + " " + name[2]);
+            }
+        }
+        return rows;
     }
     
     /**
@@ -259,6 +428,13 @@ public class ProposalReviewerService {
         return proposalReviewerRepository.findById(assignmentId);
     }
     
+    private void afterStatusChanged(Long reviewerId, ProposalReviewer.AssignmentStatus from,
+                                    ProposalReviewer.AssignmentStatus to) {
+        if (from != to) {
+            TransactionHooks.afterCommit(() -> reviewerWorkloadLeaderboard.move(reviewerId, from, to));
+        }
+    }
+    
     /**
      * Inner class for reviewer statistics
      */
@@ -267,12 +443,14 @@ public class ProposalReviewerService {
         private Long pendingAssignments;
         private Long inProgressAssignments;
         private Long completedAssignments;
+        private Long overdueAssignments;
         
-        public ReviewerStatistics(Long total, Long pending, Long inProgress, Long completed) {
+        public ReviewerStatistics(Long total, Long pending, Long inProgress, Long completed, Long overdue) {
             this.totalAssignments = total;
             this.pendingAssignments = pending;
             this.inProgressAssignments = inProgress;
             this.completedAssignments = completed;
+            this.overdueAssignments = overdue;
         }
         
         // Getters
@@ -280,5 +458,6 @@ public class ProposalReviewerService {
         public Long getPendingAssignments() { return pendingAssignments; }
         public Long getInProgressAssignments() { return inProgressAssignments; }
         public Long getCompletedAssignments() { return completedAssignments; }
+        public Long getOverdueAssignments() { return overdueAssignments; }
     }
 }
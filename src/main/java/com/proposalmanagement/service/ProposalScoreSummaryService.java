@@ -0,0 +1,290 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.ProposalScoreSummaryDTO;
+import com.proposalmanagement.entity.Evaluation;
+import com.proposalmanagement.entity.ProposalScoreSummary;
+import com.proposalmanagement.repository.ProposalScoreSummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link ProposalScoreSummary} rows as evaluations change.
+ *
+ * EvaluationService reports each change as a before/after {@link ScoreSnapshot}; the old
+ * scores are subtracted and the new ones added with one batched
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE}, which is atomic per row, so concurrent
+ * evaluations of the same proposal need no extra locking. Bulk deletes that bypass
+ * EvaluationService call {@link #rebuild(Collection)}.
+ */
+@Service
+@Transactional
+public class ProposalScoreSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalScoreSummaryService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO proposal_score_summaries (proposal_id, criterion, is_final, evaluation_count, score_count, " +
+            "score_sum, score_sum_sq, updated_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE evaluation_count = evaluation_count + VALUES(evaluation_count), " +
+            "score_count = score_count + VALUES(score_count), score_sum = score_sum + VALUES(score_sum), " +
+            "score_sum_sq = score_sum_sq + VALUES(score_sum_sq), updated_date = VALUES(updated_date)";
+
+    // Recomputes one criterion from the evaluations table; %1$s is the score column, %2$s the proposal filter
+    private static final String REBUILD_SQL =
+            "INSERT INTO proposal_score_summaries (proposal_id, criterion, is_final, evaluation_count, score_count, " +
+            "score_sum, score_sum_sq, updated_date) " +
+            "SELECT e.proposal_id, ?, e.is_final, COUNT(*), COUNT(e.%1$s), COALESCE(SUM(e.%1$s), 0), " +
+            "COALESCE(SUM(e.%1$s * e.%1$s), 0), CURRENT_TIMESTAMP FROM evaluations e %2$s " +
+            "GROUP BY e.proposal_id, e.is_final";
+
+    @Autowired
+    private ProposalScoreSummaryRepository proposalScoreSummaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProposalRankingService proposalRankingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Apply an evaluation change. {@code before} is null for a new evaluation and
+     * {@code after} is null for a deleted one.
+     */
+    public void recordChange(ScoreSnapshot before, ScoreSnapshot after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        List<Object[]> deltas = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (before != null) {
+            addDeltas(deltas, before, -1, now);
+        }
+        if (after != null) {
+            addDeltas(deltas, after, 1, now);
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas);
+
+        // Rankings only look at final evaluations
+        if (before != null && before.isFinal) {
+            proposalRankingService.proposalChanged(before.proposalId);
+        }
+        if (after != null && after.isFinal) {
+            proposalRankingService.proposalChanged(after.proposalId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ProposalScoreSummaryDTO getSummary(Long proposalId) {
+        Map<Evaluation.Criterion, ProposalScoreSummary[]> buckets = new EnumMap<>(Evaluation.Criterion.class);
+        for (ProposalScoreSummary row : proposalScoreSummaryRepository.findByProposalId(proposalId)) {
+            buckets.computeIfAbsent(row.getCriterion(), c -> new ProposalScoreSummary[2])
+                    [Boolean.TRUE.equals(row.getIsFinal()) ? 1 : 0] = row;
+        }
+
+        ProposalScoreSummaryDTO summary = new ProposalScoreSummaryDTO(proposalId);
+        ProposalScoreSummary[] overall = buckets.getOrDefault(Evaluation.Criterion.OVERALL, new ProposalScoreSummary[2]);
+        long nonFinalEvaluations = overall[0] != null ? overall[0].getEvaluationCount() : 0;
+        long finalEvaluations = overall[1] != null ? overall[1].getEvaluationCount() : 0;
+        summary.setEvaluationCount(nonFinalEvaluations + finalEvaluations);
+        summary.setFinalEvaluationCount(finalEvaluations);
+
+        for (Evaluation.Criterion criterion : Evaluation.Criterion.values()) {
+            ProposalScoreSummary[] pair = buckets.getOrDefault(criterion, new ProposalScoreSummary[2]);
+            long count = 0;
+            BigDecimal sum = BigDecimal.ZERO;
+            BigDecimal sumSq = BigDecimal.ZERO;
+            for (ProposalScoreSummary row : pair) {
+                if (row != null) {
+                    count += row.getScoreCount();
+                    sum = sum.add(row.getScoreSum());
+                    sumSq = sumSq.add(row.getScoreSumSq());
+                }
+            }
+            summary.getCriteria().add(new ProposalScoreSummaryDTO.CriterionSummary(criterion,
+                    statistics(pair[1]), statistics(pair[0]), statistics(count, sum, sumSq)));
+        }
+        return summary;
+    }
+
+    /**
+     * Mean of the final evaluations for one criterion, or null if there are none
+     */
+    @Transactional(readOnly = true)
+    public Double getFinalMean(Long proposalId, Evaluation.Criterion criterion) {
+        return getSummary(proposalId).getCriteria().get(criterion.ordinal()).getFinalScores().getMean();
+    }
+
+    /**
+     * Recompute the summaries of the given proposals from the evaluations table
+     */
+    public void rebuild(Collection<Long> proposalIds) {
+        if (proposalIds.isEmpty()) {
+            return;
+        }
+        // Pending evaluation deletes must reach the database before the INSERT ... SELECT
+        entityManager.flush();
+        proposalScoreSummaryRepository.deleteByProposalIds(proposalIds);
+        String placeholders = proposalIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        for (Evaluation.Criterion criterion : Evaluation.Criterion.values()) {
+            List<Object> args = new ArrayList<>();
+            args.add(criterion.name());
+            args.addAll(proposalIds);
+            jdbcTemplate.update(String.format(REBUILD_SQL, criterion.columnName(),
+                    "WHERE e.proposal_id IN (" + placeholders + ")"), args.toArray());
+        }
+        proposalRankingService.proposalsChanged(proposalIds);
+    }
+
+    public void rebuildAll() {
+        entityManager.flush();
+        proposalScoreSummaryRepository.deleteAllInBatch();
+        for (Evaluation.Criterion criterion : Evaluation.Criterion.values()) {
+            jdbcTemplate.update(String.format(REBUILD_SQL, criterion.columnName(), ""), criterion.name());
+        }
+        TransactionHooks.afterCommit(proposalRankingService::rebuildIfLoaded);
+    }
+
+    public void deleteForProposal(Long proposalId) {
+        proposalScoreSummaryRepository.deleteByProposalIds(Collections.singletonList(proposalId));
+        proposalRankingService.proposalChanged(proposalId);
+    }
+
+    // Fills the read model once for databases that had evaluations before it existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (proposalScoreSummaryRepository.count() == 0 && hasEvaluations()) {
+            rebuildAll();
+            logger.info("Built proposal score summaries from existing evaluations");
+        }
+    }
+
+    private boolean hasEvaluations() {
+        Integer found = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM evaluations)", Integer.class);
+        return found != null && found > 0;
+    }
+
+    private void addDeltas(List<Object[]> deltas, ScoreSnapshot snapshot, int sign, Timestamp now) {
+        for (Evaluation.Criterion criterion : Evaluation.Criterion.values()) {
+            BigDecimal score = snapshot.scores.get(criterion);
+            BigDecimal signed = score != null ? (sign < 0 ? score.negate() : score) : BigDecimal.ZERO;
+            BigDecimal squared = score != null ? score.multiply(score) : BigDecimal.ZERO;
+            deltas.add(new Object[] {
+                snapshot.proposalId, criterion.name(), snapshot.isFinal, sign, score != null ? sign : 0,
+                signed, sign < 0 ? squared.negate() : squared, now
+            });
+        }
+    }
+
+    private ProposalScoreSummaryDTO.ScoreStatistics statistics(ProposalScoreSummary row) {
+        return row != null ? statistics(row.getScoreCount(), row.getScoreSum(), row.getScoreSumSq())
+                : statistics(0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    // Sample standard deviation from the running sums: (sumSq - sum^2 / n) / (n - 1)
+    private ProposalScoreSummaryDTO.ScoreStatistics statistics(long count, BigDecimal sum, BigDecimal sumSq) {
+        if (count <= 0) {
+            return new ProposalScoreSummaryDTO.ScoreStatistics(0, null, null);
+        }
+        double n = count;
+        double mean = sum.doubleValue() / n;
+        double deviation = 0.0;
+        if (count > 1) {
+            double variance = (sumSq.doubleValue() - sum.doubleValue() * sum.doubleValue() / n) / (n - 1);
+            deviation = Math.sqrt(Math.max(variance, 0.0));
+        }
+        return new ProposalScoreSummaryDTO.ScoreStatistics(count, round(mean), round(deviation));
+    }
+
+    private double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+
+    /**
+     * The scores of one evaluation at a point in time
+     */
+    public static final class ScoreSnapshot {
+        private final Long proposalId;
+        private final Long reviewerId;
+        private final boolean isFinal;
+        private final Map<Evaluation.Criterion, BigDecimal> scores = new EnumMap<>(Evaluation.Criterion.class);
+
+        private ScoreSnapshot(Evaluation evaluation) {
+            this.proposalId = evaluation.getProposal().getId();
+            this.reviewerId = evaluation.getReviewer() != null ? evaluation.getReviewer().getId() : null;
+            this.isFinal = Boolean.TRUE.equals(evaluation.getIsFinal());
+            for (Evaluation.Criterion criterion : Evaluation.Criterion.values()) {
+                BigDecimal score = criterion.scoreOf(evaluation);
+                if (score != null) {
+                    scores.put(criterion, score);
+                }
+            }
+        }
+
+        public static ScoreSnapshot of(Evaluation evaluation) {
+            return new ScoreSnapshot(evaluation);
+        }
+
+        Long getReviewerId() {
+            return reviewerId;
+        }
+
+        boolean isFinal() {
+            return isFinal;
+        }
+
+        BigDecimal getScore(Evaluation.Criterion criterion) {
+            return scores.get(criterion);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ScoreSnapshot)) {
+                return false;
+            }
+            ScoreSnapshot that = (ScoreSnapshot) other;
+            if (isFinal != that.isFinal || !Objects.equals(proposalId, that.proposalId)
+                    || !Objects.equals(reviewerId, that.reviewerId)
+                    || !scores.keySet().equals(that.scores.keySet())) {
+                return false;
+            }
+            // Compare by value so 4.5 and 4.50 are the same score
+            for (Map.Entry<Evaluation.Criterion, BigDecimal> entry : scores.entrySet()) {
+                if (entry.getValue().compareTo(that.scores.get(entry.getKey())) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(proposalId, reviewerId, isFinal, scores.keySet());
+        }
+    }
+}
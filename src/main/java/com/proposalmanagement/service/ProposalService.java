@@ -38,6 +38,15 @@ public class ProposalService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private ProposalScoreSummaryService proposalScoreSummaryService;
+    
+    @Autowired
+    private ProposalRankingService proposalRankingService;
+    
+    @Autowired
+    private ReviewerCalibrationService reviewerCalibrationService;
+    
     public List<Proposal> getAllProposals() {
         return proposalRepository.findAll();
     }
@@ -68,7 +77,9 @@ public class ProposalService {
         proposal.setPriorityLevel(proposalDetails.getPriorityLevel());
         proposal.setDepartmentId(proposalDetails.getDepartmentId());
         
-        return proposalRepository.save(proposal);
+        Proposal savedProposal = proposalRepository.save(proposal);
+        proposalRankingService.proposalChanged(savedProposal.getId());
+        return savedProposal;
     }
     
     public void deleteProposal(Long id) {
@@ -102,8 +113,10 @@ public class ProposalService {
             // 3. Delete documents associated with this proposal
             documentRepository.deleteByProposalId(id);
             
-            // 4. Delete evaluations for this proposal
+            // 4. Delete evaluations for this proposal, taking final ones out of reviewer calibration first
+            reviewerCalibrationService.removeEvaluations(evaluationRepository.findFinalEvaluationsByProposalId(id));
             evaluationRepository.deleteByProposalId(id);
+            proposalScoreSummaryService.deleteForProposal(id);
             
             // 5. Delete budget items for this proposal
             budgetItemRepository.deleteByProposalId(id);
@@ -168,7 +181,9 @@ public class ProposalService {
         Proposal proposal = proposalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Proposal not found with id: " + id));
         proposal.setStatus(status);
-        return proposalRepository.save(proposal);
+        Proposal savedProposal = proposalRepository.save(proposal);
+        proposalRankingService.proposalChanged(savedProposal.getId());
+        return savedProposal;
     }
     
     public Proposal submitProposal(Long id) {
@@ -180,7 +195,9 @@ public class ProposalService {
         }
         
         proposal.setStatus(Proposal.Status.SUBMITTED);
-        return proposalRepository.save(proposal);
+        Proposal savedProposal = proposalRepository.save(proposal);
+        proposalRankingService.proposalChanged(savedProposal.getId());
+        return savedProposal;
     }
     
     public Proposal withdrawProposal(Long id) {
@@ -193,7 +210,9 @@ public class ProposalService {
         }
         
         proposal.setStatus(Proposal.Status.WITHDRAWN);
-        return proposalRepository.save(proposal);
+        Proposal savedProposal = proposalRepository.save(proposal);
+        proposalRankingService.proposalChanged(savedProposal.getId());
+        return savedProposal;
     }
     
     /**
@@ -211,7 +230,9 @@ public class ProposalService {
         }
         
         proposal.setStatus(Proposal.Status.WITHDRAWN);
-        return proposalRepository.save(proposal);
+        Proposal savedProposal = proposalRepository.save(proposal);
+        proposalRankingService.proposalChanged(savedProposal.getId());
+        return savedProposal;
     }
     
     /**
@@ -0,0 +1,291 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.AutoAssignReviewerRequest;
+import com.proposalmanagement.dto.ReviewerAssignmentPlanDTO;
+import com.proposalmanagement.entity.Proposal;
+import com.proposalmanagement.entity.User;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.repository.ProposalRepository;
+import com.proposalmanagement.repository.ProposalReviewerRepository;
+import com.proposalmanagement.repository.UserRepository;
+import com.proposalmanagement.search.TextTokenizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Plans reviewer assignments for a batch of proposals.
+ *
+ * Each REVIEWER is scored against each proposal by the overlap between their expertise areas
+ * and the proposal's title, abstract and project type. Reviewers from the proposal's
+ * department, the principal investigator and listed co-investigators are excluded. Slots are
+ * then filled most-constrained proposal first, taking the least-loaded relevant reviewer from a
+ * min-heap and counting each pick towards that reviewer's load, so work spreads evenly.
+ * Scoring runs in parallel on plain snapshots; no entity is touched off the request thread.
+ */
+@Service
+@Transactional
+public class ReviewerAssignmentEngine {
+
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double ABSTRACT_WEIGHT = 1.0;
+    private static final double PROJECT_TYPE_WEIGHT = 1.5;
+    private static final double INELIGIBLE = -1.0;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private ProposalReviewerRepository proposalReviewerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProposalReviewerService proposalReviewerService;
+
+    @Transactional(readOnly = true)
+    public ReviewerAssignmentPlanDTO preview(AutoAssignReviewerRequest request) {
+        return plan(request);
+    }
+
+    /**
+     * Plan and apply the assignments with one batched call to {@link ProposalReviewerService},
+     * all in one transaction
+     */
+    public ReviewerAssignmentPlanDTO commit(AutoAssignReviewerRequest request, Long assignedById) {
+        ReviewerAssignmentPlanDTO plan = plan(request);
+        Map<Long, List<Long>> reviewersByProposal = new LinkedHashMap<>();
+        for (ReviewerAssignmentPlanDTO.ProposalPlan proposalPlan : plan.getProposals()) {
+            if (proposalPlan.getReviewers().isEmpty()) {
+                continue;
+            }
+            List<Long> reviewerIds = new ArrayList<>();
+            for (ReviewerAssignmentPlanDTO.ReviewerPick pick : proposalPlan.getReviewers()) {
+                reviewerIds.add(pick.getReviewerId());
+            }
+            reviewersByProposal.put(proposalPlan.getProposalId(), reviewerIds);
+        }
+        if (!reviewersByProposal.isEmpty()) {
+            proposalReviewerService.assignReviewerPlan(reviewersByProposal, assignedById,
+                    request.getDueDate(), request.getNotes());
+        }
+        plan.setCommitted(true);
+        return plan;
+    }
+
+    private ReviewerAssignmentPlanDTO plan(AutoAssignReviewerRequest request) {
+        int perProposal = request.getReviewersPerProposal() != null ? request.getReviewersPerProposal() : 3;
+        int maxLoad = request.getMaxLoadPerReviewer() != null ? request.getMaxLoadPerReviewer() : Integer.MAX_VALUE;
+
+        List<ProposalProfile> proposals = loadProposals(request.getProposalIds());
+        List<ReviewerProfile> reviewers = new ArrayList<>();
+        for (User reviewer : userRepository.findActiveUsersByRole(User.Role.REVIEWER)) {
+            reviewers.add(new ReviewerProfile(reviewer));
+        }
+        if (proposals.isEmpty() || reviewers.isEmpty()) {
+            return new ReviewerAssignmentPlanDTO(new ArrayList<>());
+        }
+
+        Map<Long, Integer> reviewerIndex = new HashMap<>();
+        for (int r = 0; r < reviewers.size(); r++) {
+            reviewerIndex.put(reviewers.get(r).id, r);
+        }
+        int[] load = new int[reviewers.size()];
+        for (Object[] row : proposalReviewerRepository.countOpenAssignmentsGroupedByReviewer()) {
+            Integer r = reviewerIndex.get((Long) row[0]);
+            if (r != null) {
+                load[r] = ((Long) row[1]).intValue();
+            }
+        }
+
+        Set<Long> proposalIds = new HashSet<>();
+        for (ProposalProfile proposal : proposals) {
+            proposalIds.add(proposal.id);
+        }
+        Set<String> assignedPairs = new HashSet<>();
+        for (Object[] pair : proposalReviewerRepository.findAssignedPairs(proposalIds, reviewerIndex.keySet())) {
+            assignedPairs.add(pair[0] + ":" + pair[1]);
+        }
+
+        // Score matrix; conflicts and existing assignments are marked ineligible
+        double[][] scores = new double[proposals.size()][];
+        IntStream.range(0, proposals.size()).parallel().forEach(p -> {
+            ProposalProfile proposal = proposals.get(p);
+            double[] row = new double[reviewers.size()];
+            for (int r = 0; r < reviewers.size(); r++) {
+                ReviewerProfile reviewer = reviewers.get(r);
+                row[r] = proposal.conflictsWith(reviewer) || assignedPairs.contains(proposal.id + ":" + reviewer.id)
+                        ? INELIGIBLE : proposal.score(reviewer);
+            }
+            scores[p] = row;
+        });
+
+        // Most constrained proposals pick first
+        Integer[] order = new Integer[proposals.size()];
+        int[] eligibleCounts = new int[proposals.size()];
+        for (int p = 0; p < proposals.size(); p++) {
+            order[p] = p;
+            for (double score : scores[p]) {
+                if (score != INELIGIBLE) {
+                    eligibleCounts[p]++;
+                }
+            }
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer p) -> eligibleCounts[p])
+                .thenComparing(p -> proposals.get(p).id));
+
+        List<ReviewerAssignmentPlanDTO.ProposalPlan> plans = new ArrayList<>();
+        for (int p : order) {
+            ProposalProfile proposal = proposals.get(p);
+            double[] row = scores[p];
+            // Relevant reviewers first, then least loaded, then best score
+            PriorityQueue<Integer> candidates = new PriorityQueue<>(
+                    Comparator.comparingInt((Integer r) -> row[r] > 0 ? 0 : 1)
+                            .thenComparingInt(r -> load[r])
+                            .thenComparing(r -> -row[r])
+                            .thenComparing(r -> reviewers.get(r).id));
+            for (int r = 0; r < reviewers.size(); r++) {
+                if (row[r] != INELIGIBLE && load[r] < maxLoad) {
+                    candidates.add(r);
+                }
+            }
+
+            ReviewerAssignmentPlanDTO.ProposalPlan proposalPlan =
+                    new ReviewerAssignmentPlanDTO.ProposalPlan(proposal.id, proposal.title);
+            while (proposalPlan.getReviewers().size() < perProposal && !candidates.isEmpty()) {
+                int r = candidates.poll();
+                ReviewerProfile reviewer = reviewers.get(r);
+                proposalPlan.getReviewers().add(new ReviewerAssignmentPlanDTO.ReviewerPick(
+                        reviewer.id, reviewer.name, Math.round(row[r] * 1000) / 1000.0, load[r]));
+                load[r]++;
+            }
+            proposalPlan.setUnfilledSlots(perProposal - proposalPlan.getReviewers().size());
+            plans.add(proposalPlan);
+        }
+        plans.sort(Comparator.comparing(ReviewerAssignmentPlanDTO.ProposalPlan::getProposalId));
+        return new ReviewerAssignmentPlanDTO(plans);
+    }
+
+    private List<ProposalProfile> loadProposals(List<Long> proposalIds) {
+        List<Proposal> proposals;
+        if (proposalIds == null || proposalIds.isEmpty()) {
+            proposals = proposalRepository.findByStatus(Proposal.Status.SUBMITTED);
+        } else {
+            proposals = proposalRepository.findAllById(new LinkedHashSet<>(proposalIds));
+            if (proposals.size() != new HashSet<>(proposalIds).size()) {
+                throw new InvalidOperationException("One or more proposals were not found");
+            }
+        }
+        List<ProposalProfile> profiles = new ArrayList<>();
+        for (Proposal proposal : proposals) {
+            if (proposal.getStatus() == Proposal.Status.SUBMITTED || proposal.getStatus() == Proposal.Status.UNDER_REVIEW) {
+                profiles.add(new ProposalProfile(proposal));
+            }
+        }
+        return profiles;
+    }
+
+    private static final class ProposalProfile {
+        final Long id;
+        final String title;
+        final Long departmentId;
+        final Long principalInvestigatorId;
+        final Map<String, Double> termWeights = new HashMap<>();
+        final Set<String> coInvestigators = new HashSet<>();
+
+        ProposalProfile(Proposal proposal) {
+            this.id = proposal.getId();
+            this.title = proposal.getTitle();
+            this.departmentId = proposal.getDepartmentId();
+            this.principalInvestigatorId = proposal.getPrincipalInvestigator() != null
+                    ? proposal.getPrincipalInvestigator().getId() : null;
+            addTerms(proposal.getTitle(), TITLE_WEIGHT);
+            addTerms(proposal.getAbstract_(), ABSTRACT_WEIGHT);
+            if (proposal.getProjectType() != null) {
+                addTerms(proposal.getProjectType().name(), PROJECT_TYPE_WEIGHT);
+            }
+            if (proposal.getCoInvestigators() != null) {
+                for (String name : proposal.getCoInvestigators().split(",")) {
+                    String normalized = TextTokenizer.normalize(name);
+                    if (!normalized.isEmpty()) {
+                        coInvestigators.add(normalized);
+                    }
+                }
+            }
+        }
+
+        // A term counts once, at the weight of the strongest field it appears in
+        private void addTerms(String text, double weight) {
+            for (String term : TextTokenizer.tokenize(text)) {
+                termWeights.merge(term, weight, Math::max);
+            }
+        }
+
+        boolean conflictsWith(ReviewerProfile reviewer) {
+            if (reviewer.id.equals(principalInvestigatorId)) {
+                return true;
+            }
+            if (departmentId != null && departmentId.equals(reviewer.departmentId)) {
+                return true;
+            }
+            for (String identity : reviewer.identities) {
+                if (coInvestigators.contains(identity)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Normalised by expertise size so listing every field does not win every proposal
+        double score(ReviewerProfile reviewer) {
+            if (reviewer.expertise.isEmpty()) {
+                return 0.0;
+            }
+            double overlap = 0.0;
+            for (String term : reviewer.expertise) {
+                Double weight = termWeights.get(term);
+                if (weight != null) {
+                    overlap += weight;
+                }
+            }
+            return overlap / Math.sqrt(reviewer.expertise.size());
+        }
+    }
+
+    private static final class ReviewerProfile {
+        final Long id;
+        final String name;
+        final Long departmentId;
+        final Set<String> expertise;
+        final Set<String> identities = new HashSet<>();
+
+        ReviewerProfile(User reviewer) {
+            this.id = reviewer.getId();
+            this.name = reviewer.getFirstName() + " " + reviewer.getLastName();
+            this.departmentId = reviewer.getDepartment() != null ? reviewer.getDepartment().getId() : null;
+            this.expertise = new HashSet<>(TextTokenizer.tokenize(reviewer.getExpertiseAreas()));
+            identities.add(TextTokenizer.normalize(name));
+            if (reviewer.getUsername() != null) {
+                identities.add(reviewer.getUsername().toLowerCase(Locale.ROOT));
+            }
+            if (reviewer.getEmail() != null) {
+                identities.add(reviewer.getEmail().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
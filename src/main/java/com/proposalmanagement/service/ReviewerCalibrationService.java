@@ -0,0 +1,379 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.NormalizedScoreDTO;
+import com.proposalmanagement.dto.ReviewerCalibrationDTO;
+import com.proposalmanagement.entity.Evaluation;
+import com.proposalmanagement.entity.ReviewerScoreStatistics;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.repository.EvaluationRepository;
+import com.proposalmanagement.repository.ReviewerScoreStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how each reviewer scores so that harsh and lenient reviewers can be told apart.
+ *
+ * Every final evaluation feeds its reviewer's per-criterion running mean and variance, kept
+ * with Welford's algorithm: finalizing adds the scores, unfinalizing, editing or deleting a
+ * final evaluation takes the old ones out again. A proposal's normalized score averages the
+ * z-scores of its final overall scores against each reviewer's own statistics.
+ *
+ * {@link #recompute()} rebuilds everything from the evaluation history: workers stream
+ * disjoint id ranges of final evaluations and their partial statistics are combined with
+ * Chan's parallel merge. It replaces all rows, so it is meant for one-off repairs.
+ */
+@Service
+@Transactional
+public class ReviewerCalibrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewerCalibrationService.class);
+
+    private static final Evaluation.Criterion[] CRITERIA = Evaluation.Criterion.values();
+
+    private static final String FINAL_SCORES_SQL = "SELECT reviewer_id, " +
+            Arrays.stream(CRITERIA).map(Evaluation.Criterion::columnName).collect(Collectors.joining(", ")) +
+            " FROM evaluations WHERE is_final = TRUE AND id BETWEEN ? AND ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reviewer_score_statistics (reviewer_id, criterion, sample_count, mean, m2, updated_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Creates missing empty rows and leaves existing ones alone; atomic on the unique key
+    private static final String ENSURE_ROW_SQL =
+            "INSERT INTO reviewer_score_statistics (reviewer_id, criterion, sample_count, mean, m2, updated_date) " +
+            "VALUES (?, ?, 0, 0, 0, ?) ON DUPLICATE KEY UPDATE reviewer_id = reviewer_id";
+
+    @Autowired
+    private ReviewerScoreStatisticsRepository reviewerScoreStatisticsRepository;
+
+    @Autowired
+    private EvaluationRepository evaluationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Reviewers with fewer final scores than this get no z-score
+    @Value("${review.calibration.min-samples:3}")
+    private int minSamples;
+
+    @Value("${review.calibration.recompute-workers:4}")
+    private int recomputeWorkers;
+
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+
+    /**
+     * Apply an evaluation change. Only final evaluations count; {@code before} is null for a
+     * new evaluation and {@code after} is null for a deleted one.
+     */
+    public void recordChange(ProposalScoreSummaryService.ScoreSnapshot before,
+                             ProposalScoreSummaryService.ScoreSnapshot after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        ProposalScoreSummaryService.ScoreSnapshot removed = before != null && before.isFinal() ? before : null;
+        ProposalScoreSummaryService.ScoreSnapshot added = after != null && after.isFinal() ? after : null;
+        if (removed != null && added != null && Objects.equals(removed.getReviewerId(), added.getReviewerId())) {
+            apply(removed.getReviewerId(), removed, added);
+            return;
+        }
+        if (removed != null) {
+            apply(removed.getReviewerId(), removed, null);
+        }
+        if (added != null) {
+            apply(added.getReviewerId(), null, added);
+        }
+    }
+
+    /**
+     * Take evaluations out of their reviewers' statistics before a bulk delete
+     */
+    public void removeEvaluations(Collection<Evaluation> evaluations) {
+        for (Evaluation evaluation : evaluations) {
+            recordChange(ProposalScoreSummaryService.ScoreSnapshot.of(evaluation), null);
+        }
+    }
+
+    public void deleteForReviewer(Long reviewerId) {
+        reviewerScoreStatisticsRepository.deleteByReviewerId(reviewerId);
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewerCalibrationDTO getReviewerCalibration(Long reviewerId) {
+        Map<Evaluation.Criterion, ReviewerScoreStatistics> rows = byCriterion(
+                reviewerScoreStatisticsRepository.findByReviewerId(reviewerId));
+        ReviewerCalibrationDTO calibration = new ReviewerCalibrationDTO(reviewerId);
+        for (Evaluation.Criterion criterion : CRITERIA) {
+            Welford statistics = Welford.of(rows.get(criterion));
+            calibration.getCriteria().add(new ReviewerCalibrationDTO.CriterionStatistics(criterion,
+                    statistics.count, statistics.count > 0 ? round(statistics.mean) : null,
+                    statistics.standardDeviation() != null ? round(statistics.standardDeviation()) : null));
+        }
+        return calibration;
+    }
+
+    @Transactional(readOnly = true)
+    public NormalizedScoreDTO getNormalizedScore(Long proposalId) {
+        List<Object[]> scores = evaluationRepository.findFinalOverallScoresByProposalId(proposalId).stream()
+                .filter(row -> row[1] != null)
+                .collect(Collectors.toList());
+        NormalizedScoreDTO normalized = new NormalizedScoreDTO(proposalId);
+        if (scores.isEmpty()) {
+            return normalized;
+        }
+
+        List<Long> reviewerIds = scores.stream().map(row -> (Long) row[0]).distinct().collect(Collectors.toList());
+        Map<Long, ReviewerScoreStatistics> statisticsByReviewer = reviewerScoreStatisticsRepository
+                .findByReviewerIdsAndCriterion(reviewerIds, Evaluation.Criterion.OVERALL).stream()
+                .collect(Collectors.toMap(ReviewerScoreStatistics::getReviewerId, Function.identity()));
+
+        double scoreSum = 0;
+        double zSum = 0;
+        int zCount = 0;
+        for (Object[] row : scores) {
+            Long reviewerId = (Long) row[0];
+            double score = ((BigDecimal) row[1]).doubleValue();
+            Welford statistics = Welford.of(statisticsByReviewer.get(reviewerId));
+            Double deviation = statistics.standardDeviation();
+            Double z = null;
+            if (statistics.count >= minSamples && deviation != null && deviation > 0) {
+                z = (score - statistics.mean) / deviation;
+                zSum += z;
+                zCount++;
+            }
+            scoreSum += score;
+            normalized.getReviewerScores().add(new NormalizedScoreDTO.ReviewerScore(reviewerId, score,
+                    statistics.count, statistics.count > 0 ? round(statistics.mean) : null,
+                    deviation != null ? round(deviation) : null, z != null ? round(z) : null));
+        }
+        normalized.setRawMean(round(scoreSum / scores.size()));
+        normalized.setNormalizedScore(zCount > 0 ? round(zSum / zCount) : null);
+        return normalized;
+    }
+
+    /**
+     * Recompute every reviewer's statistics from the final evaluations. Returns the number
+     * of reviewers with statistics.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int recompute() {
+        if (!recomputing.compareAndSet(false, true)) {
+            throw new InvalidOperationException("A reviewer calibration recompute is already running");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            Map<Long, Welford[]> merged = scanFinalEvaluations();
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>();
+            merged.forEach((reviewerId, statistics) -> {
+                for (Evaluation.Criterion criterion : CRITERIA) {
+                    Welford criterionStatistics = statistics[criterion.ordinal()];
+                    if (criterionStatistics.count > 0) {
+                        rows.add(new Object[] {reviewerId, criterion.name(), criterionStatistics.count,
+                                criterionStatistics.mean, criterionStatistics.m2, now});
+                    }
+                }
+            });
+            new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                reviewerScoreStatisticsRepository.deleteAllInBatch();
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            });
+            logger.info("Recomputed calibration statistics for {} reviewers in {} ms", merged.size(),
+                    System.currentTimeMillis() - started);
+            return merged.size();
+        } finally {
+            recomputing.set(false);
+        }
+    }
+
+    private Map<Long, Welford[]> scanFinalEvaluations() {
+        List<Map<Long, Welford[]>> partitions = BulkReads.scanIdRanges(jdbcTemplate,
+                "SELECT MIN(id), MAX(id) FROM evaluations WHERE is_final = TRUE",
+                recomputeWorkers, "reviewer-calibration", this::scanRange);
+        Map<Long, Welford[]> merged = new HashMap<>();
+        for (Map<Long, Welford[]> partition : partitions) {
+            partition.forEach((reviewerId, statistics) -> {
+                Welford[] target = merged.computeIfAbsent(reviewerId, id -> Welford.emptyArray());
+                for (int i = 0; i < CRITERIA.length; i++) {
+                    target[i].merge(statistics[i]);
+                }
+            });
+        }
+        return merged;
+    }
+
+    private Map<Long, Welford[]> scanRange(long fromId, long toId) {
+        JdbcTemplate streaming = BulkReads.streaming(dataSource);
+        Map<Long, Welford[]> partial = new HashMap<>();
+        streaming.query(FINAL_SCORES_SQL, (RowCallbackHandler) rs -> {
+            Welford[] statistics = partial.computeIfAbsent(rs.getLong(1), id -> Welford.emptyArray());
+            for (int i = 0; i < CRITERIA.length; i++) {
+                BigDecimal score = rs.getBigDecimal(i + 2);
+                if (score != null) {
+                    statistics[i].add(score.doubleValue());
+                }
+            }
+        }, fromId, toId);
+        return partial;
+    }
+
+    private void apply(Long reviewerId, ProposalScoreSummaryService.ScoreSnapshot removed,
+                       ProposalScoreSummaryService.ScoreSnapshot added) {
+        if (reviewerId == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Make sure every touched row exists before locking, so that two first evaluations of a
+        // reviewer cannot both miss the lookup and insert the same row
+        List<Object[]> ensured = new ArrayList<>();
+        for (Evaluation.Criterion criterion : CRITERIA) {
+            if ((removed != null && removed.getScore(criterion) != null)
+                    || (added != null && added.getScore(criterion) != null)) {
+                ensured.add(new Object[] {reviewerId, criterion.name(), Timestamp.valueOf(now)});
+            }
+        }
+        if (ensured.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ENSURE_ROW_SQL, ensured);
+
+        Map<Evaluation.Criterion, ReviewerScoreStatistics> rows = byCriterion(
+                reviewerScoreStatisticsRepository.findByReviewerIdForUpdate(reviewerId));
+        for (Evaluation.Criterion criterion : CRITERIA) {
+            BigDecimal oldScore = removed != null ? removed.getScore(criterion) : null;
+            BigDecimal newScore = added != null ? added.getScore(criterion) : null;
+            if (oldScore == null && newScore == null) {
+                continue;
+            }
+            ReviewerScoreStatistics row = rows.get(criterion);
+            Welford statistics = Welford.of(row);
+            if (oldScore != null) {
+                statistics.remove(oldScore.doubleValue());
+            }
+            if (newScore != null) {
+                statistics.add(newScore.doubleValue());
+            }
+            row.setSampleCount(statistics.count);
+            row.setMean(statistics.mean);
+            row.setM2(statistics.m2);
+            row.setUpdatedDate(now);
+            reviewerScoreStatisticsRepository.save(row);
+        }
+    }
+
+    private Map<Evaluation.Criterion, ReviewerScoreStatistics> byCriterion(List<ReviewerScoreStatistics> rows) {
+        Map<Evaluation.Criterion, ReviewerScoreStatistics> byCriterion = new EnumMap<>(Evaluation.Criterion.class);
+        for (ReviewerScoreStatistics row : rows) {
+            byCriterion.put(row.getCriterion(), row);
+        }
+        return byCriterion;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+
+    /**
+     * Count, mean and sum of squared deviations, updated one sample at a time
+     */
+    static final class Welford {
+        private long count;
+        private double mean;
+        private double m2;
+
+        static Welford of(ReviewerScoreStatistics row) {
+            Welford statistics = new Welford();
+            if (row != null && row.getSampleCount() != null && row.getSampleCount() > 0) {
+                statistics.count = row.getSampleCount();
+                statistics.mean = row.getMean();
+                statistics.m2 = row.getM2();
+            }
+            return statistics;
+        }
+
+        static Welford[] emptyArray() {
+            Welford[] statistics = new Welford[CRITERIA.length];
+            for (int i = 0; i < statistics.length; i++) {
+                statistics[i] = new Welford();
+            }
+            return statistics;
+        }
+
+        void add(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+        }
+
+        // Inverse of add
+        void remove(double x) {
+            if (count <= 1) {
+                count = 0;
+                mean = 0;
+                m2 = 0;
+                return;
+            }
+            double previousMean = mean;
+            mean = (count * mean - x) / (count - 1);
+            m2 = Math.max(0, m2 - (x - previousMean) * (x - mean));
+            count--;
+        }
+
+        // Chan et al.: combine the statistics of two disjoint samples
+        void merge(Welford other) {
+            if (other.count == 0) {
+                return;
+            }
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * count * other.count / total;
+            count = total;
+        }
+
+        long count() {
+            return count;
+        }
+
+        double mean() {
+            return mean;
+        }
+
+        // Sample standard deviation; null below two samples
+        Double standardDeviation() {
+            return count > 1 ? Math.sqrt(m2 / (count - 1)) : null;
+        }
+    }
+}
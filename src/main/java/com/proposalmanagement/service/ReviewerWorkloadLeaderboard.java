@@ -0,0 +1,117 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.ReviewerWorkloadDTO;
+import com.proposalmanagement.entity.ProposalReviewer;
+import com.proposalmanagement.repository.ProposalReviewerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory assignment counts per reviewer and status.
+ *
+ * Loaded for every reviewer with one grouped query on first use, then kept current by the
+ * deltas ProposalReviewerService applies after each commit, so the workload leaderboard and
+ * reviewer statistics never run COUNT queries. A periodic reload repairs drift from writes
+ * that bypass the service.
+ */
+@Component
+public class ReviewerWorkloadLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewerWorkloadLeaderboard.class);
+
+    private static final int STATUS_COUNT = ProposalReviewer.AssignmentStatus.values().length;
+
+    @Autowired
+    private ProposalReviewerRepository proposalReviewerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile ConcurrentHashMap<Long, AtomicLongArray> counts;
+
+    public ReviewerWorkloadDTO get(Long reviewerId) {
+        AtomicLongArray reviewerCounts = counts().get(reviewerId);
+        return reviewerCounts != null ? toDTO(reviewerId, reviewerCounts)
+                : new ReviewerWorkloadDTO(reviewerId, 0, 0, 0, 0);
+    }
+
+    public List<ReviewerWorkloadDTO> getAll() {
+        List<ReviewerWorkloadDTO> rows = new ArrayList<>();
+        counts().forEach((reviewerId, reviewerCounts) -> rows.add(toDTO(reviewerId, reviewerCounts)));
+        return rows;
+    }
+
+    /**
+     * Apply a committed change: {@code from} is null for a new assignment, {@code to} is null
+     * for a removed one. Ignored until the counts have been loaded.
+     */
+    public void move(Long reviewerId, ProposalReviewer.AssignmentStatus from, ProposalReviewer.AssignmentStatus to) {
+        ConcurrentHashMap<Long, AtomicLongArray> current = counts;
+        if (current == null || reviewerId == null || from == to) {
+            return;
+        }
+        AtomicLongArray reviewerCounts = current.computeIfAbsent(reviewerId, id -> new AtomicLongArray(STATUS_COUNT));
+        if (from != null && reviewerCounts.decrementAndGet(from.ordinal()) < 0) {
+            // Lost an update somewhere; the next reload will correct it
+            reviewerCounts.set(from.ordinal(), 0);
+        }
+        if (to != null) {
+            reviewerCounts.incrementAndGet(to.ordinal());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reviewer.workload.reload-interval-ms:600000}",
+               initialDelayString = "${reviewer.workload.reload-interval-ms:600000}")
+    public void reload() {
+        if (counts == null) {
+            return;
+        }
+        ConcurrentHashMap<Long, AtomicLongArray> fresh = load();
+        counts = fresh;
+        logger.debug("Reloaded reviewer workload counts for {} reviewers", fresh.size());
+    }
+
+    private ConcurrentHashMap<Long, AtomicLongArray> counts() {
+        ConcurrentHashMap<Long, AtomicLongArray> current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    counts = load();
+                }
+                current = counts;
+            }
+        }
+        return current;
+    }
+
+    private ConcurrentHashMap<Long, AtomicLongArray> load() {
+        List<Object[]> rows = BulkReads.readOnly(transactionManager).execute(tx -> proposalReviewerRepository.countGroupedByReviewerAndStatus());
+
+        ConcurrentHashMap<Long, AtomicLongArray> loaded = new ConcurrentHashMap<>();
+        if (rows != null) {
+            for (Object[] row : rows) {
+                ProposalReviewer.AssignmentStatus status = (ProposalReviewer.AssignmentStatus) row[1];
+                loaded.computeIfAbsent((Long) row[0], id -> new AtomicLongArray(STATUS_COUNT))
+                        .set(status.ordinal(), (Long) row[2]);
+            }
+        }
+        return loaded;
+    }
+
+    private ReviewerWorkloadDTO toDTO(Long reviewerId, AtomicLongArray reviewerCounts) {
+        return new ReviewerWorkloadDTO(reviewerId,
+                reviewerCounts.get(ProposalReviewer.AssignmentStatus.PENDING.ordinal()),
+                reviewerCounts.get(ProposalReviewer.AssignmentStatus.IN_PROGRESS.ordinal()),
+                reviewerCounts.get(ProposalReviewer.AssignmentStatus.COMPLETED.ordinal()),
+                reviewerCounts.get(ProposalReviewer.AssignmentStatus.OVERDUE.ordinal()));
+    }
+}
@@ -0,0 +1,314 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.StageDurationDTO;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.metrics.LatencyHistogram;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Time spent in each workflow stage, from a state's entry to its completion.
+ *
+ * Every stage keeps an all-time {@link LatencyHistogram} of durations in seconds plus a ring
+ * of per-slot histograms (one slot per {@code workflow.stage-durations.slot-minutes}), so a
+ * sliding window of the last n slots is the merge of n small histograms. Completions are
+ * recorded by {@link WorkflowStateService#completeWorkflowState} once the transaction commits;
+ * at startup the histograms are rebuilt by streaming the completed workflow states. The
+ * p50/p90/p99 and completion count over {@code workflow.stage-durations.metrics-window-hours}
+ * are exported per stage as the {@code workflow.stage.duration} and
+ * {@code workflow.stage.completions} gauges.
+ */
+@Service
+public class StageDurationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StageDurationService.class);
+
+    private static final String COMPLETED_STATES_SQL =
+            "SELECT COALESCE(stage, stage_name), entry_date, completed_date FROM workflow_states " +
+            "WHERE status = 'COMPLETED' AND entry_date IS NOT NULL AND completed_date IS NOT NULL AND completed_date < ?";
+
+    private static final double[] EXPORTED_PERCENTILES = {50.0, 90.0, 99.0};
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${workflow.stage-durations.slot-minutes:60}")
+    private long slotMinutes;
+
+    @Value("${workflow.stage-durations.slots:168}")
+    private int slots;
+
+    @Value("${workflow.stage-durations.metrics-window-hours:24}")
+    private int metricsWindowHours;
+
+    private volatile Map<String, StageDurations> stages = new ConcurrentHashMap<>();
+
+    private final Set<String> meteredStages = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Guards swapping the stage map; completions recorded during a rebuild are replayed into the new one
+    private final Object recordLock = new Object();
+
+    private List<Completion> recordedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Record a completed workflow state. Durations that are missing or negative are ignored.
+     */
+    public void record(String stage, LocalDateTime entryDate, LocalDateTime completedDate) {
+        if (stage == null || entryDate == null || completedDate == null || completedDate.isBefore(entryDate)) {
+            return;
+        }
+        Completion completion = new Completion(stage, entryDate, completedDate);
+        boolean newStage;
+        synchronized (recordLock) {
+            if (recordedDuringRebuild != null) {
+                recordedDuringRebuild.add(completion);
+            }
+            newStage = !stages.containsKey(stage);
+            add(stages, completion, currentSlot());
+        }
+        if (newStage) {
+            registerMetrics(stage);
+        }
+    }
+
+    /**
+     * Duration statistics of every stage, over the last {@code windowHours} or all history when null
+     */
+    public List<StageDurationDTO> getStageDurations(Integer windowHours) {
+        int windowSlots = windowSlots(windowHours);
+        long currentSlot = currentSlot();
+        List<StageDurationDTO> result = new ArrayList<>();
+        for (Map.Entry<String, StageDurations> entry : new TreeMap<>(stages).entrySet()) {
+            result.add(toDTO(entry.getKey(), windowHours, entry.getValue().snapshot(windowSlots, currentSlot)));
+        }
+        return result;
+    }
+
+    public StageDurationDTO getStageDuration(String stage, Integer windowHours) {
+        int windowSlots = windowSlots(windowHours);
+        StageDurations durations = stages.get(stage);
+        LatencyHistogram histogram = durations != null
+                ? durations.snapshot(windowSlots, currentSlot()) : new LatencyHistogram();
+        return toDTO(stage, windowHours, histogram);
+    }
+
+    /**
+     * Mean hours spent in the stage over all history, or null when nothing has completed it
+     */
+    public Double getMeanHours(String stage) {
+        StageDurations durations = stages.get(stage);
+        if (durations == null) {
+            return null;
+        }
+        LatencyHistogram histogram = durations.snapshot(0, currentSlot());
+        return histogram.getCount() == 0 ? null : histogram.getMean() / SECONDS_PER_HOUR;
+    }
+
+    /**
+     * Rebuild every histogram from the completed workflow states. Returns the number of states read.
+     */
+    public long rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new InvalidOperationException("A stage duration rebuild is already running");
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now();
+            synchronized (recordLock) {
+                recordedDuringRebuild = new ArrayList<>();
+            }
+            long currentSlot = slotOf(cutoff);
+            Map<String, StageDurations> rebuilt = new HashMap<>();
+            long[] read = new long[1];
+            JdbcTemplate streaming = BulkReads.streaming(dataSource);
+            streaming.query(COMPLETED_STATES_SQL, (RowCallbackHandler) rs -> {
+                Timestamp entryDate = rs.getTimestamp(2);
+                Timestamp completedDate = rs.getTimestamp(3);
+                String stage = rs.getString(1);
+                if (stage != null && !completedDate.before(entryDate)) {
+                    add(rebuilt, new Completion(stage, entryDate.toLocalDateTime(), completedDate.toLocalDateTime()), currentSlot);
+                    read[0]++;
+                }
+            }, Timestamp.valueOf(cutoff));
+
+            synchronized (recordLock) {
+                // Completions stamped before the cutoff were already read from the table
+                for (Completion completion : recordedDuringRebuild) {
+                    if (!completion.completedDate.isBefore(cutoff)) {
+                        add(rebuilt, completion, currentSlot());
+                    }
+                }
+                recordedDuringRebuild = null;
+                stages = new ConcurrentHashMap<>(rebuilt);
+            }
+            rebuilt.keySet().forEach(this::registerMetrics);
+            logger.info("Rebuilt stage durations for {} stages from {} completed workflow states", rebuilt.size(), read[0]);
+            return read[0];
+        } finally {
+            synchronized (recordLock) {
+                recordedDuringRebuild = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private void add(Map<String, StageDurations> target, Completion completion, long currentSlot) {
+        long seconds = Duration.between(completion.entryDate, completion.completedDate).getSeconds();
+        target.computeIfAbsent(completion.stage, stage -> new StageDurations(slots))
+                .record(seconds, slotOf(completion.completedDate), currentSlot);
+    }
+
+    private void registerMetrics(String stage) {
+        if (!meteredStages.add(stage)) {
+            return;
+        }
+        int windowSlots = windowSlots(metricsWindowHours);
+        for (double percentile : EXPORTED_PERCENTILES) {
+            Gauge.builder("workflow.stage.duration", () -> windowSnapshot(stage, windowSlots).getValueAtPercentile(percentile))
+                    .description("Time spent in the workflow stage over the metrics window")
+                    .baseUnit("seconds")
+                    .tag("stage", stage)
+                    .tag("quantile", String.valueOf(percentile / 100.0))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("workflow.stage.completions", () -> windowSnapshot(stage, windowSlots).getCount())
+                .description("Workflow states of the stage completed over the metrics window")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private LatencyHistogram windowSnapshot(String stage, int windowSlots) {
+        StageDurations durations = stages.get(stage);
+        return durations != null ? durations.snapshot(windowSlots, currentSlot()) : new LatencyHistogram();
+    }
+
+    private StageDurationDTO toDTO(String stage, Integer windowHours, LatencyHistogram histogram) {
+        StageDurationDTO dto = new StageDurationDTO(stage, windowHours);
+        dto.setCount(histogram.getCount());
+        if (histogram.getCount() > 0) {
+            dto.setMeanHours(histogram.getMean() / SECONDS_PER_HOUR);
+            dto.setP50Hours(histogram.getValueAtPercentile(50.0) / SECONDS_PER_HOUR);
+            dto.setP90Hours(histogram.getValueAtPercentile(90.0) / SECONDS_PER_HOUR);
+            dto.setP99Hours(histogram.getValueAtPercentile(99.0) / SECONDS_PER_HOUR);
+            dto.setMaxHours(histogram.getMax() / SECONDS_PER_HOUR);
+        }
+        if (windowHours != null) {
+            dto.setThroughputPerHour((double) histogram.getCount() / windowHours);
+        }
+        return dto;
+    }
+
+    // 0 selects the all-time histogram
+    private int windowSlots(Integer windowHours) {
+        if (windowHours == null) {
+            return 0;
+        }
+        long maxHours = slots * slotMinutes / 60;
+        if (windowHours < 1 || windowHours > maxHours) {
+            throw new InvalidOperationException("Window must be between 1 and " + maxHours + " hours");
+        }
+        return (int) Math.max(1, (windowHours * 60L + slotMinutes - 1) / slotMinutes);
+    }
+
+    private long currentSlot() {
+        return slotOf(LocalDateTime.now());
+    }
+
+    private long slotOf(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60 / slotMinutes;
+    }
+
+    private static final class Completion {
+        private final String stage;
+        private final LocalDateTime entryDate;
+        private final LocalDateTime completedDate;
+
+        private Completion(String stage, LocalDateTime entryDate, LocalDateTime completedDate) {
+            this.stage = stage;
+            this.entryDate = entryDate;
+            this.completedDate = completedDate;
+        }
+    }
+
+    // One stage's all-time histogram and its ring of recent slots
+    private static final class StageDurations {
+        private final LatencyHistogram allTime = new LatencyHistogram();
+        // Slot histograms are allocated on first use and cleared when their position is reused
+        private final LatencyHistogram[] ring;
+        private final long[] ringSlots;
+
+        private StageDurations(int slots) {
+            this.ring = new LatencyHistogram[slots];
+            this.ringSlots = new long[slots];
+            Arrays.fill(ringSlots, Long.MIN_VALUE);
+        }
+
+        synchronized void record(long seconds, long slot, long currentSlot) {
+            allTime.record(seconds);
+            if (slot <= currentSlot - ring.length || slot > currentSlot) {
+                return;
+            }
+            int position = (int) Math.floorMod(slot, (long) ring.length);
+            if (ringSlots[position] > slot) {
+                return;
+            }
+            if (ring[position] == null) {
+                ring[position] = new LatencyHistogram();
+            } else if (ringSlots[position] != slot) {
+                ring[position].clear();
+            }
+            ringSlots[position] = slot;
+            ring[position].record(seconds);
+        }
+
+        // Merge of the last windowSlots slots up to currentSlot, or a copy of all history when 0
+        synchronized LatencyHistogram snapshot(int windowSlots, long currentSlot) {
+            LatencyHistogram merged = new LatencyHistogram();
+            if (windowSlots == 0) {
+                merged.add(allTime);
+                return merged;
+            }
+            for (int i = 0; i < ring.length; i++) {
+                if (ring[i] != null && ringSlots[i] > currentSlot - windowSlots && ringSlots[i] <= currentSlot) {
+                    merged.add(ring[i]);
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory unread notification count per user.
+ *
+ * A user's counter is loaded from the database on first read and then adjusted by the
+ * deltas NotificationService applies after each commit, so badge refreshes never hit the
+ * notifications table. Counters are reconciled against the database periodically to repair
+ * drift from writes that bypass the service or from races with the initial load.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.unread-counter.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    private final ConcurrentHashMap<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public long get(Long userId) {
+        AtomicLong counter = counters.get(userId);
+        if (counter != null) {
+            return counter.get();
+        }
+        Long count = readOnlyTemplate().execute(tx -> notificationRepository.countUnreadByUserId(userId));
+        AtomicLong loaded = new AtomicLong(count != null ? count : 0L);
+        AtomicLong existing = counters.putIfAbsent(userId, loaded);
+        return existing != null ? existing.get() : loaded.get();
+    }
+
+    /**
+     * Apply a committed change. Users whose counter has not been loaded yet are skipped;
+     * their first read comes from the database.
+     */
+    public void add(Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        AtomicLong counter = counters.get(userId);
+        if (counter != null && counter.addAndGet(delta) < 0) {
+            // Lost an update somewhere; reload on next read
+            counters.remove(userId, counter);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        counters.remove(userId);
+    }
+
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    public int getTrackedUserCount() {
+        return counters.size();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.unread-counter.reconcile-interval-ms:300000}",
+               initialDelayString = "${notification.unread-counter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += reconcileBatchSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + reconcileBatchSize, userIds.size()));
+            List<Object[]> rows = readOnlyTemplate().execute(tx -> notificationRepository.countUnreadGroupedByUserIds(chunk));
+
+            Map<Long, Long> actual = new HashMap<>();
+            if (rows != null) {
+                for (Object[] row : rows) {
+                    actual.put((Long) row[0], (Long) row[1]);
+                }
+            }
+            for (Long userId : chunk) {
+                long expected = actual.getOrDefault(userId, 0L);
+                AtomicLong counter = counters.get(userId);
+                if (counter != null && counter.getAndSet(expected) != expected) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            logger.info("Reconciled unread notification counters: {} of {} corrected", corrected, userIds.size());
+        }
+    }
+
+    private TransactionTemplate readOnlyTemplate() {
+        return BulkReads.readOnly(transactionManager);
+    }
+}
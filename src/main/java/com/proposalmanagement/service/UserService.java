@@ -31,6 +31,12 @@ public class UserService {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private ProposalScoreSummaryService proposalScoreSummaryService;
+    
+    @Autowired
+    private ReviewerCalibrationService reviewerCalibrationService;
+    
     // @Autowired
     // private WorkflowRepository workflowRepository;
     
@@ -137,8 +143,11 @@ public class UserService {
             // 2. Delete workflows assigned to this user
             // workflowRepository.deleteByAssignedToId(id);
             
-            // 3. Delete evaluations by this user
+            // 3. Delete evaluations by this user and recompute the score summaries they fed
+            List<Long> evaluatedProposalIds = evaluationRepository.findProposalIdsByReviewerId(id);
             evaluationRepository.deleteByReviewerId(id);
+            proposalScoreSummaryService.rebuild(evaluatedProposalIds);
+            reviewerCalibrationService.deleteForReviewer(id);
             
             // 4. Finally, delete the user
             userRepository.delete(user);
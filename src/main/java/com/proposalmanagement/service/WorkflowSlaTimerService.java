@@ -0,0 +1,305 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.entity.Notification;
+import com.proposalmanagement.entity.NotificationOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires due-soon warnings and overdue events for pending workflow states.
+ *
+ * Every pending, active workflow state with a due date has its timers in a {@link DelayQueue}:
+ * a warning {@code workflow.sla.warning-hours} before the due date and an overdue timer at it.
+ * A single thread takes timers as they expire. Each event is claimed with a conditional update
+ * of its sent-at column on the workflow state, and the assignee's outbox notification is
+ * queued in the same transaction, so an event fires once per due date even across restarts
+ * and instances. Changing the due date clears the columns and re-arms the timers.
+ *
+ * The queue is filled at startup by streaming the pending states and is then kept current by
+ * WorkflowStateService after each commit. Timers of states that were completed, reassigned
+ * or re-dated since are dropped when they expire; the conditional update guards the rest.
+ */
+@Service
+public class WorkflowSlaTimerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowSlaTimerService.class);
+
+    private static final String ARMED_STATES_SQL =
+            "SELECT id, due_date, due_warning_sent_at IS NOT NULL FROM workflow_states " +
+            "WHERE status = 'PENDING' AND is_active = TRUE AND due_date IS NOT NULL AND overdue_sent_at IS NULL";
+
+    private static final String CLAIM_WARNING_SQL =
+            "UPDATE workflow_states SET due_warning_sent_at = ? WHERE id = ? AND status = 'PENDING' AND is_active = TRUE " +
+            "AND due_warning_sent_at IS NULL AND due_date > ? AND due_date <= ?";
+
+    private static final String CLAIM_OVERDUE_SQL =
+            "UPDATE workflow_states SET overdue_sent_at = ? WHERE id = ? AND status = 'PENDING' AND is_active = TRUE " +
+            "AND overdue_sent_at IS NULL AND due_date <= ?";
+
+    private static final String TASK_SQL =
+            "SELECT ws.assigned_to, ws.proposal_id, p.title, COALESCE(ws.stage, ws.stage_name), ws.due_date " +
+            "FROM workflow_states ws JOIN proposals p ON p.id = ws.proposal_id WHERE ws.id = ?";
+
+    // Delay before retrying a timer whose event could not be written
+    private static final long RETRY_DELAY_MS = 60_000L;
+
+    private enum Kind {
+        WARNING, OVERDUE
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${workflow.sla.enabled:true}")
+    private boolean enabled;
+
+    @Value("${workflow.sla.warning-hours:24}")
+    private long warningHours;
+
+    private final DelayQueue<Timer> timers = new DelayQueue<>();
+
+    // Due date each armed workflow state's timers were scheduled for; expired timers that no longer match are stale
+    private final Map<Long, LocalDateTime> armed = new ConcurrentHashMap<>();
+
+    private volatile ExecutorService worker;
+    private volatile boolean running;
+
+    private Counter warningsFired;
+    private Counter overdueFired;
+
+    @PostConstruct
+    void registerMetrics() {
+        warningsFired = Counter.builder("workflow.sla.events")
+                .description("Workflow SLA events fired")
+                .tag("type", "warning")
+                .register(meterRegistry);
+        overdueFired = Counter.builder("workflow.sla.events")
+                .description("Workflow SLA events fired")
+                .tag("type", "overdue")
+                .register(meterRegistry);
+        Gauge.builder("workflow.sla.armed", armed, Map::size)
+                .description("Pending workflow states with armed due date timers")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "workflow-sla-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.submit(() -> {
+            try {
+                loadArmedStates();
+            } catch (RuntimeException e) {
+                // Live changes still arm timers; states loaded before them wait for their next change
+                logger.error("Failed to load pending workflow states for due date timers", e);
+            }
+            fireExpired();
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * Arm or re-arm the timers of a pending workflow state. Passing a null due date disarms it.
+     */
+    public void schedule(Long workflowStateId, LocalDateTime dueDate, boolean warningSent) {
+        if (!enabled || workflowStateId == null) {
+            return;
+        }
+        if (dueDate == null) {
+            cancel(workflowStateId);
+            return;
+        }
+        if (dueDate.equals(armed.put(workflowStateId, dueDate))) {
+            // Timers for this due date are already queued
+            return;
+        }
+        if (!warningSent && LocalDateTime.now().isBefore(dueDate)) {
+            timers.add(new Timer(workflowStateId, dueDate, Kind.WARNING, toMillis(dueDate.minusHours(warningHours))));
+        }
+        timers.add(new Timer(workflowStateId, dueDate, Kind.OVERDUE, toMillis(dueDate)));
+    }
+
+    /**
+     * Disarm a workflow state that is no longer pending; its queued timers become stale
+     */
+    public void cancel(Long workflowStateId) {
+        if (workflowStateId != null) {
+            armed.remove(workflowStateId);
+        }
+    }
+
+    public int getArmedCount() {
+        return armed.size();
+    }
+
+    private void loadArmedStates() {
+        JdbcTemplate streaming = BulkReads.streaming(dataSource);
+        int[] loaded = new int[1];
+        streaming.query(ARMED_STATES_SQL, (RowCallbackHandler) rs -> {
+            Long id = rs.getLong(1);
+            LocalDateTime dueDate = rs.getTimestamp(2).toLocalDateTime();
+            // Changes committed since the scan started have already been scheduled and win
+            if (!armed.containsKey(id)) {
+                schedule(id, dueDate, rs.getBoolean(3));
+                loaded[0]++;
+            }
+        });
+        logger.info("Armed due date timers for {} pending workflow states", loaded[0]);
+    }
+
+    private void fireExpired() {
+        while (running) {
+            Timer timer;
+            try {
+                timer = timers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!timer.dueDate.equals(armed.get(timer.workflowStateId))) {
+                continue;
+            }
+            try {
+                fire(timer);
+                if (timer.kind == Kind.OVERDUE) {
+                    armed.remove(timer.workflowStateId, timer.dueDate);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to fire {} timer of workflow state {}, retrying", timer.kind, timer.workflowStateId, e);
+                timers.add(new Timer(timer.workflowStateId, timer.dueDate, timer.kind,
+                        System.currentTimeMillis() + RETRY_DELAY_MS));
+            }
+        }
+    }
+
+    private void fire(Timer timer) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Boolean fired = template.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = timer.kind == Kind.WARNING
+                    ? jdbcTemplate.update(CLAIM_WARNING_SQL, Timestamp.valueOf(now), timer.workflowStateId,
+                            Timestamp.valueOf(now), Timestamp.valueOf(now.plusHours(warningHours)))
+                    : jdbcTemplate.update(CLAIM_OVERDUE_SQL, Timestamp.valueOf(now), timer.workflowStateId,
+                            Timestamp.valueOf(now));
+            if (claimed == 0) {
+                // Already fired, no longer pending, or re-dated outside the window
+                return false;
+            }
+            List<Object[]> rows = jdbcTemplate.query(TASK_SQL, (rs, rowNum) -> new Object[] {
+                    rs.getObject(1) != null ? rs.getLong(1) : null, rs.getLong(2), rs.getString(3),
+                    rs.getString(4), rs.getTimestamp(5).toLocalDateTime()
+            }, timer.workflowStateId);
+            if (!rows.isEmpty() && rows.get(0)[0] != null) {
+                notificationOutboxService.enqueue(toNotification(timer, rows.get(0)));
+            }
+            return true;
+        });
+        if (Boolean.TRUE.equals(fired)) {
+            (timer.kind == Kind.WARNING ? warningsFired : overdueFired).increment();
+        }
+    }
+
+    private NotificationOutbox toNotification(Timer timer, Object[] task) {
+        Long assigneeId = (Long) task[0];
+        Long proposalId = (Long) task[1];
+        String proposalTitle = (String) task[2];
+        String stage = (String) task[3];
+        LocalDateTime dueDate = (LocalDateTime) task[4];
+        boolean warning = timer.kind == Kind.WARNING;
+        String key = (warning ? "workflow-due-warning:" : "workflow-overdue:") + timer.workflowStateId + ":" + dueDate;
+
+        NotificationOutbox entry = warning
+                ? new NotificationOutbox(key, assigneeId, "Workflow Task Due Soon",
+                        String.format("Your %s task for '%s' is due on %s", stage, proposalTitle, dueDate),
+                        Notification.Type.DEADLINE_APPROACHING)
+                : new NotificationOutbox(key, assigneeId, "Workflow Task Overdue",
+                        String.format("Your %s task for '%s' was due on %s and is overdue", stage, proposalTitle, dueDate),
+                        Notification.Type.DEADLINE_MISSED);
+        entry.setPriority(warning ? Notification.Priority.MEDIUM : Notification.Priority.HIGH);
+        entry.setRelatedProposalId(proposalId);
+        entry.setRelatedEntityId(timer.workflowStateId);
+        entry.setRelatedEntityType("WORKFLOW_STATE");
+        return entry;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Timer implements Delayed {
+        private final Long workflowStateId;
+        private final LocalDateTime dueDate;
+        private final Kind kind;
+        private final long fireAtMillis;
+
+        private Timer(Long workflowStateId, LocalDateTime dueDate, Kind kind, long fireAtMillis) {
+            this.workflowStateId = workflowStateId;
+            this.dueDate = dueDate;
+            this.kind = kind;
+            this.fireAtMillis = fireAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAtMillis, ((Timer) other).fireAtMillis);
+        }
+    }
+}
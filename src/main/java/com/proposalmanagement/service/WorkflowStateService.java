@@ -1,5 +1,7 @@
 package com.proposalmanagement.service;
 
+import com.proposalmanagement.dto.UnknownWorkflowStageDTO;
+import com.proposalmanagement.dto.WorkflowTaskDTO;
 import com.proposalmanagement.entity.Proposal;
 import com.proposalmanagement.entity.User;
 import com.proposalmanagement.entity.WorkflowState;
@@ -8,18 +10,49 @@ import com.proposalmanagement.exception.InvalidOperationException;
 import com.proposalmanagement.repository.WorkflowStateRepository;
 import com.proposalmanagement.repository.ProposalRepository;
 import com.proposalmanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Workflow history of proposals. Stage changes are validated against the
+ * {@link WorkflowTransitionTable} of the proposal's project type; each one completes the
+ * current state, appends a new one and moves the proposal's current-state pointer in the
+ * same transaction, with the proposal row locked so concurrent transitions serialize.
+ */
 @Service
 @Transactional
 public class WorkflowStateService {
     
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowStateService.class);
+    
+    // Points proposals created before the pointer existed at their latest active state
+    private static final String BACKFILL_POINTER_SQL =
+        "UPDATE proposals p SET p.current_workflow_state_id = (SELECT ws.id FROM workflow_states ws " +
+        "WHERE ws.proposal_id = p.id AND ws.is_active = TRUE ORDER BY ws.entry_date DESC, ws.id DESC LIMIT 1) " +
+        "WHERE p.current_workflow_state_id IS NULL AND EXISTS (SELECT 1 FROM workflow_states ws " +
+        "WHERE ws.proposal_id = p.id AND ws.is_active = TRUE)";
+    
+    private static final String BACKFILL_STAGE_SQL =
+        "UPDATE proposals p JOIN workflow_states ws ON ws.id = p.current_workflow_state_id " +
+        "SET p.workflow_stage = COALESCE(ws.stage, ws.stage_name) WHERE p.workflow_stage IS NULL";
+    
+    private static final String STORED_STAGES_SQL =
+        "SELECT project_type, workflow_stage, COUNT(*) FROM proposals " +
+        "WHERE project_type IS NOT NULL AND workflow_stage IS NOT NULL GROUP BY project_type, workflow_stage";
+    
     @Autowired
     private WorkflowStateRepository workflowStateRepository;
     
@@ -32,6 +65,61 @@ public class WorkflowStateService {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private WorkflowTransitionTable workflowTransitionTable;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private StageDurationService stageDurationService;
+    
+    @Autowired
+    private WorkflowTaskInbox workflowTaskInbox;
+    
+    @Autowired
+    private WorkflowSlaTimerService workflowSlaTimerService;
+    
+    /**
+     * Backfill the current-state pointers, then warn about proposals sitting in stages the
+     * transition table does not declare. Those stages have no allowed transitions, so their
+     * proposals stay put until the table declares them or the proposals are migrated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCurrentStatePointers() {
+        int updated = jdbcTemplate.update(BACKFILL_POINTER_SQL);
+        jdbcTemplate.update(BACKFILL_STAGE_SQL);
+        if (updated > 0) {
+            logger.info("Set the current workflow state of {} proposals", updated);
+        }
+        
+        for (UnknownWorkflowStageDTO unknown : getUnknownStages()) {
+            logger.warn("{} {} proposals are in workflow stage '{}', which the transition table does not declare; " +
+                "they cannot move until it is declared or they are migrated",
+                unknown.getProposalCount(), unknown.getProjectType(), unknown.getStage());
+        }
+    }
+    
+    /**
+     * Stored stages missing from the transition table, with the number of proposals in each
+     */
+    @Transactional(readOnly = true)
+    public List<UnknownWorkflowStageDTO> getUnknownStages() {
+        List<UnknownWorkflowStageDTO> unknownStages = new ArrayList<>();
+        jdbcTemplate.query(STORED_STAGES_SQL, rs -> {
+            Proposal.ProjectType projectType = Proposal.ProjectType.valueOf(rs.getString(1));
+            String stage = rs.getString(2);
+            if (!workflowTransitionTable.isStage(projectType, stage)) {
+                unknownStages.add(new UnknownWorkflowStageDTO(projectType, stage, rs.getLong(3)));
+            }
+        });
+        return unknownStages;
+    }
+    
+    /**
+     * Start a proposal's workflow. The state must be the initial stage of the proposal's
+     * project type; later stages are reached with {@link #advanceProposalToNextStage}.
+     */
     public WorkflowState createWorkflowState(WorkflowState workflowState) {
         validateWorkflowState(workflowState);
         
@@ -40,10 +128,20 @@ public class WorkflowStateService {
             throw new InvalidOperationException("Workflow state must be associated with a valid proposal");
         }
         
-        Proposal proposal = proposalRepository.findById(workflowState.getProposal().getId())
+        Proposal proposal = proposalRepository.findByIdForUpdate(workflowState.getProposal().getId())
             .orElseThrow(() -> new ResourceNotFoundException("Proposal not found with id: " + workflowState.getProposal().getId()));
         
+        if (proposal.getCurrentWorkflowStateId() != null) {
+            throw new InvalidOperationException("Proposal already has a workflow in stage '" + proposal.getWorkflowStage()
+                + "'; advance it to change stage");
+        }
+        if (!workflowTransitionTable.canTransition(proposal.getProjectType(), null, workflowState.getStage())) {
+            throw new InvalidOperationException("A workflow for a " + proposal.getProjectType() + " proposal must start in '"
+                + workflowTransitionTable.initialStage(proposal.getProjectType()) + "'");
+        }
+        
         workflowState.setProposal(proposal);
+        workflowState.setStageName(workflowState.getStage());
         workflowState.setIsActive(true);
         workflowState.setEntryDate(LocalDateTime.now());
         
@@ -62,6 +160,8 @@ public class WorkflowStateService {
         }
         
         WorkflowState savedWorkflowState = workflowStateRepository.save(workflowState);
+        moveCurrentState(proposal, savedWorkflowState);
+        stateChanged(null, savedWorkflowState);
         
         // Send notification if assigned to a user
         if (savedWorkflowState.getAssignedTo() != null) {
@@ -85,7 +185,21 @@ public class WorkflowStateService {
     }
     
     public Optional<WorkflowState> getCurrentWorkflowState(Long proposalId) {
-        return workflowStateRepository.findCurrentStateByProposal(proposalId);
+        Proposal proposal = proposalRepository.findById(proposalId)
+            .orElseThrow(() -> new ResourceNotFoundException("Proposal not found with id: " + proposalId));
+        if (proposal.getCurrentWorkflowStateId() == null) {
+            return Optional.empty();
+        }
+        return workflowStateRepository.findById(proposal.getCurrentWorkflowStateId());
+    }
+    
+    /**
+     * The stages the proposal may move to from its current stage
+     */
+    public List<String> getNextStages(Long proposalId) {
+        Proposal proposal = proposalRepository.findById(proposalId)
+            .orElseThrow(() -> new ResourceNotFoundException("Proposal not found with id: " + proposalId));
+        return workflowTransitionTable.nextStages(proposal.getProjectType(), proposal.getWorkflowStage());
     }
     
     public List<WorkflowState> getWorkflowStatesByStageAndStatus(String stage, WorkflowState.Status status) {
@@ -96,6 +210,13 @@ public class WorkflowStateService {
         return workflowStateRepository.findPendingTasksByUser(userId);
     }
     
+    /**
+     * The user's pending tasks, earliest due date first, served from the task inbox
+     */
+    public Page<WorkflowTaskDTO> getTaskInbox(Long userId, int page, int size) {
+        return workflowTaskInbox.getPendingTasks(userId, page, size);
+    }
+    
     public List<WorkflowState> getTasksByUserAndStatus(Long userId, WorkflowState.Status status) {
         return workflowStateRepository.findByAssignedToAndStatus(userId, status);
     }
@@ -110,12 +231,16 @@ public class WorkflowStateService {
     
     public WorkflowState updateWorkflowState(Long id, WorkflowState workflowState) {
         WorkflowState existingWorkflowState = getWorkflowStateById(id);
+        Long previousAssigneeId = assigneeIdOf(existingWorkflowState);
+        
+        if (workflowState.getStage() != null && !workflowState.getStage().equals(existingWorkflowState.getStage())) {
+            throw new InvalidOperationException("Workflow stage cannot be edited; advance the proposal to change stage");
+        }
         
         // Update fields
-        existingWorkflowState.setStage(workflowState.getStage());
         existingWorkflowState.setStatus(workflowState.getStatus());
         existingWorkflowState.setComments(workflowState.getComments());
-        existingWorkflowState.setDueDate(workflowState.getDueDate());
+        changeDueDate(existingWorkflowState, workflowState.getDueDate());
         
         // Update assigned user if provided
         if (workflowState.getAssignedTo() != null && workflowState.getAssignedTo().getId() != null) {
@@ -134,7 +259,9 @@ public class WorkflowStateService {
         }
         
         validateWorkflowState(existingWorkflowState);
-        return workflowStateRepository.save(existingWorkflowState);
+        WorkflowState updatedWorkflowState = workflowStateRepository.save(existingWorkflowState);
+        stateChanged(previousAssigneeId, updatedWorkflowState);
+        return updatedWorkflowState;
     }
     
     public WorkflowState completeWorkflowState(Long id, String completionComments, User completedByUser) {
@@ -154,6 +281,12 @@ public class WorkflowStateService {
         }
         
         WorkflowState completedWorkflow = workflowStateRepository.save(workflowState);
+        stateChanged(assigneeIdOf(completedWorkflow), completedWorkflow);
+        
+        String stage = completedWorkflow.getStage() != null ? completedWorkflow.getStage() : completedWorkflow.getStageName();
+        LocalDateTime entryDate = completedWorkflow.getEntryDate();
+        LocalDateTime completedDate = completedWorkflow.getCompletedDate();
+        TransactionHooks.afterCommit(() -> stageDurationService.record(stage, entryDate, completedDate));
         
         // Send completion notification
         notificationService.sendWorkflowCompletionNotification(completedWorkflow);
@@ -163,15 +296,17 @@ public class WorkflowStateService {
     
     public WorkflowState assignWorkflowState(Long id, Long userId, LocalDateTime dueDate) {
         WorkflowState workflowState = getWorkflowStateById(id);
+        Long previousAssigneeId = assigneeIdOf(workflowState);
         
         User assignedUser = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
         workflowState.setAssignedTo(assignedUser);
-        workflowState.setDueDate(dueDate);
+        changeDueDate(workflowState, dueDate);
         workflowState.setStatus(WorkflowState.Status.PENDING);
         
         WorkflowState updatedWorkflow = workflowStateRepository.save(workflowState);
+        stateChanged(previousAssigneeId, updatedWorkflow);
         
         // Send assignment notification
         notificationService.sendWorkflowAssignmentNotification(updatedWorkflow);
@@ -180,33 +315,49 @@ public class WorkflowStateService {
     }
     
     public WorkflowState advanceProposalToNextStage(Long proposalId, String nextStage, User actionUser) {
+        Proposal proposal = proposalRepository.findByIdForUpdate(proposalId)
+            .orElseThrow(() -> new ResourceNotFoundException("Proposal not found with id: " + proposalId));
+        
+        String currentStage = proposal.getWorkflowStage();
+        if (!workflowTransitionTable.canTransition(proposal.getProjectType(), currentStage, nextStage)) {
+            throw new InvalidOperationException(String.format("Cannot move proposal %d from '%s' to '%s'; allowed next stages: %s",
+                proposalId, currentStage != null ? currentStage : "(none)", nextStage,
+                workflowTransitionTable.nextStages(proposal.getProjectType(), currentStage)));
+        }
+        
         // Complete current workflow state
-        Optional<WorkflowState> currentStateOpt = getCurrentWorkflowState(proposalId);
-        if (currentStateOpt.isPresent()) {
-            WorkflowState currentState = currentStateOpt.get();
-            if (currentState.getStatus() != WorkflowState.Status.COMPLETED) {
-                completeWorkflowState(currentState.getId(), "Advanced to next stage", actionUser);
-            }
+        if (proposal.getCurrentWorkflowStateId() != null) {
+            workflowStateRepository.findByIdAndIsActiveTrue(proposal.getCurrentWorkflowStateId())
+                .filter(currentState -> currentState.getStatus() != WorkflowState.Status.COMPLETED)
+                .ifPresent(currentState -> completeWorkflowState(currentState.getId(), "Advanced to " + nextStage, actionUser));
         }
         
         // Create new workflow state for next stage
-        Proposal proposal = proposalRepository.findById(proposalId)
-            .orElseThrow(() -> new ResourceNotFoundException("Proposal not found with id: " + proposalId));
-        
-        WorkflowState newWorkflowState = new WorkflowState();
-        newWorkflowState.setProposal(proposal);
+        WorkflowState newWorkflowState = new WorkflowState(proposal, nextStage);
         newWorkflowState.setStage(nextStage);
         newWorkflowState.setStatus(WorkflowState.Status.PENDING);
         newWorkflowState.setCreatedBy(actionUser);
         newWorkflowState.setEntryDate(LocalDateTime.now());
         
-        return workflowStateRepository.save(newWorkflowState);
+        WorkflowState savedWorkflowState = workflowStateRepository.save(newWorkflowState);
+        moveCurrentState(proposal, savedWorkflowState);
+        return savedWorkflowState;
     }
     
     public void deleteWorkflowState(Long id) {
         WorkflowState workflowState = getWorkflowStateById(id);
         workflowState.setIsActive(false);
         workflowStateRepository.save(workflowState);
+        stateChanged(assigneeIdOf(workflowState), workflowState);
+        
+        // Deleting the current state leaves the proposal without a workflow
+        Proposal proposal = proposalRepository.findByIdForUpdate(workflowState.getProposal().getId())
+            .orElseThrow(() -> new ResourceNotFoundException("Proposal not found with id: " + workflowState.getProposal().getId()));
+        if (id.equals(proposal.getCurrentWorkflowStateId())) {
+            proposal.setCurrentWorkflowStateId(null);
+            proposal.setWorkflowStage(null);
+            proposalRepository.save(proposal);
+        }
     }
     
     public List<Object[]> getWorkflowStageDistribution() {
@@ -214,10 +365,13 @@ public class WorkflowStateService {
     }
     
     public Double getAverageCompletionTimeByStage(String stage) {
-        return workflowStateRepository.getAverageCompletionTimeHoursByStage(stage);
+        return stageDurationService.getMeanHours(stage);
     }
     
     public Long getTaskCountByUserAndStatus(Long userId, WorkflowState.Status status) {
+        if (status == WorkflowState.Status.PENDING) {
+            return workflowTaskInbox.getPendingCount(userId);
+        }
         return workflowStateRepository.countByAssignedToAndStatus(userId, status);
     }
     
@@ -225,6 +379,54 @@ public class WorkflowStateService {
         return workflowStateRepository.findByProposalIdAndStage(proposalId, stage);
     }
     
+    private void moveCurrentState(Proposal proposal, WorkflowState workflowState) {
+        proposal.setCurrentWorkflowStateId(workflowState.getId());
+        proposal.setWorkflowStage(workflowState.getStage());
+        proposalRepository.save(proposal);
+    }
+    
+    // A new due date gets its own due-soon warning and overdue event
+    private void changeDueDate(WorkflowState workflowState, LocalDateTime dueDate) {
+        if (!Objects.equals(workflowState.getDueDate(), dueDate)) {
+            workflowState.setDueDate(dueDate);
+            workflowState.setDueWarningSentAt(null);
+            workflowState.setOverdueSentAt(null);
+        }
+    }
+    
+    // Once the transaction commits, mirror the state into its previous and current assignee's
+    // task inboxes and arm or disarm its due date timers
+    private void stateChanged(Long previousAssigneeId, WorkflowState workflowState) {
+        Long assigneeId = assigneeIdOf(workflowState);
+        boolean pending = assigneeId != null && Boolean.TRUE.equals(workflowState.getIsActive())
+            && workflowState.getStatus() == WorkflowState.Status.PENDING;
+        WorkflowTaskDTO task = pending ? new WorkflowTaskDTO(workflowState.getId(), workflowState.getProposal().getId(),
+            workflowState.getProposal().getTitle(), workflowState.getStage() != null ? workflowState.getStage() : workflowState.getStageName(),
+            workflowState.getDueDate(), workflowState.getEntryDate()) : null;
+        Long workflowStateId = workflowState.getId();
+        boolean timed = Boolean.TRUE.equals(workflowState.getIsActive()) && workflowState.getStatus() == WorkflowState.Status.PENDING
+            && workflowState.getDueDate() != null && workflowState.getOverdueSentAt() == null;
+        LocalDateTime dueDate = workflowState.getDueDate();
+        boolean warningSent = workflowState.getDueWarningSentAt() != null;
+        TransactionHooks.afterCommit(() -> {
+            if (timed) {
+                workflowSlaTimerService.schedule(workflowStateId, dueDate, warningSent);
+            } else {
+                workflowSlaTimerService.cancel(workflowStateId);
+            }
+            if (previousAssigneeId != null && !(pending && previousAssigneeId.equals(assigneeId))) {
+                workflowTaskInbox.remove(previousAssigneeId, workflowStateId);
+            }
+            if (pending) {
+                workflowTaskInbox.put(assigneeId, task);
+            }
+        });
+    }
+    
+    private Long assigneeIdOf(WorkflowState workflowState) {
+        return workflowState.getAssignedTo() != null ? workflowState.getAssignedTo().getId() : null;
+    }
+    
     private void validateWorkflowState(WorkflowState workflowState) {
         if (workflowState.getStage() == null || workflowState.getStage().trim().isEmpty()) {
             throw new InvalidOperationException("Workflow stage is required");
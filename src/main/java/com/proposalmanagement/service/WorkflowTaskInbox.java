@@ -0,0 +1,256 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.WorkflowTaskDTO;
+import com.proposalmanagement.repository.WorkflowStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory pending task inbox per assignee, ordered by due date.
+ *
+ * A user's inbox is loaded from the database on first access and then kept current by the
+ * changes WorkflowStateService applies after each commit; changes that arrive while the
+ * inbox is loading are replayed on top of the loaded rows. The pending count is the size of
+ * the inbox. At most {@code workflow.inbox.max-users} inboxes are kept, least recently read
+ * first out, and inboxes nobody has read for {@code workflow.inbox.idle-minutes} are dropped,
+ * so their next read comes from the database again.
+ */
+@Component
+public class WorkflowTaskInbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowTaskInbox.class);
+
+    // Earliest due date first and undated tasks last, then oldest entry, then id
+    private static final Comparator<WorkflowTaskDTO> DUE_DATE_ORDER = Comparator
+            .comparing(WorkflowTaskDTO::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(WorkflowTaskDTO::getEntryDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(WorkflowTaskDTO::getWorkflowStateId);
+
+    @Autowired
+    private WorkflowStateRepository workflowStateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${workflow.inbox.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${workflow.inbox.idle-minutes:30}")
+    private long idleMinutes;
+
+    private final Object lock = new Object();
+
+    private final Map<Long, Inbox> inboxes = new HashMap<>();
+
+    // The same inboxes in access order, touched only by reads so that applying changes does
+    // not keep an inactive user's inbox alive; the eldest entry is the least recently read
+    private final LinkedHashMap<Long, Inbox> readOrder = new LinkedHashMap<Long, Inbox>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Inbox> eldest) {
+            if (size() > maxUsers) {
+                inboxes.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public Page<WorkflowTaskDTO> getPendingTasks(Long userId, int page, int size) {
+        Inbox inbox = inbox(userId);
+        synchronized (lock) {
+            List<WorkflowTaskDTO> content = new ArrayList<>(size);
+            long skip = (long) page * size;
+            Iterator<WorkflowTaskDTO> iterator = inbox.tasks.iterator();
+            while (iterator.hasNext() && content.size() < size) {
+                WorkflowTaskDTO task = iterator.next();
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(copyOf(task));
+                }
+            }
+            return new PageImpl<>(content, PageRequest.of(page, size), inbox.tasks.size());
+        }
+    }
+
+    public long getPendingCount(Long userId) {
+        Inbox inbox = inbox(userId);
+        synchronized (lock) {
+            return inbox.tasks.size();
+        }
+    }
+
+    /**
+     * Apply a committed pending task, adding it or replacing its previous version. Users
+     * whose inbox has not been loaded are skipped; their first read comes from the database.
+     */
+    public void put(Long userId, WorkflowTaskDTO task) {
+        apply(userId, inbox -> inbox.put(task));
+    }
+
+    /**
+     * Apply a task that is no longer pending for the user
+     */
+    public void remove(Long userId, Long workflowStateId) {
+        apply(userId, inbox -> inbox.remove(workflowStateId));
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (lock) {
+            inboxes.remove(userId);
+            readOrder.remove(userId);
+        }
+    }
+
+    public int getTrackedUserCount() {
+        synchronized (lock) {
+            return inboxes.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.inbox.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long idleSince = System.currentTimeMillis() - idleMinutes * 60_000L;
+        int evicted = 0;
+        synchronized (lock) {
+            // Least recently read first, so the scan stops at the first inbox still in use
+            Iterator<Map.Entry<Long, Inbox>> iterator = readOrder.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Inbox> entry = iterator.next();
+                if (entry.getValue().lastRead >= idleSince) {
+                    break;
+                }
+                if (entry.getValue().pendingChanges == null) {
+                    iterator.remove();
+                    inboxes.remove(entry.getKey());
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle task inboxes", evicted);
+        }
+    }
+
+    private void apply(Long userId, Consumer<Inbox> change) {
+        if (userId == null) {
+            return;
+        }
+        synchronized (lock) {
+            Inbox inbox = inboxes.get(userId);
+            if (inbox == null) {
+                return;
+            }
+            if (inbox.pendingChanges != null) {
+                inbox.pendingChanges.add(change);
+            } else {
+                change.accept(inbox);
+            }
+        }
+    }
+
+    // Returns the user's loaded inbox, loading it or waiting for a concurrent load if needed
+    private Inbox inbox(Long userId) {
+        Inbox inbox;
+        boolean load;
+        synchronized (lock) {
+            inbox = readOrder.get(userId);
+            load = inbox == null;
+            if (load) {
+                inbox = new Inbox();
+                inboxes.put(userId, inbox);
+                readOrder.put(userId, inbox);
+            }
+            inbox.lastRead = System.currentTimeMillis();
+            if (!load) {
+                while (inbox.pendingChanges != null && !inbox.failed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while loading the task inbox of user " + userId, e);
+                    }
+                }
+                if (!inbox.failed) {
+                    return inbox;
+                }
+            }
+        }
+        if (!load) {
+            // The load we waited for failed; try it ourselves
+            return inbox(userId);
+        }
+
+        List<WorkflowTaskDTO> tasks;
+        try {
+            tasks = BulkReads.readOnly(transactionManager).execute(tx -> workflowStateRepository.findPendingTaskDTOsByUser(userId));
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                inboxes.remove(userId, inbox);
+                readOrder.remove(userId, inbox);
+                inbox.failed = true;
+                lock.notifyAll();
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            if (tasks != null) {
+                tasks.forEach(inbox::put);
+            }
+            for (Consumer<Inbox> change : inbox.pendingChanges) {
+                change.accept(inbox);
+            }
+            inbox.pendingChanges = null;
+            lock.notifyAll();
+        }
+        return inbox;
+    }
+
+    private static WorkflowTaskDTO copyOf(WorkflowTaskDTO task) {
+        return new WorkflowTaskDTO(task.getWorkflowStateId(), task.getProposalId(), task.getProposalTitle(),
+                task.getStage(), task.getDueDate(), task.getEntryDate());
+    }
+
+    // One user's pending tasks; guarded by the inbox lock
+    private static final class Inbox {
+        private final TreeSet<WorkflowTaskDTO> tasks = new TreeSet<>(DUE_DATE_ORDER);
+        private final Map<Long, WorkflowTaskDTO> tasksById = new HashMap<>();
+        // Changes received while loading; null once loaded
+        private List<Consumer<Inbox>> pendingChanges = new ArrayList<>();
+        private boolean failed;
+        private long lastRead;
+
+        private void put(WorkflowTaskDTO task) {
+            WorkflowTaskDTO previous = tasksById.put(task.getWorkflowStateId(), task);
+            if (previous != null) {
+                tasks.remove(previous);
+            }
+            tasks.add(task);
+        }
+
+        private void remove(Long workflowStateId) {
+            WorkflowTaskDTO previous = tasksById.remove(workflowStateId);
+            if (previous != null) {
+                tasks.remove(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.proposalmanagement.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proposalmanagement.entity.Proposal;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The allowed workflow stage transitions for each project type.
+ *
+ * The table is read once at startup from {@code workflow.transitions.location} (JSON: per
+ * project type an {@code initialStage} and a map from each stage to the stages it may move
+ * to) and compiled into immutable per-type lookups: stage names map to indexes and each
+ * stage's successors are a bit set, so checking a transition is two lookups. Startup fails
+ * if a project type is missing or a transition names an undeclared stage.
+ */
+@Component
+public class WorkflowTransitionTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowTransitionTable.class);
+
+    // Successor sets are stored as one long per stage
+    private static final int MAX_STAGES = Long.SIZE;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${workflow.transitions.location:classpath:workflow/transitions.json}")
+    private Resource location;
+
+    private volatile Map<Proposal.ProjectType, Workflow> workflows = Collections.emptyMap();
+
+    @PostConstruct
+    void load() throws IOException {
+        Map<String, Definition> definitions;
+        try (InputStream in = location.getInputStream()) {
+            definitions = objectMapper.readValue(in, new TypeReference<LinkedHashMap<String, Definition>>() {});
+        }
+        Map<Proposal.ProjectType, Workflow> compiled = new EnumMap<>(Proposal.ProjectType.class);
+        for (Proposal.ProjectType projectType : Proposal.ProjectType.values()) {
+            Definition definition = definitions.get(projectType.name());
+            if (definition == null) {
+                throw new IllegalStateException("No workflow transitions defined for project type " + projectType);
+            }
+            compiled.put(projectType, new Workflow(projectType, definition));
+        }
+        workflows = Collections.unmodifiableMap(compiled);
+        logger.info("Loaded workflow transitions for {} project types from {}", compiled.size(), location);
+    }
+
+    public String initialStage(Proposal.ProjectType projectType) {
+        return workflow(projectType).initialStage;
+    }
+
+    public boolean isStage(Proposal.ProjectType projectType, String stage) {
+        return workflow(projectType).indexes.containsKey(stage);
+    }
+
+    /**
+     * Whether a proposal of the given type may move from {@code fromStage} to {@code toStage}.
+     * A proposal without a stage may only enter the initial stage.
+     */
+    public boolean canTransition(Proposal.ProjectType projectType, String fromStage, String toStage) {
+        Workflow workflow = workflow(projectType);
+        if (fromStage == null) {
+            return workflow.initialStage.equals(toStage);
+        }
+        Integer from = workflow.indexes.get(fromStage);
+        Integer to = workflow.indexes.get(toStage);
+        return from != null && to != null && (workflow.successors[from] & (1L << to)) != 0;
+    }
+
+    public List<String> nextStages(Proposal.ProjectType projectType, String fromStage) {
+        Workflow workflow = workflow(projectType);
+        if (fromStage == null) {
+            return Collections.singletonList(workflow.initialStage);
+        }
+        Integer from = workflow.indexes.get(fromStage);
+        if (from == null) {
+            return Collections.emptyList();
+        }
+        List<String> next = new ArrayList<>();
+        for (int i = 0; i < workflow.stages.length; i++) {
+            if ((workflow.successors[from] & (1L << i)) != 0) {
+                next.add(workflow.stages[i]);
+            }
+        }
+        return next;
+    }
+
+    private Workflow workflow(Proposal.ProjectType projectType) {
+        Workflow workflow = workflows.get(projectType);
+        if (workflow == null) {
+            throw new IllegalStateException("No workflow defined for project type " + projectType);
+        }
+        return workflow;
+    }
+
+    // One project type's compiled table
+    private static final class Workflow {
+        private final String initialStage;
+        private final String[] stages;
+        private final Map<String, Integer> indexes;
+        private final long[] successors;
+
+        private Workflow(Proposal.ProjectType projectType, Definition definition) {
+            Map<String, List<String>> transitions = definition.transitions != null
+                    ? definition.transitions : Collections.emptyMap();
+            if (transitions.size() > MAX_STAGES) {
+                throw new IllegalStateException("Workflow for " + projectType + " has more than " + MAX_STAGES + " stages");
+            }
+            this.stages = transitions.keySet().toArray(new String[0]);
+            Map<String, Integer> stageIndexes = new HashMap<>();
+            for (int i = 0; i < stages.length; i++) {
+                stageIndexes.put(stages[i], i);
+            }
+            this.indexes = Collections.unmodifiableMap(stageIndexes);
+
+            if (definition.initialStage == null || !indexes.containsKey(definition.initialStage)) {
+                throw new IllegalStateException("Initial stage of " + projectType + " is not a declared stage: "
+                        + definition.initialStage);
+            }
+            this.initialStage = definition.initialStage;
+
+            this.successors = new long[stages.length];
+            for (int i = 0; i < stages.length; i++) {
+                List<String> targets = transitions.get(stages[i]);
+                for (String target : targets != null ? targets : Collections.<String>emptyList()) {
+                    Integer to = indexes.get(target);
+                    if (to == null) {
+                        throw new IllegalStateException("Transition " + stages[i] + " -> " + target + " of "
+                                + projectType + " targets an undeclared stage");
+                    }
+                    successors[i] |= 1L << to;
+                }
+            }
+        }
+    }
+
+    // JSON shape of one project type's definition
+    static final class Definition {
+        public String initialStage;
+        public LinkedHashMap<String, List<String>> transitions;
+    }
+}
@@ -0,0 +1,113 @@
+package com.proposalmanagement.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    // Half the width of the widest bucket relative to its lower bound
+    private static final double RELATIVE_ERROR = 1.0 / LatencyHistogram.SUB_BUCKETS;
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < LatencyHistogram.SUB_BUCKETS; value++) {
+            histogram.record(value);
+        }
+
+        for (int i = 1; i <= LatencyHistogram.SUB_BUCKETS; i++) {
+            double percentile = 100.0 * i / LatencyHistogram.SUB_BUCKETS;
+            assertThat(histogram.getValueAtPercentile(percentile)).isEqualTo(i - 1);
+        }
+    }
+
+    @Test
+    void percentilesStayWithinTheBucketErrorBound() {
+        Random random = new Random(7);
+        long[] values = new long[20_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            // Spread over many orders of magnitude, from seconds to months
+            values[i] = (long) Math.exp(random.nextDouble() * Math.log(10_000_000));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {1, 10, 25, 50, 75, 90, 95, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertThat((double) reported).as("p%s", percentile)
+                    .isCloseTo(exact, within(Math.max(1.0, exact * RELATIVE_ERROR)));
+        }
+    }
+
+    @Test
+    void countSumAndMaxAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(1_000);
+        histogram.record(123_456);
+
+        assertThat(histogram.getCount()).isEqualTo(3);
+        assertThat(histogram.getMax()).isEqualTo(123_456);
+        assertThat(histogram.getMean()).isCloseTo((3 + 1_000 + 123_456) / 3.0, within(1e-9));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(123_456);
+    }
+
+    @Test
+    void addMatchesRecordingIntoOneHistogram() {
+        Random random = new Random(11);
+        LatencyHistogram whole = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 5_000; i++) {
+            long value = random.nextInt(1_000_000);
+            whole.record(value);
+            (i % 3 == 0 ? first : second).record(value);
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(first);
+        merged.add(second);
+
+        assertThat(merged.getCount()).isEqualTo(whole.getCount());
+        assertThat(merged.getMax()).isEqualTo(whole.getMax());
+        assertThat(merged.getMean()).isEqualTo(whole.getMean());
+        for (double percentile = 0; percentile <= 100; percentile += 0.5) {
+            assertThat(merged.getValueAtPercentile(percentile)).isEqualTo(whole.getValueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    void clampsValuesAboveTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getMax()).isEqualTo(LatencyHistogram.MAX_VALUE);
+        assertThat(histogram.getValueAtPercentile(50)).isLessThanOrEqualTo(LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    void emptyAndClearedHistogramsReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+
+        histogram.record(42);
+        histogram.clear();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(histogram.getMean()).isZero();
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThatThrownBy(() -> new LatencyHistogram().record(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.proposalmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTopKTest {
+
+    @Test
+    void keepsTheBestEntriesBestFirst() {
+        BoundedTopK topK = new BoundedTopK(3);
+        topK.offer(new BoundedTopK.Entry(1, 2.0, 1));
+        topK.offer(new BoundedTopK.Entry(2, 5.0, 1));
+        topK.offer(new BoundedTopK.Entry(3, 3.0, 1));
+        topK.offer(new BoundedTopK.Entry(4, 4.0, 1));
+
+        assertThat(ids(topK.sorted())).containsExactly(2L, 4L, 3L);
+        assertThat(topK.contains(1)).isFalse();
+        assertThat(topK.isTruncated()).isTrue();
+    }
+
+    @Test
+    void rejectsAnEntryThatDoesNotBeatTheWeakest() {
+        BoundedTopK topK = new BoundedTopK(2);
+        topK.offer(new BoundedTopK.Entry(1, 5.0, 1));
+        topK.offer(new BoundedTopK.Entry(2, 4.0, 1));
+
+        List<Long> evicted = new ArrayList<>();
+        assertThat(topK.offer(new BoundedTopK.Entry(3, 1.0, 1), evicted::add)).isFalse();
+        assertThat(evicted).isEmpty();
+        assertThat(ids(topK.sorted())).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void reportsTheEvictedId() {
+        BoundedTopK topK = new BoundedTopK(2);
+        topK.offer(new BoundedTopK.Entry(1, 5.0, 1));
+        topK.offer(new BoundedTopK.Entry(2, 4.0, 1));
+
+        List<Long> evicted = new ArrayList<>();
+        assertThat(topK.offer(new BoundedTopK.Entry(3, 4.5, 1), evicted::add)).isTrue();
+        assertThat(evicted).containsExactly(2L);
+        assertThat(topK.get(2)).isNull();
+    }
+
+    @Test
+    void breaksScoreTiesByWeightThenId() {
+        BoundedTopK topK = new BoundedTopK(3);
+        topK.offer(new BoundedTopK.Entry(7, 3.0, 2));
+        topK.offer(new BoundedTopK.Entry(5, 3.0, 2));
+        topK.offer(new BoundedTopK.Entry(9, 3.0, 8));
+
+        assertThat(ids(topK.sorted())).containsExactly(9L, 5L, 7L);
+    }
+
+    @Test
+    void reScoringReplacesTheEntry() {
+        BoundedTopK topK = new BoundedTopK(2);
+        topK.offer(new BoundedTopK.Entry(1, 5.0, 1));
+        topK.offer(new BoundedTopK.Entry(2, 4.0, 1));
+        topK.offer(new BoundedTopK.Entry(2, 6.0, 1));
+
+        assertThat(topK.size()).isEqualTo(2);
+        assertThat(ids(topK.sorted())).containsExactly(2L, 1L);
+        assertThat(topK.isTruncated()).isFalse();
+    }
+
+    @Test
+    void removeDropsOnlyThatEntry() {
+        BoundedTopK topK = new BoundedTopK(3);
+        topK.offer(new BoundedTopK.Entry(1, 5.0, 1));
+        topK.offer(new BoundedTopK.Entry(2, 4.0, 1));
+
+        assertThat(topK.remove(1)).isTrue();
+        assertThat(topK.remove(1)).isFalse();
+        assertThat(ids(topK.sorted())).containsExactly(2L);
+    }
+
+    @Test
+    void mergedPartitionsMatchASingleInstance() {
+        Random random = new Random(42);
+        BoundedTopK whole = new BoundedTopK(10);
+        BoundedTopK[] partitions = {new BoundedTopK(10), new BoundedTopK(10), new BoundedTopK(10)};
+        for (long id = 1; id <= 500; id++) {
+            BoundedTopK.Entry entry = new BoundedTopK.Entry(id, random.nextInt(50) / 10.0, random.nextInt(5));
+            whole.offer(entry);
+            partitions[(int) (id % partitions.length)].offer(entry);
+        }
+
+        BoundedTopK merged = new BoundedTopK(10);
+        for (BoundedTopK partition : partitions) {
+            merged.addAll(partition);
+        }
+
+        assertThat(ids(merged.sorted())).isEqualTo(ids(whole.sorted()));
+        assertThat(merged.isTruncated()).isTrue();
+    }
+
+    private static List<Long> ids(List<BoundedTopK.Entry> entries) {
+        return entries.stream().map(BoundedTopK.Entry::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.proposalmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class InvertedIndexTest {
+
+    @Test
+    void scoresASingleTermWithBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "solar panel efficiency");
+        index.put(2L, "wind turbine blade");
+        index.put(3L, "solar solar storage battery");
+
+        List<InvertedIndex.Hit> hits = index.search("solar", null);
+
+        // Three documents of 3, 3 and 4 terms; "solar" occurs in two of them
+        double averageLength = 10.0 / 3;
+        double idf = Math.log(1 + (3 - 2 + 0.5) / (2 + 0.5));
+        assertThat(ids(hits)).containsExactly(3L, 1L);
+        assertThat(hits.get(0).getScore()).isCloseTo(bm25(idf, 2, 4, averageLength), within(1e-9));
+        assertThat(hits.get(1).getScore()).isCloseTo(bm25(idf, 1, 3, averageLength), within(1e-9));
+    }
+
+    @Test
+    void sumsScoresAcrossQueryTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "solar panel");
+        index.put(2L, "solar battery");
+        index.put(3L, "panel battery");
+
+        List<InvertedIndex.Hit> hits = index.search("solar battery", null);
+
+        assertThat(ids(hits).get(0)).isEqualTo(2L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+        assertThat(ids(hits)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "common rare");
+        index.put(2L, "common other");
+        index.put(3L, "common third");
+
+        List<InvertedIndex.Hit> common = index.search("common", null);
+        List<InvertedIndex.Hit> rare = index.search("rare", null);
+
+        assertThat(rare.get(0).getScore()).isGreaterThan(common.get(0).getScore());
+    }
+
+    @Test
+    void putReplacesThePreviousText() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "solar panel");
+        index.put(1L, "wind turbine");
+
+        assertThat(index.search("solar", null)).isEmpty();
+        assertThat(ids(index.search("turbine", null))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeDropsTheDocumentAndItsLength() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "solar panel");
+        index.put(2L, "solar panel efficiency study report");
+        double before = index.search("solar", null).stream()
+                .filter(hit -> hit.getId() == 1L).findFirst().orElseThrow().getScore();
+
+        index.put(3L, "solar");
+        index.remove(3L);
+        double after = index.search("solar", null).stream()
+                .filter(hit -> hit.getId() == 1L).findFirst().orElseThrow().getScore();
+
+        assertThat(index.contains(3L)).isFalse();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(after).isCloseTo(before, within(1e-12));
+    }
+
+    @Test
+    void textWithoutTermsIsNotIndexed() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "solar");
+        index.put(1L, "the a of");
+
+        assertThat(index.contains(1L)).isFalse();
+        assertThat(index.search("solar", null)).isEmpty();
+    }
+
+    @Test
+    void filterSkipsIdsAndTiesFavourNewerIds() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "budget review");
+        index.put(2L, "budget review");
+        index.put(3L, "budget review");
+
+        assertThat(ids(index.search("budget", null))).containsExactly(3L, 2L, 1L);
+        assertThat(ids(index.search("budget", id -> id != 2L))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void queriesWithoutTermsMatchNothing() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "solar panel");
+
+        assertThat(index.search("the of", null)).isEmpty();
+        assertThat(index.search("", null)).isEmpty();
+    }
+
+    private static double bm25(double idf, double tf, double length, double averageLength) {
+        return idf * (tf * 2.2) / (tf + 1.2 * (0.25 + 0.75 * length / averageLength));
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+    }
+}
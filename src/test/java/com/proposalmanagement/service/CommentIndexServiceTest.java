@@ -0,0 +1,93 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.repository.CommentRepository;
+import com.proposalmanagement.search.InvertedIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentIndexServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CommentIndexService commentIndexService;
+
+    @Test
+    void rebuildIndexesStreamedComments() {
+        when(commentRepository.streamIndexableComments()).thenReturn(Stream.of(
+                new Object[] {1L, "budget concerns", false, false},
+                new Object[] {2L, "budget approved", true, true}));
+
+        commentIndexService.rebuildIndex();
+
+        assertThat(commentIndexService.getIndexedCommentCount()).isEqualTo(2);
+        assertThat(ids(commentIndexService.search("budget", true, null))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void changesDuringRebuildWinOverStreamedRows() {
+        when(commentRepository.streamIndexableComments()).thenAnswer(invocation -> {
+            // Committed while the rebuild is reading: comment 1 edited, comment 2 deleted
+            commentIndexService.index(1L, "timeline revised", false, false);
+            commentIndexService.remove(Collections.singletonList(2L));
+            return Stream.of(
+                    new Object[] {1L, "budget concerns", false, false},
+                    new Object[] {2L, "budget approved", false, false},
+                    new Object[] {3L, "budget timeline", false, false});
+        });
+
+        commentIndexService.rebuildIndex();
+
+        assertThat(ids(commentIndexService.search("budget", true, null))).containsExactly(3L);
+        assertThat(ids(commentIndexService.search("revised", true, null))).containsExactly(1L);
+    }
+
+    @Test
+    void liveUpdatesAfterRebuildAreApplied() {
+        when(commentRepository.streamIndexableComments()).thenReturn(Stream.<Object[]>of(
+                new Object[] {1L, "budget concerns", false, false}));
+        commentIndexService.rebuildIndex();
+
+        commentIndexService.index(1L, "budget concerns", false, false);
+        commentIndexService.index(2L, "budget draft", false, false);
+        commentIndexService.remove(Collections.singletonList(1L));
+
+        assertThat(ids(commentIndexService.search("budget", true, null))).containsExactly(2L);
+    }
+
+    @Test
+    void searchFiltersInternalAndResolvedComments() {
+        commentIndexService.index(1L, "budget open", false, false);
+        commentIndexService.index(2L, "budget internal", true, false);
+        commentIndexService.index(3L, "budget resolved", false, true);
+
+        assertThat(ids(commentIndexService.search("budget", false, null))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(commentIndexService.search("budget", true, false))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(commentIndexService.search("budget", false, true))).containsExactly(3L);
+
+        // Visibility changes apply without re-tokenizing the text
+        commentIndexService.index(2L, "budget internal", false, true);
+        assertThat(ids(commentIndexService.search("budget", false, true))).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,214 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.AutoAssignReviewerRequest;
+import com.proposalmanagement.dto.ReviewerAssignmentPlanDTO;
+import com.proposalmanagement.entity.Department;
+import com.proposalmanagement.entity.Proposal;
+import com.proposalmanagement.entity.User;
+import com.proposalmanagement.exception.InvalidOperationException;
+import com.proposalmanagement.repository.ProposalRepository;
+import com.proposalmanagement.repository.ProposalReviewerRepository;
+import com.proposalmanagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewerAssignmentEngineTest {
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private ProposalReviewerRepository proposalReviewerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProposalReviewerService proposalReviewerService;
+
+    @InjectMocks
+    private ReviewerAssignmentEngine reviewerAssignmentEngine;
+
+    @Test
+    void prefersReviewersWhoseExpertiseMatches() {
+        givenProposals(proposal(1L, "Solar panel efficiency", 10L));
+        givenReviewers(reviewer(100L, "Marine biology", 20L), reviewer(101L, "Solar energy", 20L));
+
+        ReviewerAssignmentPlanDTO plan = reviewerAssignmentEngine.preview(request(1, null));
+
+        assertThat(reviewerIds(plan, 1L)).containsExactly(101L);
+        assertThat(plan.getProposals().get(0).getReviewers().get(0).getScore()).isPositive();
+    }
+
+    @Test
+    void excludesConflictedReviewers() {
+        User principalInvestigator = reviewer(100L, "Solar energy", 30L);
+        Proposal proposal = proposal(1L, "Solar panel efficiency", 10L);
+        proposal.setPrincipalInvestigator(principalInvestigator);
+        proposal.setCoInvestigators("Dana Solar, someone@example.org");
+        givenProposals(proposal);
+
+        User coInvestigatorByName = reviewer(102L, "Solar energy", 30L);
+        coInvestigatorByName.setFirstName("Dana");
+        coInvestigatorByName.setLastName("Solar");
+        User coInvestigatorByEmail = reviewer(103L, "Solar energy", 30L);
+        coInvestigatorByEmail.setEmail("Someone@Example.org");
+        givenReviewers(principalInvestigator, reviewer(101L, "Solar energy", 10L),
+                coInvestigatorByName, coInvestigatorByEmail, reviewer(104L, "Marine biology", 30L));
+
+        ReviewerAssignmentPlanDTO plan = reviewerAssignmentEngine.preview(request(3, null));
+
+        assertThat(reviewerIds(plan, 1L)).containsExactly(104L);
+        assertThat(plan.getProposals().get(0).getUnfilledSlots()).isEqualTo(2);
+    }
+
+    @Test
+    void spreadsWorkToTheLeastLoadedReviewer() {
+        givenProposals(proposal(1L, "Solar panel", 10L), proposal(2L, "Solar storage", 10L),
+                proposal(3L, "Solar grid", 10L));
+        givenReviewers(reviewer(100L, "Solar", 20L), reviewer(101L, "Solar", 20L), reviewer(102L, "Solar", 20L));
+        when(proposalReviewerRepository.countOpenAssignmentsGroupedByReviewer()).thenReturn(
+                Collections.singletonList(new Object[] {100L, 5L}));
+
+        ReviewerAssignmentPlanDTO plan = reviewerAssignmentEngine.preview(request(1, null));
+
+        List<Long> picks = plan.getProposals().stream()
+                .flatMap(proposalPlan -> proposalPlan.getReviewers().stream())
+                .map(ReviewerAssignmentPlanDTO.ReviewerPick::getReviewerId)
+                .collect(Collectors.toList());
+        assertThat(picks).containsExactlyInAnyOrder(101L, 102L, 101L);
+        assertThat(picks).doesNotContain(100L);
+    }
+
+    @Test
+    void respectsTheLoadCapAndSkipsExistingAssignments() {
+        givenProposals(proposal(1L, "Solar panel", 10L), proposal(2L, "Solar storage", 10L));
+        givenReviewers(reviewer(100L, "Solar", 20L), reviewer(101L, "Solar", 20L));
+        when(proposalReviewerRepository.findAssignedPairs(anyCollection(), anyCollection())).thenReturn(
+                Collections.singletonList(new Object[] {1L, 100L}));
+
+        ReviewerAssignmentPlanDTO plan = reviewerAssignmentEngine.preview(request(2, 1));
+
+        int assigned = 0;
+        for (ReviewerAssignmentPlanDTO.ProposalPlan proposalPlan : plan.getProposals()) {
+            assigned += proposalPlan.getReviewers().size();
+            assertThat(proposalPlan.getReviewers().size() + proposalPlan.getUnfilledSlots()).isEqualTo(2);
+        }
+        assertThat(assigned).isEqualTo(2);
+        assertThat(reviewerIds(plan, 1L)).doesNotContain(100L);
+    }
+
+    @Test
+    void commitAppliesThePlanInOneBatch() {
+        givenProposals(proposal(1L, "Solar panel", 10L), proposal(2L, "Marine survey", 20L));
+        givenReviewers(reviewer(100L, "Solar", 20L));
+        AutoAssignReviewerRequest request = request(1, null);
+        request.setDueDate(LocalDateTime.of(2024, 6, 1, 0, 0));
+        request.setNotes("Auto-assigned");
+
+        ReviewerAssignmentPlanDTO plan = reviewerAssignmentEngine.commit(request, 5L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, List<Long>>> reviewersByProposal = ArgumentCaptor.forClass(Map.class);
+        verify(proposalReviewerService).assignReviewerPlan(reviewersByProposal.capture(), eq(5L),
+                eq(request.getDueDate()), eq("Auto-assigned"));
+        // Proposal 2 is in the reviewer's department, so it gets no reviewer and is left out
+        assertThat(reviewersByProposal.getValue()).containsOnlyKeys(1L);
+        assertThat(reviewersByProposal.getValue().get(1L)).containsExactly(100L);
+        assertThat(plan.isCommitted()).isTrue();
+    }
+
+    @Test
+    void commitWithNothingToAssignDoesNotCallTheService() {
+        givenProposals(proposal(1L, "Solar panel", 10L));
+        givenReviewers(reviewer(100L, "Solar", 10L));
+
+        ReviewerAssignmentPlanDTO plan = reviewerAssignmentEngine.commit(request(1, null), 5L);
+
+        verify(proposalReviewerService, never()).assignReviewerPlan(anyMap(), any(), any(), any());
+        assertThat(plan.getProposals().get(0).getUnfilledSlots()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsUnknownProposalIds() {
+        AutoAssignReviewerRequest request = request(1, null);
+        request.setProposalIds(Arrays.asList(1L, 2L));
+        when(proposalRepository.findAllById(any())).thenReturn(
+                Collections.singletonList(proposal(1L, "Solar panel", 10L)));
+
+        assertThatThrownBy(() -> reviewerAssignmentEngine.preview(request))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private void givenProposals(Proposal... proposals) {
+        when(proposalRepository.findByStatus(Proposal.Status.SUBMITTED)).thenReturn(Arrays.asList(proposals));
+    }
+
+    private void givenReviewers(User... reviewers) {
+        when(userRepository.findActiveUsersByRole(User.Role.REVIEWER)).thenReturn(Arrays.asList(reviewers));
+    }
+
+    private static AutoAssignReviewerRequest request(int perProposal, Integer maxLoad) {
+        AutoAssignReviewerRequest request = new AutoAssignReviewerRequest();
+        request.setReviewersPerProposal(perProposal);
+        request.setMaxLoadPerReviewer(maxLoad);
+        return request;
+    }
+
+    private static Proposal proposal(Long id, String title, Long departmentId) {
+        Proposal proposal = new Proposal();
+        proposal.setId(id);
+        proposal.setTitle(title);
+        proposal.setDepartmentId(departmentId);
+        proposal.setStatus(Proposal.Status.SUBMITTED);
+        return proposal;
+    }
+
+    private static User reviewer(Long id, String expertiseAreas, Long departmentId) {
+        Department department = new Department();
+        department.setId(departmentId);
+        User reviewer = new User();
+        reviewer.setId(id);
+        reviewer.setUsername("reviewer" + id);
+        reviewer.setFirstName("Reviewer");
+        reviewer.setLastName(String.valueOf(id));
+        reviewer.setDepartment(department);
+        reviewer.setExpertiseAreas(expertiseAreas);
+        return reviewer;
+    }
+
+    private static List<Long> reviewerIds(ReviewerAssignmentPlanDTO plan, Long proposalId) {
+        List<Long> reviewerIds = new ArrayList<>();
+        for (ReviewerAssignmentPlanDTO.ProposalPlan proposalPlan : plan.getProposals()) {
+            if (proposalPlan.getProposalId().equals(proposalId)) {
+                for (ReviewerAssignmentPlanDTO.ReviewerPick pick : proposalPlan.getReviewers()) {
+                    reviewerIds.add(pick.getReviewerId());
+                }
+            }
+        }
+        return reviewerIds;
+    }
+}
@@ -0,0 +1,96 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(unreadNotificationCounter, "reconcileBatchSize", 2);
+    }
+
+    @Test
+    void loadsOnFirstReadThenAppliesDeltas() {
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(4L);
+
+        assertThat(unreadNotificationCounter.get(1L)).isEqualTo(4);
+        unreadNotificationCounter.add(1L, 2);
+        unreadNotificationCounter.add(1L, -5);
+
+        assertThat(unreadNotificationCounter.get(1L)).isEqualTo(1);
+        verify(notificationRepository, times(1)).countUnreadByUserId(1L);
+    }
+
+    @Test
+    void deltasForUnloadedUsersAreSkipped() {
+        unreadNotificationCounter.add(1L, 3);
+
+        assertThat(unreadNotificationCounter.getTrackedUserCount()).isZero();
+        verify(notificationRepository, never()).countUnreadByUserId(1L);
+    }
+
+    @Test
+    void goingNegativeReloadsOnTheNextRead() {
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(1L, 0L);
+        unreadNotificationCounter.get(1L);
+
+        unreadNotificationCounter.add(1L, -2);
+
+        assertThat(unreadNotificationCounter.getTrackedUserCount()).isZero();
+        assertThat(unreadNotificationCounter.get(1L)).isZero();
+        verify(notificationRepository, times(2)).countUnreadByUserId(1L);
+    }
+
+    @Test
+    void reconcileCorrectsDriftInBatches() {
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(3L);
+        when(notificationRepository.countUnreadByUserId(2L)).thenReturn(5L);
+        when(notificationRepository.countUnreadByUserId(3L)).thenReturn(1L);
+        unreadNotificationCounter.get(1L);
+        unreadNotificationCounter.get(2L);
+        unreadNotificationCounter.get(3L);
+        when(notificationRepository.countUnreadGroupedByUserIds(anyCollection())).thenAnswer(invocation -> {
+            // User 1 is drifted, user 2 is right and user 3 no longer has unread notifications
+            if (invocation.getArgument(0, Collection.class).contains(1L)) {
+                return Arrays.asList(new Object[] {1L, 7L}, new Object[] {2L, 5L});
+            }
+            return Collections.emptyList();
+        });
+
+        unreadNotificationCounter.reconcile();
+
+        assertThat(unreadNotificationCounter.get(1L)).isEqualTo(7);
+        assertThat(unreadNotificationCounter.get(2L)).isEqualTo(5);
+        assertThat(unreadNotificationCounter.get(3L)).isZero();
+        verify(notificationRepository, times(2)).countUnreadGroupedByUserIds(anyCollection());
+    }
+}
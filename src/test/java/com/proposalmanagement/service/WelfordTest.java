@@ -0,0 +1,106 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.service.ReviewerCalibrationService.Welford;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WelfordTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void singlePassMatchesTwoPassMeanAndDeviation() {
+        double[] scores = scores(1000, 1);
+        Welford statistics = new Welford();
+        for (double score : scores) {
+            statistics.add(score);
+        }
+
+        assertThat(statistics.count()).isEqualTo(scores.length);
+        assertThat(statistics.mean()).isCloseTo(mean(scores), within(TOLERANCE));
+        assertThat(statistics.standardDeviation()).isCloseTo(standardDeviation(scores), within(TOLERANCE));
+    }
+
+    @Test
+    void mergeOfPartitionsMatchesSinglePass() {
+        double[] scores = scores(1000, 2);
+        Welford singlePass = new Welford();
+        for (double score : scores) {
+            singlePass.add(score);
+        }
+
+        // Uneven partitions, including an empty one
+        int[] bounds = {0, 1, 1, 250, 731, scores.length};
+        Welford merged = new Welford();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            Welford partition = new Welford();
+            for (int j = bounds[i]; j < bounds[i + 1]; j++) {
+                partition.add(scores[j]);
+            }
+            merged.merge(partition);
+        }
+
+        assertThat(merged.count()).isEqualTo(singlePass.count());
+        assertThat(merged.mean()).isCloseTo(singlePass.mean(), within(TOLERANCE));
+        assertThat(merged.standardDeviation()).isCloseTo(singlePass.standardDeviation(), within(TOLERANCE));
+    }
+
+    @Test
+    void removeUndoesAdd() {
+        double[] scores = scores(200, 3);
+        Welford statistics = new Welford();
+        for (double score : scores) {
+            statistics.add(score);
+        }
+        for (int i = 100; i < scores.length; i++) {
+            statistics.remove(scores[i]);
+        }
+
+        double[] kept = new double[100];
+        System.arraycopy(scores, 0, kept, 0, kept.length);
+        assertThat(statistics.count()).isEqualTo(kept.length);
+        assertThat(statistics.mean()).isCloseTo(mean(kept), within(TOLERANCE));
+        assertThat(statistics.standardDeviation()).isCloseTo(standardDeviation(kept), within(TOLERANCE));
+    }
+
+    @Test
+    void removingTheLastSampleResetsToEmpty() {
+        Welford statistics = new Welford();
+        statistics.add(7.0);
+        statistics.remove(7.0);
+
+        assertThat(statistics.count()).isZero();
+        assertThat(statistics.mean()).isZero();
+        assertThat(statistics.standardDeviation()).isNull();
+    }
+
+    private static double[] scores(int n, long seed) {
+        Random random = new Random(seed);
+        double[] scores = new double[n];
+        for (int i = 0; i < n; i++) {
+            scores[i] = 1 + random.nextInt(10);
+        }
+        return scores;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double standardDeviation(double[] values) {
+        double mean = mean(values);
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(squares / (values.length - 1));
+    }
+}
@@ -0,0 +1,141 @@
+package com.proposalmanagement.service;
+
+import com.proposalmanagement.dto.WorkflowTaskDTO;
+import com.proposalmanagement.repository.WorkflowStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowTaskInboxTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Mock
+    private WorkflowStateRepository workflowStateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private WorkflowTaskInbox workflowTaskInbox;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(workflowTaskInbox, "maxUsers", 100);
+        ReflectionTestUtils.setField(workflowTaskInbox, "idleMinutes", 30L);
+    }
+
+    @Test
+    void ordersTasksByDueDateWithUndatedLast() {
+        when(workflowStateRepository.findPendingTaskDTOsByUser(USER_ID)).thenReturn(new ArrayList<>(Arrays.asList(
+                task(1L, null), task(2L, NOW.plusDays(3)), task(3L, NOW.plusDays(1)))));
+
+        Page<WorkflowTaskDTO> page = workflowTaskInbox.getPendingTasks(USER_ID, 0, 10);
+
+        assertThat(ids(page.getContent())).containsExactly(3L, 2L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void loadsEachInboxOnce() {
+        when(workflowStateRepository.findPendingTaskDTOsByUser(USER_ID)).thenReturn(
+                new ArrayList<>(Collections.singletonList(task(1L, NOW))));
+
+        workflowTaskInbox.getPendingCount(USER_ID);
+        workflowTaskInbox.put(USER_ID, task(2L, NOW.plusDays(1)));
+
+        assertThat(workflowTaskInbox.getPendingCount(USER_ID)).isEqualTo(2);
+        verify(workflowStateRepository, times(1)).findPendingTaskDTOsByUser(USER_ID);
+    }
+
+    @Test
+    void replaysChangesThatArriveWhileLoading() {
+        when(workflowStateRepository.findPendingTaskDTOsByUser(USER_ID)).thenAnswer(invocation -> {
+            // Committed after the rows below were read but before the load finished
+            workflowTaskInbox.remove(USER_ID, 1L);
+            workflowTaskInbox.put(USER_ID, task(2L, NOW.plusDays(5)));
+            workflowTaskInbox.put(USER_ID, task(3L, NOW.minusDays(1)));
+            return new ArrayList<>(Arrays.asList(task(1L, NOW), task(2L, NOW.plusDays(1))));
+        });
+
+        Page<WorkflowTaskDTO> page = workflowTaskInbox.getPendingTasks(USER_ID, 0, 10);
+
+        assertThat(ids(page.getContent())).containsExactly(3L, 2L);
+        assertThat(page.getContent().get(1).getDueDate()).isEqualTo(NOW.plusDays(5));
+    }
+
+    @Test
+    void changesForUnloadedUsersAreSkipped() {
+        workflowTaskInbox.put(USER_ID, task(1L, NOW));
+
+        assertThat(workflowTaskInbox.getTrackedUserCount()).isZero();
+        verify(workflowStateRepository, never()).findPendingTaskDTOsByUser(USER_ID);
+    }
+
+    @Test
+    void failedLoadIsRetriedOnTheNextRead() {
+        when(workflowStateRepository.findPendingTaskDTOsByUser(USER_ID))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(new ArrayList<>(Collections.singletonList(task(1L, NOW))));
+
+        assertThatThrownBy(() -> workflowTaskInbox.getPendingCount(USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(workflowTaskInbox.getTrackedUserCount()).isZero();
+        assertThat(workflowTaskInbox.getPendingCount(USER_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void pagesAreCopies() {
+        when(workflowStateRepository.findPendingTaskDTOsByUser(USER_ID)).thenReturn(
+                new ArrayList<>(Collections.singletonList(task(1L, NOW))));
+
+        workflowTaskInbox.getPendingTasks(USER_ID, 0, 10).getContent().get(0).setDueDate(null);
+
+        assertThat(workflowTaskInbox.getPendingTasks(USER_ID, 0, 10).getContent().get(0).getDueDate()).isEqualTo(NOW);
+    }
+
+    @Test
+    void evictsInboxesNobodyHasRead() {
+        when(workflowStateRepository.findPendingTaskDTOsByUser(USER_ID)).thenReturn(new ArrayList<>());
+        workflowTaskInbox.getPendingCount(USER_ID);
+
+        workflowTaskInbox.evictIdle();
+        assertThat(workflowTaskInbox.getTrackedUserCount()).isEqualTo(1);
+
+        // Everything read before a minute from now counts as idle
+        ReflectionTestUtils.setField(workflowTaskInbox, "idleMinutes", -1L);
+        workflowTaskInbox.evictIdle();
+        assertThat(workflowTaskInbox.getTrackedUserCount()).isZero();
+    }
+
+    private static WorkflowTaskDTO task(Long workflowStateId, LocalDateTime dueDate) {
+        return new WorkflowTaskDTO(workflowStateId, 100L + workflowStateId, "Proposal " + workflowStateId,
+                "Initial Review", dueDate, NOW.minusDays(10));
+    }
+
+    private static List<Long> ids(List<WorkflowTaskDTO> tasks) {
+        return tasks.stream().map(WorkflowTaskDTO::getWorkflowStateId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.proposalmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proposalmanagement.entity.Proposal;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowTransitionTableTest {
+
+    @Test
+    void checksTransitionsOfTheShippedTable() throws Exception {
+        WorkflowTransitionTable table = load(new ClassPathResource("workflow/transitions.json"));
+
+        assertThat(table.initialStage(Proposal.ProjectType.RESEARCH)).isEqualTo("Initial Review");
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "Initial Review", "Technical Review")).isTrue();
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "Technical Review", "Initial Review")).isTrue();
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "Initial Review", "Final Decision")).isFalse();
+        assertThat(table.canTransition(Proposal.ProjectType.EDUCATION, "Initial Review", "Technical Review")).isFalse();
+        assertThat(table.canTransition(Proposal.ProjectType.SERVICE, "Final Decision", "Closed")).isFalse();
+    }
+
+    @Test
+    void aProposalWithoutAStageMayOnlyEnterTheInitialStage() throws Exception {
+        WorkflowTransitionTable table = load(new ClassPathResource("workflow/transitions.json"));
+
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, null, "Initial Review")).isTrue();
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, null, "Technical Review")).isFalse();
+        assertThat(table.nextStages(Proposal.ProjectType.RESEARCH, null)).containsExactly("Initial Review");
+    }
+
+    @Test
+    void unknownStagesHaveNoTransitions() throws Exception {
+        WorkflowTransitionTable table = load(new ClassPathResource("workflow/transitions.json"));
+
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "Unknown", "Closed")).isFalse();
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "Initial Review", "Unknown")).isFalse();
+        assertThat(table.nextStages(Proposal.ProjectType.RESEARCH, "Unknown")).isEmpty();
+        assertThat(table.isStage(Proposal.ProjectType.RESEARCH, "Unknown")).isFalse();
+    }
+
+    @Test
+    void nextStagesFollowDeclarationOrder() throws Exception {
+        WorkflowTransitionTable table = load(new ClassPathResource("workflow/transitions.json"));
+
+        assertThat(table.nextStages(Proposal.ProjectType.RESEARCH, "Budget Review"))
+                .containsExactly("Technical Review", "Committee Review", "Closed");
+        assertThat(table.nextStages(Proposal.ProjectType.RESEARCH, "Closed")).isEmpty();
+    }
+
+    @Test
+    void supportsSixtyFourStages() throws Exception {
+        WorkflowTransitionTable table = load(json(chain(64)));
+
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "S62", "S63")).isTrue();
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "S63", "S0")).isTrue();
+        assertThat(table.canTransition(Proposal.ProjectType.RESEARCH, "S0", "S63")).isFalse();
+        assertThat(table.nextStages(Proposal.ProjectType.RESEARCH, "S63")).containsExactly("S0");
+    }
+
+    @Test
+    void rejectsMoreStagesThanFitInTheBitSet() {
+        assertThatThrownBy(() -> load(json(chain(65))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("more than 64 stages");
+    }
+
+    @Test
+    void rejectsTransitionsToUndeclaredStages() {
+        String definition = "{\"initialStage\": \"Open\", \"transitions\": {\"Open\": [\"Missing\"]}}";
+
+        assertThatThrownBy(() -> load(json(definition)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("undeclared stage");
+    }
+
+    @Test
+    void rejectsAnUndeclaredInitialStage() {
+        String definition = "{\"initialStage\": \"Missing\", \"transitions\": {\"Open\": []}}";
+
+        assertThatThrownBy(() -> load(json(definition)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Initial stage");
+    }
+
+    @Test
+    void rejectsAMissingProjectType() {
+        String tables = "{\"RESEARCH\": {\"initialStage\": \"Open\", \"transitions\": {\"Open\": []}}}";
+
+        assertThatThrownBy(() -> load(new ByteArrayResource(tables.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No workflow transitions defined");
+    }
+
+    private static WorkflowTransitionTable load(Resource location) throws Exception {
+        WorkflowTransitionTable table = new WorkflowTransitionTable();
+        ReflectionTestUtils.setField(table, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(table, "location", location);
+        table.load();
+        return table;
+    }
+
+    // The same definition for every project type
+    private static Resource json(String definition) {
+        StringJoiner tables = new StringJoiner(", ", "{", "}");
+        for (Proposal.ProjectType projectType : Proposal.ProjectType.values()) {
+            tables.add("\"" + projectType.name() + "\": " + definition);
+        }
+        return new ByteArrayResource(tables.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Stages S0..S(n-1), each moving to the next and the last back to the first
+    private static String chain(int stages) {
+        StringJoiner transitions = new StringJoiner(", ", "{", "}");
+        for (int i = 0; i < stages; i++) {
+            transitions.add("\"S" + i + "\": [\"S" + (i + 1) % stages + "\"]");
+        }
+        return "{\"initialStage\": \"S0\", \"transitions\": " + transitions + "}";
+    }
+}